@@ -0,0 +1,271 @@
+/**
+ * AdvancedController object - The advanced lift control system, which divides the building into 3 sections; top,
+ * middle and bottom. When the lift is in either top/bottom and capacity is not reached, everyone who can be delivered
+ * in the section is delivered before the lift moves on. In the middle section, the lift will move in the direction it
+ * is already travelling unless there is no one to pick up or drop off in that direction. If the capacity is likely to
+ * be full, the lift will only travel somewhere it can drop someone off.
+ *
+ * @author Annie Talbot
+ */
+public class AdvancedController implements LiftController
+{
+	/**
+	 * The percentage of building that counts as 'bottom' or 'top' section.
+	 */
+	private static final int FLOOR_PERCENTILE = 20;
+	/**
+	 * The direction the lift travels in after the last decision.
+	 */
+	private boolean goingUp = true;
+	/**
+	 * Whether the lift was full at its last stop and nobody got off.
+	 */
+	private boolean wastedStop = false;
+
+	/**
+	 * Chooses the next floor for the advanced lift control system. A full lift that has just stopped without anyone
+	 * getting on or off is sent to its nearest drop off instead of another floor where nobody can get on or off, so
+	 * that it cannot go back and forth between calling floors forever.
+	 *
+	 * @param view			The building and lift
+	 * @return				The floor to move to, or -1 if the lift should only turn around
+	 */
+	@Override
+	public int nextFloor(BuildingView view)
+	{
+		goingUp = view.isGoingUp();
+		if (view.nextCall(0, BuildingView.ALL_CALLS) == -1)
+		{
+			// The only people left are waiting on this floor to go the other way, so turn around and let them on
+			goingUp = !goingUp;
+			return -1;
+		}
+		int nextFloor = chooseFloor(view);
+		if (nextFloor == -1)
+		{
+			// Nobody to pick up or drop off in the direction of travel, so run the algorithm again the other way
+			// without letting anyone on
+			nextFloor = chooseFloor(view);
+		}
+		if (wastedStop && view.isLiftFull() && !view.isCalling(nextFloor, BuildingView.BUTTONS))
+		{
+			nextFloor = nearestDropOff(view);
+		}
+		wastedStop = view.isLiftFull() && !view.isCalling(nextFloor, BuildingView.BUTTONS);
+		return nextFloor;
+	}
+
+	@Override
+	public boolean isGoingUp()
+	{
+		return goingUp;
+	}
+
+	/**
+	 * Chooses the next floor by the section of the building the lift is in, setting the direction to match.
+	 *
+	 * @param view			The building and lift
+	 * @return				The floor, or -1 if the lift is in the middle section and has turned around
+	 */
+	private int chooseFloor(BuildingView view)
+	{
+		int floorBounds = view.getNoFloors() * FLOOR_PERCENTILE/ 100;
+		
+		int nextFloor = -1;
+		if (view.getCurrentFloor() <= floorBounds) // If lift is in bottom section
+		{
+			// Find highest floor (in bottom section) that someone is requesting to move down/drop off
+			nextFloor = view.previousCall(floorBounds, BuildingView.DOWN_CALLS);
+			if (nextFloor != -1)
+			{
+				goingUp = false;
+			}
+			// If nobody in the bottom section is going down
+			if (nextFloor == -1)
+			{
+				// Find lowest floor with a request to move upwards/drop off
+				nextFloor = view.nextCall(0, BuildingView.UP_CALLS | BuildingView.BUTTONS);
+				if (nextFloor != -1)
+				{
+					goingUp = true;
+				}
+			}
+			// If nobody needs to move upwards
+			if (nextFloor == -1)
+			{
+				// Find highest floor with someone requesting to move downwards
+				nextFloor = view.previousCall(view.getNoFloors() - 1, BuildingView.DOWN_CALLS | BuildingView.BUTTONS);
+				if (nextFloor != -1)
+				{
+					goingUp = false;
+				}
+			}
+			// Next floor now is selected
+			if (view.getNumDifferentCalls() >= view.getCapacity() - 2 && !view.isCalling(nextFloor, BuildingView.BUTTONS)) // If lift capacity is likely to have been reached.
+			{
+				if (!goingUp)
+				{
+					// Find highest drop off location in bottom section of the building
+					int dropOff = view.previousCall(floorBounds, BuildingView.BUTTONS);
+					if (dropOff != -1)
+					{
+						nextFloor = dropOff;
+					}
+				}
+				if (nextFloor == -1) // If lift is going upwards or there is nobody to drop off in the bottom section
+				{
+					// Find lowest drop off location for whole building
+					nextFloor = view.nextCall(0, BuildingView.BUTTONS);
+					if (nextFloor != -1)
+					{
+						goingUp = true;
+					}
+				}
+			}
+			return nextFloor;
+		}
+		else if(view.getCurrentFloor() >= view.getNoFloors() - floorBounds - 1)	// If lift is in top section
+		{
+			// Find lowest floors with a request to move upwards/drop off in top section
+			nextFloor = view.nextCall(view.getNoFloors() - floorBounds - 1, BuildingView.UP_CALLS);
+			if (nextFloor != -1)
+			{
+				goingUp = true;
+			}
+			
+			if (nextFloor == -1) // If nobody is moving upwards
+			{
+				// Find highest floor with somebody moving downwards
+				nextFloor = view.previousCall(view.getNoFloors() - 1, BuildingView.DOWN_CALLS | BuildingView.BUTTONS);
+				if (nextFloor != -1)
+				{
+					goingUp = false;
+				}
+			}
+			if (nextFloor == -1) // If nobody is moving downwards
+			{
+				// Find lowest floor that has somebody moving upwards/drop off
+				nextFloor = view.nextCall(0, BuildingView.UP_CALLS | BuildingView.BUTTONS);
+				if (nextFloor != -1)
+				{
+					goingUp = true;
+				}
+			}
+			// Next floors is definitely selected now
+			if (view.getNumDifferentCalls() >= view.getCapacity() - 2 && !view.isCalling(nextFloor, BuildingView.BUTTONS)) // If lift capacity is likely to have been reached.
+			{
+				if (goingUp)
+				{
+					// Find lowest drop off location in top section of the building
+					int dropOff = view.nextCall(view.getNoFloors() - floorBounds - 1, BuildingView.BUTTONS);
+					if (dropOff != -1)
+					{
+						nextFloor = dropOff;
+					}
+				}
+				if (nextFloor == -1) // If lift is going downwards or there is nobody to drop off in the top section
+				{
+					// Find highest drop off location for whole building
+					nextFloor = view.previousCall(view.getNoFloors() - 1, BuildingView.BUTTONS);
+					if (nextFloor != -1)
+					{
+						goingUp = false;
+					}
+				}
+			}
+			return nextFloor;
+		}
+		else // Lift is in the middle
+		{
+			if (goingUp)
+			{
+				// If lift capacity is likely to have been reached
+				if (!(view.getNumDifferentCalls() >= view.getCapacity() - 2))
+				{
+					//Check that no floors just below have people wanting to go upwards
+					nextFloor = view.nextCall(view.getCurrentFloor() - floorBounds, BuildingView.UP_CALLS);
+					if (nextFloor >= view.getCurrentFloor())
+					{
+						nextFloor = -1;
+					}
+				}
+				if (nextFloor == -1) // If no floors just below have someone waiting to go upwards
+				{
+					// Find closest floor above with a request for upwards movement/drop off
+					nextFloor = view.nextCall(view.getCurrentFloor(), BuildingView.UP_CALLS | BuildingView.BUTTONS);
+				
+					if (nextFloor == -1) // If no floors above want to move upwards
+					{
+						// Find highest floor with a request to move downwards
+						nextFloor = view.previousCall(view.getNoFloors() - 1, BuildingView.DOWN_CALLS | BuildingView.BUTTONS);
+						if (nextFloor != -1)
+						{
+							goingUp = false;
+						}
+					}
+				}
+				if (nextFloor == -1)	// If no floors above want to move downwards/upwards
+				{
+					// Run algorithm again with the lift starting off moving downwards.
+					goingUp = false;
+				}
+			}
+			else 
+			{
+				// If lift capacity is likely to have been reached
+				if (!(view.getNumDifferentCalls() >= view.getCapacity() - 2))
+				{
+					//Check that no floors just below have people wanting to go upwards
+					nextFloor = view.previousCall(view.getCurrentFloor() + floorBounds, BuildingView.DOWN_CALLS);
+					if (nextFloor <= view.getCurrentFloor())
+					{
+						nextFloor = -1;
+					}
+				}
+				if (nextFloor == -1) // If no floors just below have someone waiting to go downwards
+				{
+					// Find closest floor below with a request for downwards movement/drop off
+					nextFloor = view.previousCall(view.getCurrentFloor(), BuildingView.DOWN_CALLS | BuildingView.BUTTONS);
+				
+					if (nextFloor == -1) // If no floors above want to move downwards
+					{
+						// Find lowest floor with a request to move upwards
+						nextFloor = view.previousCall(view.getNoFloors() - 1, BuildingView.UP_CALLS | BuildingView.BUTTONS);
+						if (nextFloor != -1)
+						{
+							goingUp = true;
+						}
+					}
+				}
+				if (nextFloor == -1)	// If no floors below want to move downwards/upwards
+				{
+					// Run algorithm again with the lift starting off moving upwards.
+					goingUp = true;
+				}
+			}
+		}
+		return nextFloor;
+	}
+
+	/**
+	 * Finds the nearest floor that someone in the lift is going to, looking in the lift's direction first. The
+	 * direction is updated to match.
+	 *
+	 * @param view			The building and lift
+	 * @return				The floor, or -1 if the lift is empty
+	 */
+	private int nearestDropOff(BuildingView view)
+	{
+		for (int k = 0; k < 2; k++)
+		{
+			int dropOff = goingUp ? view.nextCall(view.getCurrentFloor() + 1, BuildingView.BUTTONS)
+					: view.previousCall(view.getCurrentFloor() - 1, BuildingView.BUTTONS);
+			if (dropOff != -1)
+			{
+				return dropOff;
+			}
+			goingUp = !goingUp;
+		}
+		return -1;
+	}
+}
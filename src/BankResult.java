@@ -0,0 +1,142 @@
+/**
+ * BankResult object - The outcome of running a {@link LiftBank}: the route each car took, and the wait
+ * times of the people each car delivered, both per car and for the whole bank.
+ *
+ * @author Annie Talbot
+ */
+public class BankResult
+{
+	/**
+	 * The route each car took, holding the combined wait time of the people it delivered.
+	 */
+	private final Route[] routes;
+	/**
+	 * The number of people each car delivered.
+	 */
+	private final int[] carDelivered;
+	/**
+	 * The combined wait time of the people each car delivered.
+	 */
+	private final long[] carWait;
+	/**
+	 * The number of calls given out by the dispatcher.
+	 */
+	private final long noAssignments;
+
+	/**
+	 * Constructor for the result of a bank.
+	 *
+	 * @param routes			The route each car took
+	 * @param carDelivered		The number of people each car delivered
+	 * @param carWait			The combined wait time of the people each car delivered
+	 * @param noAssignments		The number of calls given out by the dispatcher
+	 */
+	BankResult(Route[] routes, int[] carDelivered, long[] carWait, long noAssignments)
+	{
+		this.routes = routes.clone();
+		this.carDelivered = carDelivered.clone();
+		this.carWait = carWait.clone();
+		this.noAssignments = noAssignments;
+	}
+
+	/**
+	 * Getter for the number of cars in the bank.
+	 * @return		The number of cars
+	 */
+	public int getNoCars()
+	{
+		return routes.length;
+	}
+
+	/**
+	 * Getter for the route a car took.
+	 * @param car		The index of the car
+	 * @return			The route
+	 */
+	public Route getRoute(int car)
+	{
+		return routes[car];
+	}
+
+	/**
+	 * Getter for the number of people a car delivered.
+	 * @param car		The index of the car
+	 * @return			The number of people
+	 */
+	public int getNoDelivered(int car)
+	{
+		return carDelivered[car];
+	}
+
+	/**
+	 * Getter for the combined wait time of the people a car delivered.
+	 * @param car		The index of the car
+	 * @return			The combined wait time
+	 */
+	public long getTotalWaitTimes(int car)
+	{
+		return carWait[car];
+	}
+
+	/**
+	 * Gets the average wait time of the people a car delivered.
+	 * @param car		The index of the car
+	 * @return			The average wait time, 0 if the car delivered nobody
+	 */
+	public double getAverageWaitTime(int car)
+	{
+		return carDelivered[car] == 0 ? 0 : (double) carWait[car] / carDelivered[car];
+	}
+
+	/**
+	 * Gets the combined wait time of everyone delivered by the bank.
+	 * @return			The combined wait time
+	 */
+	public long getTotalWaitTimes()
+	{
+		long total = 0;
+		for (long wait : carWait)
+		{
+			total += wait;
+		}
+		return total;
+	}
+
+	/**
+	 * Gets the average wait time of everyone delivered by the bank.
+	 * @return			The average wait time, 0 if nobody was delivered
+	 */
+	public double getAverageWaitTime()
+	{
+		int noDelivered = 0;
+		for (int delivered : carDelivered)
+		{
+			noDelivered += delivered;
+		}
+		return noDelivered == 0 ? 0 : (double) getTotalWaitTimes() / noDelivered;
+	}
+
+	/**
+	 * Getter for the number of calls given out by the dispatcher, including calls made again.
+	 * @return			The number of calls
+	 */
+	public long getNoAssignments()
+	{
+		return noAssignments;
+	}
+
+	/**
+	 * Creates a string describing the wait times of each car and the whole bank.
+	 * @return		The description
+	 */
+	public String print()
+	{
+		String outString = "Total wait time: " + getTotalWaitTimes() + ", Average: " + String.format("%.2f", getAverageWaitTime());
+		for (int c = 0; c < routes.length; c++)
+		{
+			outString += "\n  Car " + c + ": Delivered: " + carDelivered[c] + ", Total wait time: " + carWait[c]
+					+ ", Stops: " + (routes[c].getPathSize() - 1);
+		}
+		return outString;
+	}
+}
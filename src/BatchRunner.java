@@ -0,0 +1,437 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BatchRunner object - Runs many independent simulations of the same building and number of people without
+ * the GUI, spread across every core. Each simulation generates its own people and runs every lift control
+ * system chosen on them, saving the wait times to 'SimulationData' in the same way as running a simulation
+ * from {@link Program}. Progress and the number of simulations completed per second are reported while the
+ * batch runs. Each simulation is given its own seed split from the seed of the batch, so the same batch seed
+ * always gives the same simulations however the work is spread across the threads, and any one simulation
+ * can be run again from the seed saved with its results.
+ *
+ * Usage: java BatchRunner noFloors noPeople noSimulations [-systems Mechanical,Advanced,...] [-threads n]
+ * [-optimumTime ms] [-optimumNodes n] [-weights w0,w1,...] [-seed n] [-capacity n]
+ *
+ * @author Annie Talbot
+ */
+public class BatchRunner
+{
+	/**
+	 * The number of floors in each simulation.
+	 */
+	private final int noFloors;
+	/**
+	 * The number of people in each simulation.
+	 */
+	private final int noPeople;
+	/**
+	 * The probability distribution used to determine each person's start floor.
+	 */
+	private final DiscreteDistribution pDist;
+	/**
+	 * The maximum number of people in the lift of each simulation.
+	 */
+	private int capacity = Simulation.DEFAULT_CAPACITY;
+	/**
+	 * The lift control systems run on each simulation.
+	 */
+	private LiftSystem[] systems = {LiftSystem.Mechanical, LiftSystem.Advanced};
+	/**
+	 * The number of simulations run at once.
+	 */
+	private int noThreads = Runtime.getRuntime().availableProcessors();
+	/**
+	 * The longest each optimum search may run for in milliseconds, 0 for no limit.
+	 */
+	private long optimumTimeLimit = 0;
+	/**
+	 * The most states each optimum search may explore, 0 for no limit.
+	 */
+	private long optimumNodeLimit = 0;
+	/**
+	 * The time in milliseconds between progress reports, 0 for no reports.
+	 */
+	private long progressInterval = 1000;
+	/**
+	 * The seed of the batch, from which the seed of every simulation is split.
+	 */
+	private long seed = ThreadLocalRandom.current().nextLong();
+	/**
+	 * For each lift control system, the combined wait time of every simulation in the last batch.
+	 */
+	private final EnumMap<LiftSystem, LongAdder> totalWait = new EnumMap<LiftSystem, LongAdder>(LiftSystem.class);
+	/**
+	 * The number of simulations completed in the last batch.
+	 */
+	private final AtomicInteger noCompleted = new AtomicInteger();
+	/**
+	 * The number of simulations in the last batch that failed to run.
+	 */
+	private final AtomicInteger noFailed = new AtomicInteger();
+	/**
+	 * The number of optimum searches in the last batch that found no route better than the mechanical system,
+	 * which are counted with the mechanical system's wait time.
+	 */
+	private final AtomicInteger noOptimumUnimproved = new AtomicInteger();
+	/**
+	 * The time the last batch took in milliseconds.
+	 */
+	private long batchTime = 0;
+
+	/**
+	 * Constructor for a batch of simulations with the set up given.
+	 *
+	 * @param noFloors		The number of floors in each simulation
+	 * @param noPeople		The number of people in each simulation
+	 * @param pDist			The probability distribution used to determine each person's start floor
+	 */
+	BatchRunner(int noFloors, int noPeople, DiscreteDistribution pDist)
+	{
+		this.noFloors = noFloors;
+		this.noPeople = noPeople;
+		this.pDist = pDist;
+	}
+
+	/**
+	 * Setter for the lift control systems run on each simulation.
+	 * @param systems		The lift control systems
+	 */
+	public void setSystems(LiftSystem... systems)
+	{
+		this.systems = systems.clone();
+	}
+
+	/**
+	 * Setter for the number of simulations run at once.
+	 * @param noThreads		The number of threads
+	 */
+	public void setThreads(int noThreads)
+	{
+		this.noThreads = Math.max(1, noThreads);
+	}
+
+	/**
+	 * Sets the budget of each optimum search - see {@link Simulation#runOptimumSystem(int, int, long, long)}.
+	 * @param timeLimit		The longest each search may run for in milliseconds, 0 for no limit
+	 * @param nodeLimit		The most states each search may explore, 0 for no limit
+	 */
+	public void setOptimumBudget(long timeLimit, long nodeLimit)
+	{
+		this.optimumTimeLimit = timeLimit;
+		this.optimumNodeLimit = nodeLimit;
+	}
+
+	/**
+	 * Setter for the maximum number of people in the lift of each simulation.
+	 * @param capacity		The capacity
+	 */
+	public void setCapacity(int capacity)
+	{
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Setter for the seed of the batch.
+	 * @param seed		The seed
+	 */
+	public void setSeed(long seed)
+	{
+		this.seed = seed;
+	}
+
+	/**
+	 * Getter for the seed of the batch.
+	 * @return			The seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Setter for the time between progress reports.
+	 * @param progressInterval		The time in milliseconds, 0 for no reports
+	 */
+	public void setProgressInterval(long progressInterval)
+	{
+		this.progressInterval = progressInterval;
+	}
+
+	/**
+	 * Runs a batch of simulations, waiting for all of them to complete.
+	 *
+	 * @param noSimulations		The number of simulations to run
+	 */
+	public void run(int noSimulations)
+	{
+		totalWait.clear();
+		for (LiftSystem system : systems)
+		{
+			totalWait.put(system, new LongAdder());
+		}
+		noCompleted.set(0);
+		noFailed.set(0);
+		noOptimumUnimproved.set(0);
+		long start = System.currentTimeMillis();
+
+		ExecutorService pool = Executors.newFixedThreadPool(noThreads);
+		ScheduledExecutorService reporter = null;
+		if (progressInterval > 0)
+		{
+			reporter = Executors.newSingleThreadScheduledExecutor();
+			reporter.scheduleAtFixedRate(() -> System.out.println(printProgress(noSimulations, start)),
+					progressInterval, progressInterval, TimeUnit.MILLISECONDS);
+		}
+		try
+		{
+			ArrayList<Future<?>> tasks = new ArrayList<Future<?>>(noSimulations);
+			SplittableRandom batchRandom = new SplittableRandom(seed);
+			for (int i = 0; i < noSimulations; i++)
+			{
+				// Seeds are split in order on this thread, so they do not depend on how the tasks are scheduled
+				long simulationSeed = batchRandom.split().nextLong();
+				tasks.add(pool.submit(() -> runSimulation(simulationSeed)));
+			}
+			for (Future<?> task : tasks)
+			{
+				task.get();
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+		finally
+		{
+			pool.shutdownNow();
+			if (reporter != null)
+			{
+				reporter.shutdownNow();
+			}
+		}
+		batchTime = System.currentTimeMillis() - start;
+	}
+
+	/**
+	 * Generates the people of one simulation and runs every lift control system chosen on them.
+	 * @param simulationSeed	The seed to generate the people from
+	 */
+	private void runSimulation(long simulationSeed)
+	{
+		try
+		{
+			Simulation sim = new Simulation(noFloors, noPeople, pDist, simulationSeed, capacity);
+			for (LiftSystem system : systems)
+			{
+				long wait;
+				switch (system)
+				{
+					case Optimum:
+						OptimumResult result = sim.runOptimumSystem(1, 0, optimumTimeLimit, optimumNodeLimit);
+						// A search that found nothing better has an empty route, so the best route known is the mechanical one
+						if (!result.getRoute().isCompleteRoute())
+						{
+							noOptimumUnimproved.incrementAndGet();
+						}
+						wait = result.getUpperBound();
+						break;
+					case Beam:
+						// The batch is already spread across every core
+						wait = sim.runBeamSystem(BeamSearch.DEFAULT_BEAM_WIDTH, false).getTotalWaitTimes();
+						break;
+					default:
+						wait = sim.runSystem(system).getTotalWaitTimes();
+				}
+				totalWait.get(system).add(wait);
+			}
+			noCompleted.incrementAndGet();
+		}
+		catch (RuntimeException e)
+		{
+			noFailed.incrementAndGet();
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Gets the average combined wait time of a lift control system over the simulations completed in the last batch.
+	 * @param system		The lift control system
+	 * @return				The average combined wait time, 0 if the system was not run
+	 */
+	public double getAverageWaitTime(LiftSystem system)
+	{
+		LongAdder wait = totalWait.get(system);
+		return wait == null || noCompleted.get() == 0 ? 0 : wait.doubleValue() / noCompleted.get();
+	}
+
+	/**
+	 * Getter for the number of optimum searches in the last batch that found no route better than the mechanical
+	 * system. Each is counted in the optimum average with the mechanical system's wait time.
+	 * @return			The number of searches
+	 */
+	public int getNoOptimumUnimproved()
+	{
+		return noOptimumUnimproved.get();
+	}
+
+	/**
+	 * Getter for the number of simulations completed in the last batch.
+	 * @return			The number of simulations
+	 */
+	public int getNoCompleted()
+	{
+		return noCompleted.get();
+	}
+
+	/**
+	 * Gets the number of simulations completed per second in the last batch.
+	 * @return			The number of simulations per second
+	 */
+	public double getSimulationsPerSecond()
+	{
+		return noCompleted.get() * 1000.0 / Math.max(1, batchTime);
+	}
+
+	/**
+	 * Creates a string describing how far through a batch is.
+	 * @param noSimulations		The number of simulations in the batch
+	 * @param start				The time the batch started
+	 * @return					The description
+	 */
+	private String printProgress(int noSimulations, long start)
+	{
+		long time = Math.max(1, System.currentTimeMillis() - start);
+		return "Completed " + noCompleted.get() + "/" + noSimulations + " simulations ("
+				+ String.format("%.1f", noCompleted.get() * 1000.0 / time) + " per second)";
+	}
+
+	/**
+	 * Creates a string describing the results of the last batch.
+	 * @return			The description
+	 */
+	public String print()
+	{
+		String outString = "Simulations: " + noCompleted.get() + ", Failed: " + noFailed.get() + ", Time: " + batchTime
+				+ "ms (" + String.format("%.1f", getSimulationsPerSecond()) + " per second), Seed: " + seed + ", Capacity: " + capacity;
+		for (LiftSystem system : systems)
+		{
+			outString += "\n  " + system + ": Average total wait time: " + String.format("%.2f", getAverageWaitTime(system));
+			if (system == LiftSystem.Optimum)
+			{
+				outString += " (" + noOptimumUnimproved.get() + " found nothing better than mechanical)";
+			}
+		}
+		return outString;
+	}
+
+	/**
+	 * Runs a batch of simulations from the command line - see the usage above.
+	 * @param args		The command line arguments
+	 */
+	public static void main(String[] args)
+	{
+		if (args.length < 3)
+		{
+			exitWithUsage();
+		}
+		int noFloors = Integer.parseInt(args[0]);
+		int noPeople = Integer.parseInt(args[1]);
+		int noSimulations = Integer.parseInt(args[2]);
+		DiscreteDistribution pDist = new DiscreteDistribution(noFloors);
+		LiftSystem[] systems = null;
+		int noThreads = 0;
+		long optimumTime = 0;
+		long optimumNodes = 0;
+		Long seed = null;
+		int capacity = Simulation.DEFAULT_CAPACITY;
+		for (int i = 3; i < args.length; i += 2)
+		{
+			if (i + 1 == args.length)
+			{
+				System.err.println("Missing value after " + args[i]);
+				exitWithUsage();
+			}
+			String value = args[i + 1];
+			switch (args[i])
+			{
+				case "-systems":
+					String[] names = value.split(",");
+					systems = new LiftSystem[names.length];
+					for (int s = 0; s < names.length; s++)
+					{
+						systems[s] = LiftSystem.valueOf(names[s].trim());
+					}
+					break;
+				case "-threads":
+					noThreads = Integer.parseInt(value);
+					break;
+				case "-optimumTime":
+					optimumTime = Long.parseLong(value);
+					break;
+				case "-optimumNodes":
+					optimumNodes = Long.parseLong(value);
+					break;
+				case "-seed":
+					seed = Long.parseLong(value);
+					break;
+				case "-capacity":
+					capacity = Integer.parseInt(value);
+					break;
+				case "-weights":
+					String[] weights = value.split(",");
+					if (weights.length != noFloors)
+					{
+						throw new IllegalArgumentException("There must be one weight for each floor.");
+					}
+					ArrayList<Integer> distribution = new ArrayList<Integer>();
+					for (String weight : weights)
+					{
+						distribution.add(Integer.parseInt(weight.trim()));
+					}
+					pDist = new DiscreteDistribution(distribution);
+					break;
+				default:
+					System.err.println("Unknown option: " + args[i]);
+					exitWithUsage();
+			}
+		}
+
+		BatchRunner runner = new BatchRunner(noFloors, noPeople, pDist);
+		if (systems != null)
+		{
+			runner.setSystems(systems);
+		}
+		if (noThreads > 0)
+		{
+			runner.setThreads(noThreads);
+		}
+		runner.setOptimumBudget(optimumTime, optimumNodes);
+		runner.setCapacity(capacity);
+		if (seed != null)
+		{
+			runner.setSeed(seed);
+		}
+		runner.run(noSimulations);
+		System.out.println(runner.print());
+	}
+
+	/**
+	 * Prints how to run a batch from the command line and exits.
+	 */
+	private static void exitWithUsage()
+	{
+		System.err.println("Usage: java BatchRunner noFloors noPeople noSimulations [-systems Mechanical,Advanced,...] "
+				+ "[-threads n] [-optimumTime ms] [-optimumNodes n] [-weights w0,w1,...] [-seed n] [-capacity n]");
+		System.exit(1);
+	}
+}
@@ -0,0 +1,499 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * BeamSearch object - An approximate search for the route that minimises the combined wait time of every
+ * person in a simulation, for when there are too many people for the optimum search. Routes are built
+ * one move at a time, and after each move only the best few partial routes (the beam) are kept.
+ * The search is run twice. In the first run only the people travelling towards the next floor board the
+ * lift, which keeps room in a busy lift, and partial routes are scored by the wait time they would end
+ * with if the lift carried on as a simple sweep (run on plain arrays so every move can be scored
+ * quickly). In the second run everyone boards, as in the optimum search, and partial routes are scored
+ * by the optimum search's lower bound, which finds the optimum route for small simulations. The better
+ * route of the two is kept, and a wider beam gives a route closer to the optimum.
+ * Partial routes do not hold a copy of the state they reach. Each is scored on a {@link RouteEvaluator}, and the
+ * state it reaches is kept in a {@link RouteCache}, so a partial route in the beam is expanded by restoring its
+ * state rather than following it from the start. Each thread has its own evaluator, so the beam can be expanded
+ * in parallel. The route found does not depend on whether it was.
+ *
+ * @author Annie Talbot
+ */
+public class BeamSearch
+{
+	/**
+	 * The default number of partial routes kept after each move.
+	 */
+	public static final int DEFAULT_BEAM_WIDTH = 16;
+	/**
+	 * The number of partial routes kept after each move.
+	 */
+	private final int beamWidth;
+	/**
+	 * Whether each beam is expanded in parallel.
+	 */
+	private final boolean parallel;
+	/**
+	 * The best complete route found so far, null if none has been found.
+	 */
+	private Route bestRoute = null;
+	/**
+	 * The longest a partial route may grow before it is given up on, as a route can wander without
+	 * delivering anyone.
+	 */
+	private int maxPathSize;
+	/**
+	 * The number of floors in the building.
+	 */
+	private int noFloors;
+	/**
+	 * The maximum number of people in the lift.
+	 */
+	private int capacity;
+	/**
+	 * The states reached by the partial routes of the current run.
+	 */
+	private RouteCache cache;
+	/**
+	 * The evaluator each thread scores moves with in the current run.
+	 */
+	private ThreadLocal<RouteEvaluator> evaluators;
+
+	/**
+	 * Constructor for the search that sets the size of the beam.
+	 *
+	 * @param beamWidth		The number of partial routes kept after each move
+	 * @param parallel		True = expand the partial routes of each beam in parallel
+	 */
+	BeamSearch(int beamWidth, boolean parallel)
+	{
+		this.beamWidth = beamWidth;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Finds a route from the start of the simulation given. Once the search is complete, the floors and lift
+	 * given, which must be in the starting state of the simulation (although the people on the ground floor may
+	 * have boarded), are left in the state reached by following the route.
+	 *
+	 * @param snapshot		The starting state of the simulation
+	 * @param floors		The initial state of the building
+	 * @param lift			The initial state of the lift
+	 * @return				The best route found, or an incomplete route if none was found
+	 */
+	public Route search(SimulationSnapshot snapshot, Floor[] floors, Lift lift)
+	{
+		noFloors = snapshot.getNoFloors();
+		capacity = snapshot.getCapacity();
+		maxPathSize = 4 * snapshot.getNoPeople() + 2 * noFloors;
+		// Only boarding the people travelling towards the next floor keeps room in the lift when it is busy, but
+		// letting everyone board can do better when it is not, so both are searched
+		searchBeam(snapshot, LiftEntryDecision.DirectionDependent);
+		searchBeam(snapshot, LiftEntryDecision.DirectionIndependent);
+		if (bestRoute == null)
+		{
+			return new Route(LiftEntryDecision.DirectionDependent);
+		}
+		Simulation.followRoute(bestRoute, floors, lift);
+		return bestRoute;
+	}
+
+	/**
+	 * Runs the beam search from the start of the simulation given, where people board the lift in the way given
+	 * before each move. The best route is only replaced by a route that is better.
+	 *
+	 * @param snapshot		The starting state of the simulation
+	 * @param pickUpType	The way people board the lift
+	 */
+	private void searchBeam(SimulationSnapshot snapshot, LiftEntryDecision pickUpType)
+	{
+		// Room for the states of the beam being expanded and of the next beam
+		cache = new RouteCache(2 * beamWidth);
+		evaluators = ThreadLocal.withInitial(() -> new RouteEvaluator(snapshot, pickUpType));
+		List<Node> beam = new ArrayList<Node>();
+		beam.add(new Node(new Route(pickUpType)));
+		while (!beam.isEmpty())
+		{
+			final List<Node> expanding = beam;
+			IntStream indices = IntStream.range(0, expanding.size());
+			if (parallel)
+			{
+				indices = indices.parallel();
+			}
+			// Encounter order is kept, so the candidates are in the same order however they were found
+			List<Candidate> candidates = indices.mapToObj(k -> expanding.get(k).expand())
+					.flatMap(List::stream).collect(Collectors.toList());
+			for (Candidate candidate : candidates)
+			{
+				if (candidate.isComplete() && (bestRoute == null || candidate.getScore() < bestRoute.getTotalWaitTimes()))
+				{
+					bestRoute = candidate.getParent().route.clone();
+					bestRoute.addToPath(candidate.getFloor());
+					bestRoute.setTotalWaitTimes(candidate.getScore());
+					bestRoute.setCompleteRoute(true);
+				}
+			}
+			beam = selectBeam(candidates, pickUpType == LiftEntryDecision.DirectionIndependent);
+		}
+	}
+
+	/**
+	 * Picks the best incomplete candidates to form the next beam. Candidates that reach the same state as a
+	 * better candidate, or whose bound shows they cannot beat the best complete route, are left out.
+	 * Candidates that score the same are kept in the order they were found.
+	 *
+	 * @param candidates		Every move from the current beam
+	 * @param bounded			True = the candidates are scored by a lower bound on their wait
+	 * @return					The next beam
+	 */
+	private List<Node> selectBeam(List<Candidate> candidates, boolean bounded)
+	{
+		List<Candidate> sorted = new ArrayList<Candidate>(candidates);
+		// Stable, so ties stay in the order found
+		Collections.sort(sorted, (a, b) -> Integer.compare(a.getScore(), b.getScore()));
+		HashSet<RouteEvaluator.State> reached = new HashSet<RouteEvaluator.State>();
+		List<Node> next = new ArrayList<Node>();
+		for (Candidate candidate : sorted)
+		{
+			if (next.size() == beamWidth)
+			{
+				break;
+			}
+			if (candidate.isComplete() || (bounded && bestRoute != null && candidate.getScore() >= bestRoute.getTotalWaitTimes()))
+			{
+				continue;
+			}
+			if (reached.add(candidate.getState()))
+			{
+				next.add(candidate.getParent().follow(candidate));
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Finds the wait time still to come if the lift carried on from the current state as a sweep. Like the
+	 * mechanical system, people only board if they are travelling in the direction the lift is going, and the
+	 * lift only turns around when there is nobody ahead to drop off or pick up. The evaluator is not changed.
+	 *
+	 * @param evaluator		The evaluator, at the current state of the simulation
+	 * @param sweep			Space for the sweep to track who is waiting and on the lift
+	 * @return				The combined wait time that the people not yet delivered would end up with
+	 */
+	private int sweepWait(RouteEvaluator evaluator, Sweep sweep)
+	{
+		sweep.load(evaluator);
+		int noUndelivered = evaluator.getNoPeople() - evaluator.getNoDelivered();
+		int floor = evaluator.getCurrentFloor();
+		int now = evaluator.getNoMovements();
+		boolean goingUp = evaluator.isGoingUp();
+		int wait = 0;
+		while (noUndelivered > 0)
+		{
+			// Carry on to the nearest floor ahead with someone to drop off or pick up, turning around if there is none
+			sweep.board(floor, goingUp);
+			int next = sweep.nextFloor(floor, goingUp);
+			if (next < 0)
+			{
+				goingUp = !goingUp;
+				sweep.board(floor, goingUp);
+				next = sweep.nextFloor(floor, goingUp);
+				if (next < 0)
+				{
+					break;
+				}
+			}
+			now += Math.abs(next - floor) + 1;
+			floor = next;
+			if (sweep.noTravelling[floor] > 0)
+			{
+				wait += sweep.noTravelling[floor] * now - sweep.travellingTime[floor];
+				noUndelivered -= sweep.noTravelling[floor];
+				sweep.noInLift -= sweep.noTravelling[floor];
+				sweep.noTravelling[floor] = 0;
+				sweep.travellingTime[floor] = 0;
+			}
+		}
+		return wait;
+	}
+
+	/**
+	 * Space for a sweep to track the state of the people, reused for every sweep run by one partial route.
+	 * Like a {@link RouteEvaluator}, the sweep only counts the people waiting on each floor and the people on the
+	 * lift going to each floor, as people board from the front of their floor's queue.
+	 */
+	private class Sweep
+	{
+		/**
+		 * The number of people still waiting to go up on each floor.
+		 */
+		final int[] noWaitingUp = new int[noFloors];
+		/**
+		 * The number of people still waiting to go down on each floor.
+		 */
+		final int[] noWaitingDown = new int[noFloors];
+		/**
+		 * The number of people on the lift going to each floor.
+		 */
+		final int[] noTravelling = new int[noFloors];
+		/**
+		 * The sum of the direct travel times of the people on the lift going to each floor.
+		 */
+		final int[] travellingTime = new int[noFloors];
+		/**
+		 * The evaluator the sweep was loaded from, which gives the order people queue in on each floor.
+		 */
+		RouteEvaluator evaluator;
+		/**
+		 * The number of people on the lift.
+		 */
+		int noInLift;
+
+		/**
+		 * Copies the state of the people from the evaluator into this sweep.
+		 * @param evaluator		The evaluator, at the current state of the simulation
+		 */
+		void load(RouteEvaluator evaluator)
+		{
+			this.evaluator = evaluator;
+			for (int f = 0; f < noFloors; f++)
+			{
+				noWaitingUp[f] = evaluator.getNoWaiting(f, true);
+				noWaitingDown[f] = evaluator.getNoWaiting(f, false);
+				noTravelling[f] = evaluator.getNoTravelling(f);
+				travellingTime[f] = (int) evaluator.getTravellingTime(f);
+			}
+			noInLift = evaluator.getNoPeopleOnLift();
+		}
+
+		/**
+		 * Moves the people waiting on a floor to travel in the lift's direction onto the lift, in ID order
+		 * until it is full.
+		 * @param floor			The floor the lift is on
+		 * @param goingUp		The direction the lift is travelling
+		 */
+		void board(int floor, boolean goingUp)
+		{
+			int[] noWaiting = goingUp ? noWaitingUp : noWaitingDown;
+			// The people who boarded during the sweep were at the front of the queue
+			int noBoarded = evaluator.getNoWaiting(floor, goingUp) - noWaiting[floor];
+			while (noWaiting[floor] > 0 && noInLift < capacity)
+			{
+				int i = evaluator.getWaiting(floor, goingUp, noBoarded++);
+				noWaiting[floor]--;
+				noTravelling[evaluator.getEndFloor(i)]++;
+				travellingTime[evaluator.getEndFloor(i)] += evaluator.getDirectTime(i);
+				noInLift++;
+			}
+		}
+
+		/**
+		 * Finds the nearest floor in a direction with someone to drop off, or to pick up travelling in that
+		 * direction if the lift has room.
+		 * @param floor			The floor the lift is on
+		 * @param goingUp		The direction to look in
+		 * @return				The floor, or -1 if there is none
+		 */
+		int nextFloor(int floor, boolean goingUp)
+		{
+			int step = goingUp ? 1 : -1;
+			int[] noWaiting = goingUp ? noWaitingUp : noWaitingDown;
+			boolean room = noInLift < capacity;
+			for (int f = floor + step; f >= 0 && f < noFloors; f += step)
+			{
+				if (noTravelling[f] > 0 || (room && noWaiting[f] > 0))
+				{
+					return f;
+				}
+			}
+			// Nobody ahead is travelling this way, so go to the furthest floor with someone to pick up before turning
+			if (room)
+			{
+				int[] noWaitingBack = goingUp ? noWaitingDown : noWaitingUp;
+				int furthest = -1;
+				for (int f = floor + step; f >= 0 && f < noFloors; f += step)
+				{
+					if (noWaitingBack[f] > 0)
+					{
+						furthest = f;
+					}
+				}
+				return furthest;
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * A partial route in the beam. The state it reaches is kept in the cache of the run.
+	 */
+	private class Node
+	{
+		/**
+		 * The partial route, which keeps every floor reached.
+		 */
+		private final Route route;
+
+		/**
+		 * Constructor for a node of the partial route given.
+		 *
+		 * @param route			The partial route
+		 */
+		Node(Route route)
+		{
+			this.route = route;
+		}
+
+		/**
+		 * Scores every move that could be made from this partial route. Before each move, people board the
+		 * lift in the way the route uses, with the lift travelling towards the floor being moved to. A full
+		 * lift is never sent to a floor only to pick people up, as nobody could board.
+		 *
+		 * @return		A candidate for each move, in floor order
+		 */
+		List<Candidate> expand()
+		{
+			List<Candidate> candidates = new ArrayList<Candidate>();
+			if (route.getPathSize() > maxPathSize)
+			{
+				return candidates;
+			}
+			RouteEvaluator evaluator = evaluators.get();
+			cache.evaluate(evaluator, route);
+			Sweep sweep = new Sweep();
+			int liftFloor = evaluator.getCurrentFloor();
+			for (int i = 0; i < noFloors; i++)
+			{
+				if (liftFloor == i)
+				{
+					continue;
+				}
+				evaluator.moveTo(i);
+				// Only go where someone can be dropped off or picked up
+				int noDroppedOff = evaluator.getNoDeliveredByLastMove();
+				if (noDroppedOff > 0 || (evaluator.getNoWaiting(i) > 0 && evaluator.getNoPeopleOnLift() + noDroppedOff < capacity))
+				{
+					boolean complete = evaluator.isCompleteRoute();
+					int score = Math.toIntExact(evaluator.getTotalWaitTimes());
+					if (!complete)
+					{
+						score += route.getPickUpType() == LiftEntryDecision.DirectionIndependent ? evaluator.lowerBound()
+								: sweepWait(evaluator, sweep);
+					}
+					candidates.add(new Candidate(this, i, score, complete, complete ? null : evaluator.save()));
+				}
+				evaluator.undoMove();
+			}
+			return candidates;
+		}
+
+		/**
+		 * Creates the partial route reached by making a move from this one, keeping the state it reaches.
+		 *
+		 * @param candidate		The move to make
+		 * @return				The new partial route
+		 */
+		Node follow(Candidate candidate)
+		{
+			Route nextRoute = route.clone();
+			nextRoute.addToPath(candidate.getFloor());
+			nextRoute.setTotalWaitTimes(candidate.getState().getTotalWaitTimes());
+			cache.put(nextRoute, candidate.getState());
+			return new Node(nextRoute);
+		}
+	}
+
+	/**
+	 * A move from a partial route in the beam, with its score.
+	 */
+	private static class Candidate
+	{
+		/**
+		 * The partial route the move is made from.
+		 */
+		private final Node parent;
+		/**
+		 * The floor the lift moves to.
+		 */
+		private final int floor;
+		/**
+		 * The combined wait time after the move, plus the estimate of the wait still to come if the route is not
+		 * complete.
+		 */
+		private final int score;
+		/**
+		 * Whether the move delivers everyone, completing the route.
+		 */
+		private final boolean complete;
+		/**
+		 * The state reached by the move, or null if the route is complete.
+		 */
+		private final RouteEvaluator.State state;
+
+		/**
+		 * Constructor for a scored move.
+		 *
+		 * @param parent		The partial route the move is made from
+		 * @param floor			The floor the lift moves to
+		 * @param score			The score of the move
+		 * @param complete		Whether the move completes the route
+		 * @param state			The state reached by the move, or null if the route is complete
+		 */
+		Candidate(Node parent, int floor, int score, boolean complete, RouteEvaluator.State state)
+		{
+			this.parent = parent;
+			this.floor = floor;
+			this.score = score;
+			this.complete = complete;
+			this.state = state;
+		}
+
+		/**
+		 * Getter for the partial route the move is made from.
+		 * @return			The node of the partial route
+		 */
+		Node getParent()
+		{
+			return parent;
+		}
+
+		/**
+		 * Getter for the floor the lift moves to.
+		 * @return			The floor
+		 */
+		int getFloor()
+		{
+			return floor;
+		}
+
+		/**
+		 * Getter for the score of the move, lower being better.
+		 * @return			The score
+		 */
+		int getScore()
+		{
+			return score;
+		}
+
+		/**
+		 * Checks whether the move completes the route.
+		 * @return			True = everyone has been delivered
+		 */
+		boolean isComplete()
+		{
+			return complete;
+		}
+
+		/**
+		 * Getter for the state reached by the move.
+		 * @return			The state, or null if the route is complete
+		 */
+		RouteEvaluator.State getState()
+		{
+			return state;
+		}
+	}
+}
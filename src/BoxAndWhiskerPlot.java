@@ -89,7 +89,7 @@ public class BoxAndWhiskerPlot
 	 */
 	private BoxAndWhiskerCategoryDataset createDataset() {
 		DefaultBoxAndWhiskerCategoryDataset boxData = new DefaultBoxAndWhiskerCategoryDataset();
-		LinkedList<Integer> waitTimes = new LinkedList<Integer>();
+		LinkedList<Long> waitTimes = new LinkedList<Long>();
 		waitTimes = readFiles("mechanical");
 		if (waitTimes == null) {
 			return null;
@@ -115,9 +115,9 @@ public class BoxAndWhiskerPlot
 	 * @return		A list with every wait time collected from any simulation run with this no. floors,
 	 * 				no. people, and lift algorithm.
 	 */
-	private LinkedList<Integer> readFiles(String system)
+	private LinkedList<Long> readFiles(String system)
 	{
-		LinkedList<Integer> sortedWaitTimes = new LinkedList<Integer>();
+		LinkedList<Long> sortedWaitTimes = new LinkedList<Long>();
 		BufferedReader reader;
 		int fileNumber = 0;
 		try 
@@ -129,7 +129,7 @@ public class BoxAndWhiskerPlot
 				String line = reader.readLine();
 				while (line != null || line == "") 
 				{
-					sortedWaitTimes.add(Integer.parseInt(line));
+					sortedWaitTimes.add(Long.parseLong(line));
 					
 					// read next line
 					line = reader.readLine();
@@ -0,0 +1,126 @@
+/**
+ * BuildingView - A read-only view of a building and its lift, given to a {@link LiftController} to decide where
+ * the lift goes next. The view always shows the current state, so one view lasts a whole simulation. Every engine
+ * that runs a controller gives it its own view (see {@link FloorBuildingView}), so the same controller can be run
+ * on any of them. The calls made on every floor and the buttons pressed in the lift are searched by naming the
+ * kinds of call to look for, and no query should allocate anything, so a controller can be asked for every
+ * decision of a long simulation.
+ *
+ * @author Annie Talbot
+ */
+public interface BuildingView
+{
+	/**
+	 * The calls made on floors by people going upwards.
+	 */
+	int UP_CALLS = 1;
+	/**
+	 * The calls made on floors by people going downwards.
+	 */
+	int DOWN_CALLS = 2;
+	/**
+	 * The buttons pressed inside the lift.
+	 */
+	int BUTTONS = 4;
+	/**
+	 * Every kind of call.
+	 */
+	int ALL_CALLS = UP_CALLS | DOWN_CALLS | BUTTONS;
+
+	/**
+	 * Getter for the number of floors in the building.
+	 * @return			The number of floors
+	 */
+	int getNoFloors();
+
+	/**
+	 * Getter for the floor the lift is on.
+	 * @return			The floor
+	 */
+	int getCurrentFloor();
+
+	/**
+	 * Getter for the direction the lift is travelling in.
+	 * @return			True = upwards, False = downwards
+	 */
+	boolean isGoingUp();
+
+	/**
+	 * Getter for the number of people the lift can hold.
+	 * @return			The capacity
+	 */
+	int getCapacity();
+
+	/**
+	 * Getter for the number of people on the lift.
+	 * @return			The number of people
+	 */
+	int getNoPeopleOnLift();
+
+	/**
+	 * Checks whether the lift is full.
+	 * @return			True = nobody else can get on
+	 */
+	boolean isLiftFull();
+
+	/**
+	 * Getter for the number of different floors that people on the lift are going to.
+	 * @return			The number of floors
+	 */
+	int getNumDifferentCalls();
+
+	/**
+	 * Getter for the number of movements the lift has made so far.
+	 * @return			The time in lift movements
+	 */
+	long getNoMovements();
+
+	/**
+	 * Checks whether a floor has any of the kinds of call given.
+	 * @param floorNum		The floor
+	 * @param calls			The kinds of call, combined from {@link BuildingView#UP_CALLS}, {@link BuildingView#DOWN_CALLS}
+	 * 						and {@link BuildingView#BUTTONS}
+	 * @return				True = the floor has been called
+	 */
+	boolean isCalling(int floorNum, int calls);
+
+	/**
+	 * Finds the lowest floor at or above the floor given with any of the kinds of call given. By default each
+	 * floor is checked in turn with {@link BuildingView#isCalling(int, int)}.
+	 * @param from			The floor to start from, which may be outside the building
+	 * @param calls			The kinds of call, combined from {@link BuildingView#UP_CALLS}, {@link BuildingView#DOWN_CALLS}
+	 * 						and {@link BuildingView#BUTTONS}
+	 * @return				The floor, or -1 if no floor at or above it is called
+	 */
+	default int nextCall(int from, int calls)
+	{
+		for (int i = Math.max(from, 0); i < getNoFloors(); i++)
+		{
+			if (isCalling(i, calls))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the highest floor at or below the floor given with any of the kinds of call given. By default each
+	 * floor is checked in turn with {@link BuildingView#isCalling(int, int)}.
+	 * @param from			The floor to start from, which may be outside the building
+	 * @param calls			The kinds of call, combined from {@link BuildingView#UP_CALLS}, {@link BuildingView#DOWN_CALLS}
+	 * 						and {@link BuildingView#BUTTONS}
+	 * @return				The floor, or -1 if no floor at or below it is called
+	 */
+	default int previousCall(int from, int calls)
+	{
+		for (int i = Math.min(from, getNoFloors() - 1); i >= 0; i--)
+		{
+			if (isCalling(i, calls))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,222 @@
+/**
+ * CallRegister object - Holds one kind of call for every floor of a building, such as the buttons inside a
+ * lift or the up buttons on each floor, packed 64 floors to a word. As well as checking a single floor, the
+ * register can count every call and find the nearest call above or below a floor a whole word at a time, so
+ * searching a tall building for the next floor to visit only takes a few operations.
+ *
+ * @author Annie Talbot
+ */
+public class CallRegister
+{
+	/**
+	 * The calls, with floor i held in bit (i % 64) of word (i / 64).
+	 */
+	private final long[] words;
+	/**
+	 * The number of floors the register holds a call for.
+	 */
+	private final int noFloors;
+	/**
+	 * The number of floors called, kept up to date as calls are made and cancelled.
+	 */
+	private int noCalls = 0;
+
+	/**
+	 * Constructor for a register with no calls made.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 */
+	CallRegister(int noFloors)
+	{
+		this.noFloors = noFloors;
+		this.words = new long[(noFloors + 63) >>> 6];
+	}
+
+	/**
+	 * Constructor for a copy of a register.
+	 *
+	 * @param other			The register to copy
+	 */
+	CallRegister(CallRegister other)
+	{
+		this.noFloors = other.noFloors;
+		this.words = other.words.clone();
+		this.noCalls = other.noCalls;
+	}
+
+	/**
+	 * Checks whether a floor has been called.
+	 * @param floorNum		The floor
+	 * @return				True = the floor has been called
+	 */
+	public boolean get(int floorNum)
+	{
+		return (words[floorNum >>> 6] & (1L << floorNum)) != 0;
+	}
+
+	/**
+	 * Makes or cancels the call for a floor.
+	 * @param floorNum		The floor
+	 * @param called		True = make the call, False = cancel it
+	 */
+	public void set(int floorNum, boolean called)
+	{
+		long word = words[floorNum >>> 6];
+		long bit = 1L << floorNum;
+		if (called && (word & bit) == 0)
+		{
+			words[floorNum >>> 6] = word | bit;
+			noCalls++;
+		}
+		else if (!called && (word & bit) != 0)
+		{
+			words[floorNum >>> 6] = word & ~bit;
+			noCalls--;
+		}
+	}
+
+	/**
+	 * Cancels every call.
+	 */
+	public void clear()
+	{
+		for (int w = 0; w < words.length; w++)
+		{
+			words[w] = 0;
+		}
+		noCalls = 0;
+	}
+
+	/**
+	 * Counts the number of floors called.
+	 * @return			The number of floors
+	 */
+	public int count()
+	{
+		return noCalls;
+	}
+
+	/**
+	 * Checks whether any floor has been called.
+	 * @return			True = at least one floor has been called
+	 */
+	public boolean isEmpty()
+	{
+		return noCalls == 0;
+	}
+
+	/**
+	 * Getter for the number of floors the register holds a call for.
+	 * @return			The number of floors
+	 */
+	public int getNoFloors()
+	{
+		return noFloors;
+	}
+
+	/**
+	 * Finds the lowest floor called at or above the floor given.
+	 * @param from			The floor to start from
+	 * @return				The floor, or -1 if no floor at or above it is called
+	 */
+	public int nextSetBit(int from)
+	{
+		return nextSetBit(from, this, this, this);
+	}
+
+	/**
+	 * Finds the highest floor called at or below the floor given.
+	 * @param from			The floor to start from
+	 * @return				The floor, or -1 if no floor at or below it is called
+	 */
+	public int previousSetBit(int from)
+	{
+		return previousSetBit(from, this, this, this);
+	}
+
+	/**
+	 * Finds the lowest floor at or above the floor given that is called in either register.
+	 * @param from			The floor to start from
+	 * @param a				The first register
+	 * @param b				The second register, for the same building
+	 * @return				The floor, or -1 if no floor at or above it is called
+	 */
+	public static int nextSetBit(int from, CallRegister a, CallRegister b)
+	{
+		return nextSetBit(from, a, b, b);
+	}
+
+	/**
+	 * Finds the highest floor at or below the floor given that is called in either register.
+	 * @param from			The floor to start from
+	 * @param a				The first register
+	 * @param b				The second register, for the same building
+	 * @return				The floor, or -1 if no floor at or below it is called
+	 */
+	public static int previousSetBit(int from, CallRegister a, CallRegister b)
+	{
+		return previousSetBit(from, a, b, b);
+	}
+
+	/**
+	 * Finds the lowest floor at or above the floor given that is called in any of the registers.
+	 * @param from			The floor to start from
+	 * @param a				The first register
+	 * @param b				The second register, for the same building
+	 * @param c				The third register, for the same building
+	 * @return				The floor, or -1 if no floor at or above it is called
+	 */
+	public static int nextSetBit(int from, CallRegister a, CallRegister b, CallRegister c)
+	{
+		if (from < 0)
+		{
+			from = 0;
+		}
+		if (from >= a.noFloors)
+		{
+			return -1;
+		}
+		int w = from >>> 6;
+		long word = (a.words[w] | b.words[w] | c.words[w]) & (-1L << from);
+		while (word == 0)
+		{
+			if (++w == a.words.length)
+			{
+				return -1;
+			}
+			word = a.words[w] | b.words[w] | c.words[w];
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * Finds the highest floor at or below the floor given that is called in any of the registers.
+	 * @param from			The floor to start from
+	 * @param a				The first register
+	 * @param b				The second register, for the same building
+	 * @param c				The third register, for the same building
+	 * @return				The floor, or -1 if no floor at or below it is called
+	 */
+	public static int previousSetBit(int from, CallRegister a, CallRegister b, CallRegister c)
+	{
+		if (from < 0)
+		{
+			return -1;
+		}
+		if (from >= a.noFloors)
+		{
+			from = a.noFloors - 1;
+		}
+		int w = from >>> 6;
+		long word = (a.words[w] | b.words[w] | c.words[w]) & (-1L >>> (63 - (from & 63)));
+		while (word == 0)
+		{
+			if (--w < 0)
+			{
+				return -1;
+			}
+			word = a.words[w] | b.words[w] | c.words[w];
+		}
+		return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * CollectiveController object - Collective control of a lift, as run by each car of a {@link LiftBank} over the
+ * calls given to it. The lift carries on in its direction while it has a call or drop off ahead, stopping for
+ * calls in the same direction and for drop offs, then turns around at the furthest call in the other direction.
+ * A lift with nothing ahead turns around where it is if its floor is calling the other way, if it was sent there
+ * to turn around, or if nothing is calling at all. (A single lift turns off both calls of a floor when it stops,
+ * so the call it was sent to answer may no longer be showing.)
+ *
+ * @author Annie Talbot
+ */
+public class CollectiveController implements LiftController
+{
+	/**
+	 * The direction the lift travels in after the last decision.
+	 */
+	private boolean goingUp = true;
+	/**
+	 * The floor the lift was last sent to in order to turn around there, or -1 if it was not.
+	 */
+	private int turnFloor = -1;
+
+	@Override
+	public int nextFloor(BuildingView view)
+	{
+		goingUp = view.isGoingUp();
+		int f = view.getCurrentFloor();
+		boolean sentToTurn = f == turnFloor;
+		turnFloor = -1;
+		if (view.nextCall(0, BuildingView.ALL_CALLS) == -1)
+		{
+			// The only people left (if any) are waiting on this floor to go the other way, so turn around and let them on
+			goingUp = !goingUp;
+			return -1;
+		}
+		int ahead = goingUp ? view.nextCall(f + 1, BuildingView.ALL_CALLS) : view.previousCall(f - 1, BuildingView.ALL_CALLS);
+		if (ahead == -1 && (sentToTurn || view.isCalling(f, goingUp ? BuildingView.DOWN_CALLS : BuildingView.UP_CALLS)))
+		{
+			// Turn around here
+			goingUp = !goingUp;
+			return -1;
+		}
+		for (int k = 0; k < 2; k++)
+		{
+			if (goingUp)
+			{
+				// Nearest drop off or up call above, else the highest down call
+				int nextFloor = view.nextCall(f + 1, BuildingView.UP_CALLS | BuildingView.BUTTONS);
+				if (nextFloor != -1)
+				{
+					return nextFloor;
+				}
+				nextFloor = view.previousCall(view.getNoFloors() - 1, BuildingView.DOWN_CALLS);
+				if (nextFloor > f)
+				{
+					turnFloor = nextFloor;
+					return nextFloor;
+				}
+			}
+			else
+			{
+				// Nearest drop off or down call below, else the lowest up call
+				int nextFloor = view.previousCall(f - 1, BuildingView.DOWN_CALLS | BuildingView.BUTTONS);
+				if (nextFloor != -1)
+				{
+					return nextFloor;
+				}
+				nextFloor = view.nextCall(0, BuildingView.UP_CALLS);
+				if (nextFloor != -1 && nextFloor < f)
+				{
+					turnFloor = nextFloor;
+					return nextFloor;
+				}
+			}
+			goingUp = !goingUp;
+		}
+		// Nothing to do in either direction
+		return -1;
+	}
+
+	@Override
+	public boolean isGoingUp()
+	{
+		return goingUp;
+	}
+}
@@ -1,72 +1,227 @@
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 /**
  * An instance of this class can be used to replicate a discrete probability distribution.
- * This distribution can then be used alongside the {@link Random} class to select a value
- * using the probabilities given from the constructor. 
- * The constructor-given distribution does not contain actual probabilities, but the 
+ * This distribution can then be used alongside the {@link SplittableRandom} class to select a value
+ * using the probabilities given from the constructor. Values can be selected with the distribution's
+ * own random stream, which can be seeded so that the values are reproducible, or with a stream given
+ * by the caller, so that one distribution can be shared by many threads each with their own stream.
+ * The constructor-given distribution does not contain actual probabilities, but the
  * numerator for the fraction representing the probability.
- * 
+ * Values are selected with the alias method: each floor has a column of equal height, filled partly by
+ * the floor itself and partly by one other floor (its alias), so selecting a value only needs a random
+ * column and a random height, and the tables only grow with the number of floors.
+ *
  * @author Annie Talbot
  *
  */
 public class DiscreteDistribution {
 	/**
-	 * The list of values to choose from, each value is repeated a certain amount of times in order to 
-	 * replicate the probability specified for it to occur.
+	 * The sum of every weight, which is the height of each column.
+	 */
+	private final long totalWeight;
+	/**
+	 * For each floor, the height of its column that selects the floor itself. Above this the column
+	 * selects the floor's alias.
 	 */
-	private int[] distribution;
+	private final long[] threshold;
 	/**
-	 * The Random object used to generate values.
+	 * For each floor, the floor that fills the rest of its column.
 	 */
-	Random r;
-	
+	private final int[] alias;
 	/**
-	 * The constructor that sets up the distribution array to have the correct probabilities.
-	 * 
+	 * The random stream used by {@link DiscreteDistribution#getNextValue()}.
+	 */
+	SplittableRandom r;
+
+	/**
+	 * The constructor that sets up the distribution to have the correct probabilities.
+	 *
 	 * @param finalDistribution 	The list that holds the probability for each floor to be selected
 	 */
 	public DiscreteDistribution(ArrayList<Integer> finalDistribution) {
-		// Get size of the distribution
-		int size = 0;
-		for (int floorNum = 0; floorNum < finalDistribution.size(); floorNum++) 
+		this(finalDistribution, new SplittableRandom());
+	}
+
+	/**
+	 * The constructor that sets up the distribution to have the correct probabilities, with its own
+	 * random stream seeded so that the values selected are reproducible.
+	 *
+	 * @param finalDistribution 	The list that holds the probability for each floor to be selected
+	 * @param seed					The seed of the random stream
+	 */
+	public DiscreteDistribution(ArrayList<Integer> finalDistribution, long seed) {
+		this(finalDistribution, new SplittableRandom(seed));
+	}
+
+	/**
+	 * The constructor that sets up the distribution to have the correct probabilities.
+	 *
+	 * @param finalDistribution 	The list that holds the probability for each floor to be selected
+	 * @param r						The random stream to select values with
+	 */
+	private DiscreteDistribution(ArrayList<Integer> finalDistribution, SplittableRandom r) {
+		int noFloors = finalDistribution.size();
+		// Get the height of the columns
+		long total = 0;
+		for (int floorNum = 0; floorNum < noFloors; floorNum++)
 		{
-			size += finalDistribution.get(floorNum);
+			if (finalDistribution.get(floorNum) < 0)
+			{
+				throw new IllegalArgumentException("The probability of a floor must not be negative.");
+			}
+			total += finalDistribution.get(floorNum);
+		}
+		if (total == 0)
+		{
+			throw new IllegalArgumentException("At least one floor must have a probability above zero.");
 		}
-		distribution = new int[size];
-		// Give the distribution list the correct probabilities for each floor
-		int counter = 0;
-		for (int floorNum = 0; floorNum < finalDistribution.size(); floorNum++) 
+		totalWeight = total;
+		threshold = new long[noFloors];
+		alias = new int[noFloors];
+
+		// Scale every weight so that the average is the height of a column, then sort the floors into those
+		// that underfill their column and those that overfill it
+		long[] scaled = new long[noFloors];
+		int[] small = new int[noFloors];
+		int[] large = new int[noFloors];
+		int noSmall = 0;
+		int noLarge = 0;
+		for (int floorNum = 0; floorNum < noFloors; floorNum++)
 		{
-			for (int i = 0; i < finalDistribution.get(floorNum); i++) 
+			scaled[floorNum] = (long) finalDistribution.get(floorNum) * noFloors;
+			if (scaled[floorNum] < total)
 			{
-				distribution[counter] = floorNum;
-				counter++;
+				small[noSmall++] = floorNum;
 			}
+			else
+			{
+				large[noLarge++] = floorNum;
+			}
+		}
+		// Fill the rest of each underfilled column from an overfilled floor
+		while (noSmall > 0 && noLarge > 0)
+		{
+			int s = small[--noSmall];
+			int l = large[--noLarge];
+			threshold[s] = scaled[s];
+			alias[s] = l;
+			scaled[l] -= total - scaled[s];
+			if (scaled[l] < total)
+			{
+				small[noSmall++] = l;
+			}
+			else
+			{
+				large[noLarge++] = l;
+			}
+		}
+		// Any floors left fill their own columns exactly
+		while (noLarge > 0)
+		{
+			threshold[large[--noLarge]] = total;
 		}
-		// Initialises the Random object
-		r = new Random();
+		while (noSmall > 0)
+		{
+			threshold[small[--noSmall]] = total;
+		}
+		this.r = r;
 	}
-	
+
 	/**
-	 * A constructor for a simple distribution in which each floor has the same probability for 
+	 * A constructor for a simple distribution in which each floor has the same probability for
 	 * being selected.
 	 * @param noFloors		The number of floors spread across the distribution
 	 */
 	public DiscreteDistribution(int noFloors) {
-		this.distribution = new int[noFloors];
+		this(noFloors, new SplittableRandom());
+	}
+
+	/**
+	 * A constructor for a simple distribution in which each floor has the same probability for
+	 * being selected, with its own random stream seeded so that the values selected are reproducible.
+	 * @param noFloors		The number of floors spread across the distribution
+	 * @param seed			The seed of the random stream
+	 */
+	public DiscreteDistribution(int noFloors, long seed) {
+		this(noFloors, new SplittableRandom(seed));
+	}
+
+	/**
+	 * A constructor for a simple distribution in which each floor has the same probability for
+	 * being selected.
+	 * @param noFloors		The number of floors spread across the distribution
+	 * @param r				The random stream to select values with
+	 */
+	private DiscreteDistribution(int noFloors, SplittableRandom r) {
+		// Every floor fills its own column
+		this.totalWeight = noFloors;
+		this.threshold = new long[noFloors];
+		this.alias = new int[noFloors];
 		for (int i = 0; i < noFloors; i++)
 		{
-			this.distribution[i] = i;
+			this.threshold[i] = noFloors;
+			this.alias[i] = i;
 		}
-		r = new Random();
+		this.r = r;
 	}
-	
+
 	/**
-	 * A public function for using this discrete distribution to select the next floor and return it.
+	 * A public function for using this discrete distribution to select the next floor and return it,
+	 * using the distribution's own random stream. This must not be called by more than one thread at once.
 	 * @return 			The randomly selected floor.
 	 */
 	public int getNextValue() {
-		return (int) distribution[r.nextInt(distribution.length)];
+		return getNextValue(r);
+	}
+
+	/**
+	 * Uses this discrete distribution to select the next floor with the random stream given. Any number
+	 * of threads can call this at once, as long as each uses its own stream.
+	 * @param random		The random stream to select the floor with
+	 * @return 				The randomly selected floor.
+	 */
+	public int getNextValue(SplittableRandom random) {
+		int column = random.nextInt(threshold.length);
+		long height = threshold[column];
+		// A full column needs no second draw
+		if (height >= totalWeight || random.nextLong(totalWeight) < height)
+		{
+			return column;
+		}
+		return alias[column];
+	}
+
+	/**
+	 * Selects a floor for every entry of the array given, using the distribution's own random stream.
+	 * This must not be called by more than one thread at once.
+	 * @param out			The array to fill with randomly selected floors
+	 */
+	public void fill(int[] out) {
+		fill(out, r);
+	}
+
+	/**
+	 * Selects a floor for every entry of the array given, using the random stream given.
+	 * @param out			The array to fill with randomly selected floors
+	 * @param random		The random stream to select the floors with
+	 */
+	public void fill(int[] out, SplittableRandom random) {
+		int noFloors = threshold.length;
+		long total = totalWeight;
+		for (int i = 0; i < out.length; i++)
+		{
+			int column = random.nextInt(noFloors);
+			long height = threshold[column];
+			out[i] = height >= total || random.nextLong(total) < height ? column : alias[column];
+		}
+	}
+
+	/**
+	 * Getter for the number of floors the distribution is spread across.
+	 * @return			The number of floors
+	 */
+	public int getNoFloors() {
+		return threshold.length;
 	}
 }
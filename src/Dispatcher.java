@@ -0,0 +1,20 @@
+/**
+ * Dispatcher - Decides which car of a {@link LiftBank} answers each call made on a floor. A dispatcher is
+ * asked every time a call is made, including when a call is made again because the car answering it was
+ * too full to take everyone, so it should only look at the cars given and not allocate anything.
+ *
+ * @author Annie Talbot
+ */
+public interface Dispatcher
+{
+	/**
+	 * Chooses the car that should answer a call.
+	 *
+	 * @param floor				The floor the call was made on
+	 * @param up				True = the call is to go upwards, False = downwards
+	 * @param cars				The cars of the bank, which must not be changed
+	 * @param noAssignedCalls	The number of calls each car has been given and not yet answered
+	 * @return					The index of the chosen car
+	 */
+	int assignCall(int floor, boolean up, Lift[] cars, int[] noAssignedCalls);
+}
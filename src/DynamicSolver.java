@@ -0,0 +1,502 @@
+import java.util.Arrays;
+
+/**
+ * DynamicSolver object - Finds the optimum route for a small building exactly, by dynamic programming
+ * over the states the lift and people can be in, rather than by walking every route.
+ * A state is the floor the lift is on (before anyone boards there) and the status of each person
+ * (waiting, on the lift or delivered), packed 2 bits per person into a single long. The wait still to
+ * come from a state does not depend on how long it took to reach it: every person not yet delivered
+ * gains the same wait for each movement. So the least wait still to come is calculated once for every
+ * state by memoized search, and the route is rebuilt by following the best move from each state.
+ * Only moves that can change who is waiting or on the lift are considered (a full lift is never sent
+ * to a floor just to pick people up), which can never be part of an optimum route and means no state
+ * can be reached from itself. Ties between moves are settled by floor order, so the route found is the
+ * same as the one found by {@link OptimumSearch}.
+ *
+ * @author Annie Talbot
+ */
+public class DynamicSolver
+{
+	/**
+	 * The largest number of people the solver can handle, as each person takes 2 bits of the state.
+	 */
+	public static final int MAX_PEOPLE = 28;
+	/**
+	 * The largest number of floors the solver can handle, as the lift floor takes the top 8 bits of the state.
+	 */
+	public static final int MAX_FLOORS = 255;
+	/**
+	 * Status value for a person waiting on their start floor.
+	 */
+	private static final long WAITING = 0;
+	/**
+	 * Status value for a person inside the lift.
+	 */
+	private static final long ON_LIFT = 1;
+	/**
+	 * Status value for a person who has been delivered.
+	 */
+	private static final long DELIVERED = 2;
+	/**
+	 * The number of bits below the lift floor in a state.
+	 */
+	private static final int FLOOR_SHIFT = 56;
+	/**
+	 * The number of bits below the wait time in a solved value, which hold the best floor to move to.
+	 */
+	private static final int MOVE_BITS = 8;
+
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The maximum number of people in the lift.
+	 */
+	private final int capacity;
+	/**
+	 * The start floor of each person.
+	 */
+	private final int[] startFloor;
+	/**
+	 * The end floor of each person.
+	 */
+	private final int[] endFloor;
+	/**
+	 * The people who start on each floor, in ID order (the order they board in).
+	 */
+	private final int[][] peopleOnFloor;
+	/**
+	 * The people travelling to each floor.
+	 */
+	private final int[][] peopleToFloor;
+	/**
+	 * The floor the lift starts on.
+	 */
+	private final int firstFloor;
+	/**
+	 * The status of every person, 2 bits per person.
+	 */
+	private long statuses;
+	/**
+	 * The number of people waiting on each floor.
+	 */
+	private final int[] noWaiting;
+	/**
+	 * The number of people on the lift travelling to each floor.
+	 */
+	private final int[] noTravelling;
+	/**
+	 * The number of people in the lift.
+	 */
+	private int noInLift = 0;
+	/**
+	 * The number of people not yet delivered.
+	 */
+	private int noUndelivered = 0;
+	/**
+	 * The least wait still to come and the best move from every state solved so far.
+	 */
+	private final StateTable solved = new StateTable();
+
+	/**
+	 * Constructor for the solver that takes the state to solve from. People already on the lift or
+	 * delivered are taken as they are.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param people		The people in the current state of the simulation
+	 * @param liftFloor		The floor the lift is on
+	 */
+	DynamicSolver(int noFloors, int capacity, Person[] people, int liftFloor)
+	{
+		if (people.length > MAX_PEOPLE || noFloors > MAX_FLOORS)
+		{
+			throw new IllegalArgumentException("The dynamic solver can handle at most " + MAX_PEOPLE + " people and "
+					+ MAX_FLOORS + " floors.");
+		}
+		this.noFloors = noFloors;
+		this.capacity = capacity;
+		this.firstFloor = liftFloor;
+		startFloor = new int[people.length];
+		endFloor = new int[people.length];
+		noWaiting = new int[noFloors];
+		noTravelling = new int[noFloors];
+		int[] noOnFloor = new int[noFloors];
+		int[] noToFloor = new int[noFloors];
+		for (Person p : people)
+		{
+			noOnFloor[p.getStartFloor()]++;
+			noToFloor[p.getEndFloor()]++;
+		}
+		peopleOnFloor = new int[noFloors][];
+		peopleToFloor = new int[noFloors][];
+		for (int f = 0; f < noFloors; f++)
+		{
+			peopleOnFloor[f] = new int[noOnFloor[f]];
+			peopleToFloor[f] = new int[noToFloor[f]];
+			noOnFloor[f] = 0;
+			noToFloor[f] = 0;
+		}
+		for (int i = 0; i < people.length; i++)
+		{
+			Person p = people[i];
+			startFloor[i] = p.getStartFloor();
+			endFloor[i] = p.getEndFloor();
+			peopleOnFloor[p.getStartFloor()][noOnFloor[p.getStartFloor()]++] = i;
+			peopleToFloor[p.getEndFloor()][noToFloor[p.getEndFloor()]++] = i;
+			if (p.isDelivered())
+			{
+				statuses |= DELIVERED << (2 * i);
+			}
+			else
+			{
+				noUndelivered++;
+				if (p.isOnLift())
+				{
+					statuses |= ON_LIFT << (2 * i);
+					noInLift++;
+					noTravelling[p.getEndFloor()]++;
+				}
+				else
+				{
+					noWaiting[p.getStartFloor()]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Solves every state reachable from the starting state and rebuilds the optimum route from it. The
+	 * total wait time of the route is that of the people given, with the lift having made no movements.
+	 *
+	 * @param people		The people in the starting state, used for the wait they have already built up
+	 * @return				The best (optimum) route that the lift could take
+	 */
+	public Route solve(Person[] people)
+	{
+		Route route = new Route(LiftEntryDecision.DirectionIndependent);
+		long start = statuses;
+		if (noUndelivered > 0)
+		{
+			long total = solveFrom(firstFloor) >>> MOVE_BITS;
+			// Everyone not yet delivered already has the direct journey taken off their wait
+			for (int i = 0; i < people.length; i++)
+			{
+				Person p = people[i];
+				if (p.isDelivered())
+				{
+					total += p.getWaitTime();
+				}
+				else
+				{
+					total -= Math.abs(p.getStartFloor() - p.getEndFloor()) + 1;
+				}
+			}
+			// Follow the best move from each state, replaying the moves so the next state is known
+			int floor = firstFloor;
+			while (noUndelivered > 0)
+			{
+				int next = (int) (solved.get(stateOf(floor)) & ((1 << MOVE_BITS) - 1));
+				board(floor);
+				deliver(next);
+				route.addToPath(next);
+				floor = next;
+			}
+			route.setTotalWaitTimes(total);
+			resetTo(start);
+		}
+		route.setCompleteRoute(true);
+		return route;
+	}
+
+	/**
+	 * Getter for the number of states solved.
+	 * @return		The number of states
+	 */
+	public int getNoStates()
+	{
+		return solved.size();
+	}
+
+	/**
+	 * Memoized search for the least wait still to come from the current statuses with the lift on the
+	 * floor given, before anyone boards there. The statuses are left as they were once this returns.
+	 *
+	 * @param floor			The floor the lift is on
+	 * @return				The least wait still to come, shifted above the best floor to move to
+	 */
+	private long solveFrom(int floor)
+	{
+		long state = stateOf(floor);
+		long value = solved.get(state);
+		if (value != StateTable.MISSING)
+		{
+			return value;
+		}
+		long beforeBoarding = statuses;
+		int boarded = board(floor);
+		long best = Long.MAX_VALUE;
+		int bestFloor = -1;
+		for (int i = 0; i < noFloors; i++)
+		{
+			// Only go where someone can be dropped off or picked up
+			if (i == floor || (noTravelling[i] == 0 && (noWaiting[i] == 0 || noInLift == capacity)))
+			{
+				continue;
+			}
+			// Everyone not yet delivered waits for the whole move
+			long wait = (long) noUndelivered * (Math.abs(i - floor) + 1);
+			long beforeDelivery = statuses;
+			int delivered = deliver(i);
+			if (noUndelivered > 0)
+			{
+				wait += solveFrom(i) >>> MOVE_BITS;
+			}
+			undeliver(i, beforeDelivery, delivered);
+			if (wait < best)
+			{
+				best = wait;
+				bestFloor = i;
+			}
+		}
+		unboard(floor, beforeBoarding, boarded);
+		value = (best << MOVE_BITS) | bestFloor;
+		solved.put(state, value);
+		return value;
+	}
+
+	/**
+	 * Gets the state for the current statuses with the lift on the floor given.
+	 * @param floor		The floor the lift is on
+	 * @return			The state
+	 */
+	private long stateOf(int floor)
+	{
+		return statuses | ((long) floor << FLOOR_SHIFT);
+	}
+
+	/**
+	 * Gets the status of a person.
+	 * @param i		The person's ID
+	 * @return		The person's status
+	 */
+	private long statusOf(int i)
+	{
+		return (statuses >>> (2 * i)) & 3;
+	}
+
+	/**
+	 * Moves the people waiting on a floor onto the lift in ID order until it is full.
+	 * @param floor		The floor the lift is on
+	 * @return			The number of people that boarded
+	 */
+	private int board(int floor)
+	{
+		int boarded = 0;
+		for (int i : peopleOnFloor[floor])
+		{
+			if (noInLift == capacity)
+			{
+				break;
+			}
+			if (statusOf(i) == WAITING)
+			{
+				statuses |= ON_LIFT << (2 * i);
+				noTravelling[endFloor[i]]++;
+				noInLift++;
+				boarded++;
+			}
+		}
+		noWaiting[floor] -= boarded;
+		return boarded;
+	}
+
+	/**
+	 * Reverts {@link DynamicSolver#board(int)}.
+	 * @param floor				The floor people boarded from
+	 * @param beforeBoarding	The statuses before people boarded
+	 * @param boarded			The number of people that boarded
+	 */
+	private void unboard(int floor, long beforeBoarding, int boarded)
+	{
+		if (boarded == 0)
+		{
+			return;
+		}
+		for (int i : peopleOnFloor[floor])
+		{
+			if (statusOf(i) == ON_LIFT && ((beforeBoarding >>> (2 * i)) & 3) == WAITING)
+			{
+				noTravelling[endFloor[i]]--;
+			}
+		}
+		statuses = beforeBoarding;
+		noWaiting[floor] += boarded;
+		noInLift -= boarded;
+	}
+
+	/**
+	 * Delivers everyone in the lift travelling to a floor.
+	 * @param floor		The floor the lift has arrived at
+	 * @return			The number of people delivered
+	 */
+	private int deliver(int floor)
+	{
+		int delivered = noTravelling[floor];
+		if (delivered > 0)
+		{
+			for (int i : peopleToFloor[floor])
+			{
+				if (statusOf(i) == ON_LIFT)
+				{
+					statuses += (DELIVERED - ON_LIFT) << (2 * i);
+				}
+			}
+			noTravelling[floor] = 0;
+			noInLift -= delivered;
+			noUndelivered -= delivered;
+		}
+		return delivered;
+	}
+
+	/**
+	 * Reverts {@link DynamicSolver#deliver(int)}.
+	 * @param floor				The floor people were delivered to
+	 * @param beforeDelivery	The statuses before people were delivered
+	 * @param delivered			The number of people delivered
+	 */
+	private void undeliver(int floor, long beforeDelivery, int delivered)
+	{
+		statuses = beforeDelivery;
+		noTravelling[floor] = delivered;
+		noInLift += delivered;
+		noUndelivered += delivered;
+	}
+
+	/**
+	 * Puts every person back to the statuses given, recounting who is waiting and travelling.
+	 * @param start		The statuses to return to
+	 */
+	private void resetTo(long start)
+	{
+		statuses = start;
+		noInLift = 0;
+		noUndelivered = 0;
+		for (int f = 0; f < noFloors; f++)
+		{
+			noWaiting[f] = 0;
+			noTravelling[f] = 0;
+		}
+		for (int f = 0; f < noFloors; f++)
+		{
+			for (int i : peopleToFloor[f])
+			{
+				long status = statusOf(i);
+				if (status == ON_LIFT)
+				{
+					noInLift++;
+					noTravelling[f]++;
+				}
+				else if (status == WAITING)
+				{
+					noWaiting[startFloor[i]]++;
+				}
+				if (status != DELIVERED)
+				{
+					noUndelivered++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * An open addressing hash table from state to solved value that stores both as primitives, as the
+	 * solver can visit millions of states.
+	 */
+	private static class StateTable
+	{
+		/**
+		 * The value returned for a state that has not been solved. No solved value is negative.
+		 */
+		static final long MISSING = -1;
+		/**
+		 * Marks an empty slot. No state has every bit set, as the floor is below {@link DynamicSolver#MAX_FLOORS}.
+		 */
+		private static final long EMPTY = -1;
+		private long[] keys;
+		private long[] values;
+		private int size = 0;
+
+		StateTable()
+		{
+			keys = new long[1 << 16];
+			values = new long[1 << 16];
+			Arrays.fill(keys, EMPTY);
+		}
+
+		long get(long key)
+		{
+			int mask = keys.length - 1;
+			for (int slot = indexOf(key, mask); ; slot = (slot + 1) & mask)
+			{
+				if (keys[slot] == key)
+				{
+					return values[slot];
+				}
+				if (keys[slot] == EMPTY)
+				{
+					return MISSING;
+				}
+			}
+		}
+
+		void put(long key, long value)
+		{
+			if (2 * (size + 1) > keys.length)
+			{
+				grow();
+			}
+			int mask = keys.length - 1;
+			int slot = indexOf(key, mask);
+			while (keys[slot] != EMPTY && keys[slot] != key)
+			{
+				slot = (slot + 1) & mask;
+			}
+			if (keys[slot] == EMPTY)
+			{
+				size++;
+			}
+			keys[slot] = key;
+			values[slot] = value;
+		}
+
+		int size()
+		{
+			return size;
+		}
+
+		private void grow()
+		{
+			long[] oldKeys = keys;
+			long[] oldValues = values;
+			keys = new long[oldKeys.length * 2];
+			values = new long[oldValues.length * 2];
+			Arrays.fill(keys, EMPTY);
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++)
+			{
+				if (oldKeys[i] != EMPTY)
+				{
+					put(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+
+		private static int indexOf(long key, int mask)
+		{
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h >>> 32) & mask;
+		}
+	}
+}
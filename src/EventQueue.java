@@ -0,0 +1,175 @@
+import java.util.Arrays;
+
+/**
+ * EventQueue object - A priority queue of timed events for {@link EventSimulation}, held as a binary heap
+ * of primitive longs so that no object is created per event. Each event packs its time, its type and a
+ * number describing what it is about (e.g. a person or a lift) into one long, ordered so that earlier
+ * events come first, and events at the same time come in type order and then number order.
+ *
+ * @author Annie Talbot
+ */
+public class EventQueue
+{
+	/**
+	 * The number of bits used for the number of an event.
+	 */
+	private static final int PAYLOAD_BITS = 27;
+	/**
+	 * The largest number an event can hold.
+	 */
+	public static final int MAX_PAYLOAD = (1 << PAYLOAD_BITS) - 1;
+	/**
+	 * The number of bits used for the type of an event.
+	 */
+	private static final int TYPE_BITS = 5;
+	/**
+	 * The events, arranged as a binary heap with the earliest event first.
+	 */
+	private long[] heap;
+	/**
+	 * The number of events in the queue.
+	 */
+	private int size = 0;
+
+	/**
+	 * Constructor for an empty queue.
+	 *
+	 * @param initialCapacity		The number of events the queue can hold before it needs to grow
+	 */
+	EventQueue(int initialCapacity)
+	{
+		heap = new long[Math.max(1, initialCapacity)];
+	}
+
+	/**
+	 * Packs an event into a long.
+	 *
+	 * @param time			The time the event happens at, which must not be negative
+	 * @param type			The type of the event, from 0 to 31
+	 * @param payload		The number describing what the event is about, from 0 to {@link EventQueue#MAX_PAYLOAD}
+	 * @return				The event
+	 */
+	public static long event(long time, int type, int payload)
+	{
+		return (time << (TYPE_BITS + PAYLOAD_BITS)) | ((long) type << PAYLOAD_BITS) | payload;
+	}
+
+	/**
+	 * Gets the time of an event.
+	 * @param event		The event
+	 * @return			The time it happens at
+	 */
+	public static long timeOf(long event)
+	{
+		return event >>> (TYPE_BITS + PAYLOAD_BITS);
+	}
+
+	/**
+	 * Gets the type of an event.
+	 * @param event		The event
+	 * @return			The type
+	 */
+	public static int typeOf(long event)
+	{
+		return (int) (event >>> PAYLOAD_BITS) & ((1 << TYPE_BITS) - 1);
+	}
+
+	/**
+	 * Gets the number describing what an event is about.
+	 * @param event		The event
+	 * @return			The number
+	 */
+	public static int payloadOf(long event)
+	{
+		return (int) event & MAX_PAYLOAD;
+	}
+
+	/**
+	 * Adds an event to the queue.
+	 * @param event		The event, made by {@link EventQueue#event(long, int, int)}
+	 */
+	public void push(long event)
+	{
+		if (size == heap.length)
+		{
+			heap = Arrays.copyOf(heap, heap.length * 2);
+		}
+		// Sift up
+		int k = size++;
+		while (k > 0)
+		{
+			int parent = (k - 1) >>> 1;
+			if (heap[parent] <= event)
+			{
+				break;
+			}
+			heap[k] = heap[parent];
+			k = parent;
+		}
+		heap[k] = event;
+	}
+
+	/**
+	 * Removes the earliest event from the queue. The queue must not be empty.
+	 * @return		The earliest event
+	 */
+	public long pop()
+	{
+		long first = heap[0];
+		long last = heap[--size];
+		// Sift down
+		int k = 0;
+		int half = size >>> 1;
+		while (k < half)
+		{
+			int child = 2 * k + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child])
+			{
+				child++;
+			}
+			if (last <= heap[child])
+			{
+				break;
+			}
+			heap[k] = heap[child];
+			k = child;
+		}
+		heap[k] = last;
+		return first;
+	}
+
+	/**
+	 * Getter for the earliest event in the queue, without removing it. The queue must not be empty.
+	 * @return		The earliest event
+	 */
+	public long peek()
+	{
+		return heap[0];
+	}
+
+	/**
+	 * Whether the queue has no events.
+	 * @return		True = the queue is empty
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Getter for the number of events in the queue.
+	 * @return		The number of events
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Removes every event from the queue.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+}
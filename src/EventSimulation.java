@@ -0,0 +1,645 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * EventSimulation object - An engine that runs a simulation as a series of timed events instead of as a
+ * loop of lift movements, so that people can keep arriving in the building while the lift is running.
+ * The events (a person arriving on their start floor, the lift arriving at a floor, the lift doors opening
+ * so people can board, and the lift departing) are held in an {@link EventQueue} and processed in time order.
+ * Time is measured in lift movements, in the same way as {@link Simulation}: travelling between floors
+ * takes one unit per floor plus one to stop.
+ * The state of the people, floors and lift is held in flat arrays of primitives in the same way as
+ * {@link FlatSimulation}, and the lift is driven by a {@link LiftController} in the same way as
+ * {@link Simulation}, asked for the next floor each time the lift departs. When everyone arrives at time 0,
+ * the wait times are the same as those of {@link Simulation}.
+ *
+ * @author Annie Talbot
+ */
+public class EventSimulation
+{
+	/**
+	 * Event of a person arriving on their start floor and pressing its button. Its number is the person.
+	 */
+	static final int PERSON_ARRIVES = 0;
+	/**
+	 * Event of the lift arriving at a floor, where everyone going there is dropped off.
+	 */
+	static final int LIFT_ARRIVES = 1;
+	/**
+	 * Event of the lift doors opening, where people waiting on the floor board the lift.
+	 */
+	static final int DOORS_OPEN = 2;
+	/**
+	 * Event of the lift departing, where the next floor is chosen.
+	 */
+	static final int LIFT_DEPARTS = 3;
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The number of people in the simulation.
+	 */
+	private final int noPeople;
+	/**
+	 * The maximum number of people in the lift.
+	 */
+	private final int capacity;
+	/**
+	 * The time each person arrives on their start floor, in ID order so that it never decreases.
+	 */
+	private final int[] arrivalTime;
+	/**
+	 * The floor each person starts on.
+	 */
+	private final int[] startFloor;
+	/**
+	 * The floor each person wants to go to.
+	 */
+	private final int[] endFloor;
+	/**
+	 * For each floor, the people who start there and want to go upwards, in ID (and so arrival) order.
+	 */
+	private final int[][] upQueue;
+	/**
+	 * For each floor, the people who start there and want to go downwards, in ID (and so arrival) order.
+	 */
+	private final int[][] downQueue;
+	/**
+	 * The time that each person waited on top of the time it takes to travel directly to their floor.
+	 */
+	private final long[] waitTime;
+	/**
+	 * For each floor, the position in its up queue of the next person to board.
+	 */
+	private final int[] upHead;
+	/**
+	 * For each floor, the position in its down queue of the next person to board.
+	 */
+	private final int[] downHead;
+	/**
+	 * For each floor, the number of people in its up queue who have arrived.
+	 */
+	private final int[] upTail;
+	/**
+	 * For each floor, the number of people in its down queue who have arrived.
+	 */
+	private final int[] downTail;
+	/**
+	 * The up button on each floor.
+	 */
+	private final boolean[] callingUp;
+	/**
+	 * The down button on each floor.
+	 */
+	private final boolean[] callingDown;
+	/**
+	 * The people in the lift. Only the first {@link EventSimulation#noInLift} entries are used.
+	 */
+	private final int[] liftOccupants;
+	/**
+	 * The number of people in the lift.
+	 */
+	private int noInLift;
+	/**
+	 * For each floor, the number of people in the lift going there. A lift button is pressed when this
+	 * is above zero.
+	 */
+	private final int[] destCount;
+	/**
+	 * The number of buttons currently pressed in the lift.
+	 */
+	private int noButtonsPressed;
+	/**
+	 * The floor the lift is currently on, or travelling to.
+	 */
+	private int liftFloor;
+	/**
+	 * The direction the lift is travelling. True = upwards, False = downwards.
+	 */
+	private boolean goingUp;
+	/**
+	 * Whether the lift is standing still with nothing to do, waiting for somebody to arrive.
+	 */
+	private boolean idle;
+	/**
+	 * The number of people who have arrived but not yet boarded the lift.
+	 */
+	private int noWaiting;
+	/**
+	 * The number of people delivered so far.
+	 */
+	private int noDelivered;
+	/**
+	 * The sum of the wait times of everyone delivered so far.
+	 */
+	private long totalWait;
+	/**
+	 * The time of the event being processed.
+	 */
+	private long time;
+	/**
+	 * The number of events processed in the last run.
+	 */
+	private long noEvents;
+	/**
+	 * The events still to happen.
+	 */
+	private final EventQueue events = new EventQueue(16);
+	/**
+	 * The seed that the people were generated from, null if they were given.
+	 */
+	private Long seed = null;
+
+	/**
+	 * Constructor that sets up the building and lift for people arriving at the times given.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param arrivalTime	The time each person arrives, which must not decrease from one person to the next
+	 * @param startFloor	The floor each person starts on
+	 * @param endFloor		The floor each person wants to go to
+	 */
+	EventSimulation(int noFloors, int capacity, int[] arrivalTime, int[] startFloor, int[] endFloor)
+	{
+		if (arrivalTime.length > EventQueue.MAX_PAYLOAD)
+		{
+			throw new IllegalArgumentException("An event simulation can hold at most " + EventQueue.MAX_PAYLOAD + " people.");
+		}
+		for (int i = 1; i < arrivalTime.length; i++)
+		{
+			if (arrivalTime[i] < arrivalTime[i - 1])
+			{
+				throw new IllegalArgumentException("People must be given in order of arrival time.");
+			}
+		}
+		this.noFloors = noFloors;
+		this.noPeople = arrivalTime.length;
+		this.capacity = capacity;
+		this.arrivalTime = arrivalTime.clone();
+		this.startFloor = startFloor.clone();
+		this.endFloor = endFloor.clone();
+		int[] noUp = new int[noFloors];
+		int[] noDown = new int[noFloors];
+		for (int i = 0; i < noPeople; i++)
+		{
+			if (endFloor[i] > startFloor[i])
+			{
+				noUp[startFloor[i]]++;
+			}
+			else
+			{
+				noDown[startFloor[i]]++;
+			}
+		}
+		upQueue = new int[noFloors][];
+		downQueue = new int[noFloors][];
+		for (int f = 0; f < noFloors; f++)
+		{
+			upQueue[f] = new int[noUp[f]];
+			downQueue[f] = new int[noDown[f]];
+			noUp[f] = 0;
+			noDown[f] = 0;
+		}
+		for (int i = 0; i < noPeople; i++)
+		{
+			int f = startFloor[i];
+			if (endFloor[i] > f)
+			{
+				upQueue[f][noUp[f]++] = i;
+			}
+			else
+			{
+				downQueue[f][noDown[f]++] = i;
+			}
+		}
+		waitTime = new long[noPeople];
+		upHead = new int[noFloors];
+		downHead = new int[noFloors];
+		upTail = new int[noFloors];
+		downTail = new int[noFloors];
+		callingUp = new boolean[noFloors];
+		callingDown = new boolean[noFloors];
+		liftOccupants = new int[capacity];
+		destCount = new int[noFloors];
+		reset();
+	}
+
+	/**
+	 * Constructor for the people of a simulation, who all arrive at time 0.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param people		The people in the simulation, with IDs matching their place in the array
+	 */
+	EventSimulation(int noFloors, int capacity, Person[] people)
+	{
+		this(noFloors, capacity, new int[people.length], startFloors(people), endFloors(people));
+	}
+
+	/**
+	 * Creates a simulation in which people keep arriving in the building, with the gaps between arrivals
+	 * following an exponential distribution (so that arrivals are a Poisson process). Start floors are
+	 * selected from a probability distribution and destinations at random from the other floors, in the
+	 * same way as {@link Simulation}.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param noPeople		The number of people who arrive
+	 * @param arrivalRate	The average number of people arriving per unit of time
+	 * @param pDist			The probability distribution used to select each person's start floor
+	 * @param seed			The seed used to generate the people, so that the same seed and set up always
+	 * 						gives the same simulation
+	 * @return				The simulation, ready to run
+	 */
+	public static EventSimulation withArrivals(int noFloors, int capacity, int noPeople, double arrivalRate,
+			DiscreteDistribution pDist, long seed)
+	{
+		SplittableRandom r = new SplittableRandom(seed);
+		int[] arrivalTime = new int[noPeople];
+		int[] startFloor = new int[noPeople];
+		int[] endFloor = new int[noPeople];
+		double clock = 0;
+		for (int i = 0; i < noPeople; i++)
+		{
+			clock -= Math.log(1 - r.nextDouble()) / arrivalRate;
+			arrivalTime[i] = (int) clock;
+			startFloor[i] = pDist.getNextValue(r);
+			endFloor[i] = startFloor[i];
+			while (endFloor[i] == startFloor[i])
+			{
+				endFloor[i] = r.nextInt(noFloors);
+			}
+		}
+		EventSimulation sim = new EventSimulation(noFloors, capacity, arrivalTime, startFloor, endFloor);
+		sim.seed = seed;
+		return sim;
+	}
+
+	/**
+	 * Puts everyone back outside the building and the lift back on the ground floor, ready for a new run.
+	 */
+	public void reset()
+	{
+		Arrays.fill(waitTime, 0);
+		Arrays.fill(upHead, 0);
+		Arrays.fill(downHead, 0);
+		Arrays.fill(upTail, 0);
+		Arrays.fill(downTail, 0);
+		Arrays.fill(callingUp, false);
+		Arrays.fill(callingDown, false);
+		Arrays.fill(destCount, 0);
+		noInLift = 0;
+		noButtonsPressed = 0;
+		liftFloor = 0;
+		goingUp = true;
+		idle = true;
+		noWaiting = 0;
+		noDelivered = 0;
+		totalWait = 0;
+		time = 0;
+		noEvents = 0;
+		events.clear();
+	}
+
+	/**
+	 * Runs the simulation until everyone has arrived and been delivered, with the lift controlled by the
+	 * system given. The lift waits on its floor whenever nobody needs it.
+	 *
+	 * @param system		Either "Mechanical" or "Advanced" - see {@link MechanicalController} and
+	 * 						{@link AdvancedController}
+	 * @return				The combined wait time of everyone in the simulation
+	 */
+	public long run(LiftSystem system)
+	{
+		switch (system)
+		{
+			case Mechanical:
+				return run(new MechanicalController());
+			case Advanced:
+				return run(new AdvancedController());
+			default:
+				throw new IllegalArgumentException("Lift system not supported by the event engine: " + system);
+		}
+	}
+
+	/**
+	 * Runs the simulation until everyone has arrived and been delivered, with the lift controlled by the
+	 * controller given. The lift waits on its floor whenever nobody needs it, and the controller is only
+	 * asked for the next floor when the lift departs.
+	 *
+	 * @param controller	The controller, which has not been used by another simulation
+	 * @return				The combined wait time of everyone in the simulation
+	 */
+	public long run(LiftController controller)
+	{
+		reset();
+		BuildingView view = new View();
+		if (noPeople > 0)
+		{
+			events.push(EventQueue.event(arrivalTime[0], PERSON_ARRIVES, 0));
+		}
+		while (!events.isEmpty())
+		{
+			long event = events.pop();
+			time = EventQueue.timeOf(event);
+			noEvents++;
+			switch (EventQueue.typeOf(event))
+			{
+				case PERSON_ARRIVES:
+					personArrives(EventQueue.payloadOf(event));
+					break;
+				case LIFT_ARRIVES:
+					deliver();
+					events.push(EventQueue.event(time, DOORS_OPEN, 0));
+					break;
+				case DOORS_OPEN:
+					board();
+					events.push(EventQueue.event(time, LIFT_DEPARTS, 0));
+					break;
+				case LIFT_DEPARTS:
+					depart(controller, view);
+					break;
+			}
+		}
+		return totalWait;
+	}
+
+	/**
+	 * Places a person on their start floor and presses its button, then schedules the next arrival. If the
+	 * lift is idle it is woken, turning towards the person before opening its doors.
+	 *
+	 * @param p				The person arriving
+	 */
+	private void personArrives(int p)
+	{
+		int f = startFloor[p];
+		if (endFloor[p] > f)
+		{
+			upTail[f]++;
+			callingUp[f] = true;
+		}
+		else
+		{
+			downTail[f]++;
+			callingDown[f] = true;
+		}
+		noWaiting++;
+		if (p + 1 < noPeople)
+		{
+			events.push(EventQueue.event(arrivalTime[p + 1], PERSON_ARRIVES, p + 1));
+		}
+		if (idle)
+		{
+			idle = false;
+			goingUp = f == liftFloor ? endFloor[p] > f : f > liftFloor;
+			events.push(EventQueue.event(time, DOORS_OPEN, 0));
+		}
+	}
+
+	/**
+	 * Chooses the next floor and sends the lift there, or leaves the lift idle if nobody needs it. The
+	 * buttons of the floor left are reset.
+	 *
+	 * @param controller	The controller choosing the next floor
+	 * @param view			The view of this simulation given to the controller
+	 */
+	private void depart(LiftController controller, BuildingView view)
+	{
+		if (noInLift == 0 && noWaiting == 0)
+		{
+			idle = true;
+			return;
+		}
+		int nextFloor = controller.nextFloor(view);
+		goingUp = controller.isGoingUp();
+		while (nextFloor == -1)
+		{
+			// The controller has only turned the lift around, so let on the people going the new way
+			board();
+			nextFloor = controller.nextFloor(view);
+			goingUp = controller.isGoingUp();
+		}
+		// add movements, plus 1 for time taken to stop
+		long arrival = time + Math.abs(nextFloor - liftFloor) + 1;
+		updateButtons(liftFloor);
+		liftFloor = nextFloor;
+		events.push(EventQueue.event(arrival, LIFT_ARRIVES, 0));
+	}
+
+	/**
+	 * Drops off everyone in the lift who has reached their destination, and updates the direction at the
+	 * top or bottom of the building.
+	 */
+	private void deliver()
+	{
+		if (destCount[liftFloor] > 0)
+		{
+			for (int k = noInLift - 1; k >= 0; k--)
+			{
+				int p = liftOccupants[k];
+				if (endFloor[p] == liftFloor)
+				{
+					waitTime[p] = time - arrivalTime[p] - (Math.abs(startFloor[p] - endFloor[p]) + 1);
+					totalWait += waitTime[p];
+					noDelivered++;
+					liftOccupants[k] = liftOccupants[--noInLift];
+				}
+			}
+			destCount[liftFloor] = 0;
+			noButtonsPressed--;
+		}
+
+		// update direction
+		if (liftFloor == noFloors - 1) {goingUp = false;}
+		else if (liftFloor == 0) {goingUp = true;}
+	}
+
+	/**
+	 * Moves people who have arrived on the lift's current floor and are travelling in the lift's direction
+	 * onto the lift, until the lift is full. The floor's buttons are then turned off.
+	 */
+	private void board()
+	{
+		int f = liftFloor;
+		int[] queue = goingUp ? upQueue[f] : downQueue[f];
+		int[] head = goingUp ? upHead : downHead;
+		int tail = goingUp ? upTail[f] : downTail[f];
+		while (noInLift < capacity && head[f] < tail)
+		{
+			int p = queue[head[f]++];
+			noWaiting--;
+			liftOccupants[noInLift++] = p;
+			if (destCount[endFloor[p]]++ == 0)
+			{
+				noButtonsPressed++;
+			}
+		}
+		callingUp[f] = false;
+		callingDown[f] = false;
+	}
+
+	/**
+	 * Sets the up and down calling buttons of a floor to whether anyone who has arrived is still waiting
+	 * to go that way.
+	 *
+	 * @param f			The floor number
+	 */
+	private void updateButtons(int f)
+	{
+		callingUp[f] = upHead[f] < upTail[f];
+		callingDown[f] = downHead[f] < downTail[f];
+	}
+
+	/**
+	 * Getter for whether a certain button in the lift has been pressed.
+	 * @param floorNum			The floor that the button represents
+	 * @return			True = the button has been pressed, False = it hasn't
+	 */
+	private boolean isCallingFloor(int floorNum)
+	{
+		return destCount[floorNum] > 0;
+	}
+
+	/**
+	 * Creates an array of the start floor of each person.
+	 * @param people		The people
+	 * @return				The start floors, in the same order
+	 */
+	private static int[] startFloors(Person[] people)
+	{
+		int[] floors = new int[people.length];
+		for (int i = 0; i < people.length; i++)
+		{
+			floors[i] = people[i].getStartFloor();
+		}
+		return floors;
+	}
+
+	/**
+	 * Creates an array of the destination of each person.
+	 * @param people		The people
+	 * @return				The destinations, in the same order
+	 */
+	private static int[] endFloors(Person[] people)
+	{
+		int[] floors = new int[people.length];
+		for (int i = 0; i < people.length; i++)
+		{
+			floors[i] = people[i].getEndFloor();
+		}
+		return floors;
+	}
+
+	/**
+	 * Getter for the wait time of every person at the end of the last run, indexed by person ID. A person's
+	 * wait is the time from their arrival to their delivery, less the time a direct trip would have taken.
+	 * @return			A copy of the wait times
+	 */
+	public long[] getWaitTimes()
+	{
+		return waitTime.clone();
+	}
+
+	/**
+	 * Getter for the number of events processed in the last run.
+	 * @return			The number of events
+	 */
+	public long getNoEvents()
+	{
+		return noEvents;
+	}
+
+	/**
+	 * Getter for the time at which the last run finished.
+	 * @return			The time of the last event
+	 */
+	public long getEndTime()
+	{
+		return time;
+	}
+
+	/**
+	 * Getter for the seed that the people were generated from.
+	 * @return			The seed, null if the people were given
+	 */
+	public Long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Writes the wait times of the last run to file, in the same way as {@link Simulation}.
+	 * @param systemUsed		A string used to describe the lift control system e.g. 'mechanical'
+	 */
+	public void saveResults(String systemUsed)
+	{
+		Simulation.saveResults(noFloors, waitTime, systemUsed, seed);
+	}
+
+	/**
+	 * The view of this simulation given to a {@link LiftController}.
+	 */
+	private class View implements BuildingView
+	{
+		@Override
+		public int getNoFloors()
+		{
+			return noFloors;
+		}
+
+		@Override
+		public int getCurrentFloor()
+		{
+			return liftFloor;
+		}
+
+		@Override
+		public boolean isGoingUp()
+		{
+			return goingUp;
+		}
+
+		@Override
+		public int getCapacity()
+		{
+			return capacity;
+		}
+
+		@Override
+		public int getNoPeopleOnLift()
+		{
+			return noInLift;
+		}
+
+		@Override
+		public boolean isLiftFull()
+		{
+			return noInLift == capacity;
+		}
+
+		@Override
+		public int getNumDifferentCalls()
+		{
+			return noButtonsPressed;
+		}
+
+		/**
+		 * Getter for the time of the lift's departure, which is measured in lift movements.
+		 * @return			The time
+		 */
+		@Override
+		public long getNoMovements()
+		{
+			return time;
+		}
+
+		@Override
+		public boolean isCalling(int floorNum, int calls)
+		{
+			return ((calls & UP_CALLS) != 0 && callingUp[floorNum])
+					|| ((calls & DOWN_CALLS) != 0 && callingDown[floorNum])
+					|| ((calls & BUTTONS) != 0 && isCallingFloor(floorNum));
+		}
+	}
+}
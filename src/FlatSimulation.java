@@ -0,0 +1,828 @@
+import java.util.Arrays;
+
+/**
+ * FlatSimulation object - An alternative engine for running a simulation, where the state of the people,
+ * floors and lift is held in flat arrays of primitives instead of a graph of {@link Person}, {@link Floor}
+ * and {@link Lift} objects. Person i of the simulation is described by the i'th entry of every array about
+ * people, each floor holds two queues of people (those going up and those going down) as fixed arrays of
+ * person numbers with a moving head, and the lift holds a small buffer of person numbers.
+ * The engine runs the same lift control systems as {@link Simulation}, including any {@link LiftController},
+ * and produces the same routes and wait times, but allocates nothing per step, so it is suited to large sweeps
+ * of simulations. Results are not saved to file.
+ * 
+ * @author Annie Talbot
+ */
+public class FlatSimulation 
+{
+	/**
+	 * Status of a person waiting on their start floor.
+	 */
+	static final byte WAITING = 0;
+	/**
+	 * Status of a person inside the lift.
+	 */
+	static final byte ON_LIFT = 1;
+	/**
+	 * Status of a person who has been delivered.
+	 */
+	static final byte DELIVERED = 2;
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The number of people in the simulation.
+	 */
+	private final int noPeople;
+	/**
+	 * The maximum number of people in the lift.
+	 */
+	private final int capacity;
+	/**
+	 * The floor each person starts on.
+	 */
+	private final int[] startFloor;
+	/**
+	 * The floor each person wants to go to.
+	 */
+	private final int[] endFloor;
+	/**
+	 * For each floor, the people who start there and want to go upwards, in ID order.
+	 */
+	private final int[][] upQueue;
+	/**
+	 * For each floor, the people who start there and want to go downwards, in ID order.
+	 */
+	private final int[][] downQueue;
+	/**
+	 * The time (in lift movements) that it took for the lift to deliver each person.
+	 */
+	private final int[] waitTime;
+	/**
+	 * Whether each person is waiting, on the lift or delivered.
+	 */
+	private final byte[] status;
+	/**
+	 * For each floor, the position in its up queue of the next person to board.
+	 */
+	private final int[] upHead;
+	/**
+	 * For each floor, the position in its down queue of the next person to board.
+	 */
+	private final int[] downHead;
+	/**
+	 * The up button on each floor.
+	 */
+	private final boolean[] callingUp;
+	/**
+	 * The down button on each floor.
+	 */
+	private final boolean[] callingDown;
+	/**
+	 * The people in the lift. Only the first {@link FlatSimulation#noInLift} entries are used.
+	 */
+	private final int[] liftOccupants;
+	/**
+	 * The number of people in the lift.
+	 */
+	private int noInLift;
+	/**
+	 * For each floor, the number of people in the lift going there. A lift button is pressed when this 
+	 * is above zero.
+	 */
+	private final int[] destCount;
+	/**
+	 * The number of buttons currently pressed in the lift.
+	 */
+	private int noButtonsPressed;
+	/**
+	 * The floor the lift is currently on.
+	 */
+	private int liftFloor;
+	/**
+	 * The number of movements the lift has made since the beginning of the simulation.
+	 */
+	private int noMovements;
+	/**
+	 * The direction the lift is travelling. True = upwards, False = downwards.
+	 */
+	private boolean goingUp;
+	/**
+	 * The number of people delivered so far.
+	 */
+	private int noDelivered;
+	/**
+	 * The sum of the wait times of everyone delivered so far.
+	 */
+	private int totalWait;
+	/**
+	 * The combined wait time of the mechanical system, which the optimum search starts from, or -1 if the
+	 * mechanical system has not been run yet.
+	 */
+	private long mechanicalWaitTime = -1;
+	/**
+	 * During the optimum search, the largest combined wait time a route may have and still be worth exploring.
+	 */
+	private int bound;
+	/**
+	 * During the optimum search, the best complete route found so far.
+	 */
+	private Route bestRoute;
+	/**
+	 * During the optimum search, the states already explored.
+	 */
+	private TranspositionTable table;
+	/**
+	 * During the optimum search, reused to encode the current state when checking the transposition table.
+	 */
+	private SearchState probe;
+	/**
+	 * During the optimum search, the values saved before the step taken from each depth of the route.
+	 */
+	private Frame[] frames;
+	/**
+	 * The number of routes the last optimum search abandoned for growing abnormally long.
+	 */
+	private long abandonedRoutes;
+	
+	/**
+	 * Constructor that copies the people of a simulation into flat arrays and sets up the building 
+	 * and lift.
+	 * 
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param people		The people in the simulation, with IDs matching their place in the array
+	 */
+	FlatSimulation(int noFloors, int capacity, Person[] people)
+	{
+		this(noFloors, capacity, people.length);
+		for (int i = 0; i < noPeople; i++)
+		{
+			startFloor[i] = people[i].getStartFloor();
+			endFloor[i] = people[i].getEndFloor();
+		}
+		fillQueues();
+	}
+	
+	/**
+	 * Constructor that sets up the building and lift from the starting state of a simulation, without creating
+	 * any people objects.
+	 * 
+	 * @param snapshot		The starting state of the simulation
+	 */
+	FlatSimulation(SimulationSnapshot snapshot)
+	{
+		this(snapshot.getNoFloors(), snapshot.getCapacity(), snapshot.getNoPeople());
+		for (int i = 0; i < noPeople; i++)
+		{
+			startFloor[i] = snapshot.getStartFloor(i);
+			endFloor[i] = snapshot.getEndFloor(i);
+		}
+		fillQueues();
+	}
+	
+	/**
+	 * Constructor that allocates the arrays of a simulation, which are filled in by the public constructors.
+	 * 
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param noPeople		The number of people in the simulation
+	 */
+	private FlatSimulation(int noFloors, int capacity, int noPeople)
+	{
+		this.noFloors = noFloors;
+		this.noPeople = noPeople;
+		this.capacity = capacity;
+		startFloor = new int[noPeople];
+		endFloor = new int[noPeople];
+		upQueue = new int[noFloors][];
+		downQueue = new int[noFloors][];
+		waitTime = new int[noPeople];
+		status = new byte[noPeople];
+		upHead = new int[noFloors];
+		downHead = new int[noFloors];
+		callingUp = new boolean[noFloors];
+		callingDown = new boolean[noFloors];
+		liftOccupants = new int[capacity];
+		destCount = new int[noFloors];
+	}
+	
+	/**
+	 * Puts every person in the queue of their start floor for the direction they are travelling, in order of
+	 * their number, and sets up the building and lift for the first run.
+	 */
+	private void fillQueues()
+	{
+		int[] noUp = new int[noFloors];
+		int[] noDown = new int[noFloors];
+		for (int i = 0; i < noPeople; i++)
+		{
+			if (endFloor[i] > startFloor[i])
+			{
+				noUp[startFloor[i]]++;
+			}
+			else
+			{
+				noDown[startFloor[i]]++;
+			}
+		}
+		for (int f = 0; f < noFloors; f++)
+		{
+			upQueue[f] = new int[noUp[f]];
+			downQueue[f] = new int[noDown[f]];
+			noUp[f] = 0;
+			noDown[f] = 0;
+		}
+		for (int i = 0; i < noPeople; i++)
+		{
+			int f = startFloor[i];
+			if (endFloor[i] > f)
+			{
+				upQueue[f][noUp[f]++] = i;
+			}
+			else
+			{
+				downQueue[f][noDown[f]++] = i;
+			}
+		}
+		reset();
+	}
+	
+	/**
+	 * Puts every person back on their start floor and the lift back on the ground floor, ready for a new run.
+	 */
+	public void reset()
+	{
+		Arrays.fill(waitTime, 0);
+		Arrays.fill(status, WAITING);
+		Arrays.fill(upHead, 0);
+		Arrays.fill(downHead, 0);
+		Arrays.fill(destCount, 0);
+		for (int f = 0; f < noFloors; f++)
+		{
+			updateButtons(f);
+		}
+		noInLift = 0;
+		noButtonsPressed = 0;
+		liftFloor = 0;
+		noMovements = 0;
+		goingUp = true;
+		noDelivered = 0;
+		totalWait = 0;
+	}
+	
+	/** Runs a simulation using mechanical lift control - the lift moves all the way up and down the building,
+	 * stopping to pick up/ drop off people and only changing direction if the lift reaches the top or 
+	 * bottom floor. See {@link MechanicalController}.
+	 * 
+	 * @return		The Route that contains the path taken by the lift during the simulation
+	 */
+	public Route runMechanicalSystem()
+	{
+		Route route = runController(new MechanicalController());
+		mechanicalWaitTime = route.getTotalWaitTimes();
+		return route;
+	}
+	
+	/**
+	 * Advanced lift movement algorithm - see {@link AdvancedController}.
+	 * 
+	 * @return		The route that the lift took during this simulation
+	 */
+	public Route runAdvancedSystem() 
+	{
+		return runController(new AdvancedController());
+	}
+	
+	/**
+	 * Runs a simulation with the lift controlled by the controller given, in the same way as 
+	 * {@link Simulation#runController(LiftController, String)}. The controller sees the flat arrays through a
+	 * {@link BuildingView} of this simulation.
+	 * 
+	 * @param controller		The controller, which has not been used by another simulation
+	 * @return					The Route that contains the path taken by the lift during the simulation
+	 */
+	public Route runController(LiftController controller)
+	{
+		reset();
+		BuildingView view = new View();
+		Route route = new Route(LiftEntryDecision.DirectionDependent);
+		while (noDelivered < noPeople)
+		{
+			// Move people onto the lift
+			board(LiftEntryDecision.DirectionDependent);
+			
+			// Calculate which floor is next
+			int nextFloor = controller.nextFloor(view);
+			goingUp = controller.isGoingUp();
+			
+			// Move lift, unless it has only turned around
+			if (nextFloor != -1)
+			{
+				move(nextFloor);
+				route.addToPath(nextFloor);
+			}
+		}
+		finishRoute(route);
+		return route;
+	}
+	
+	/** Runs the simulation using the Optimum lift control system - the same branch and bound search as 
+	 * {@link OptimumSearch}, with a {@link TranspositionTable}, run on the flat arrays. Each step is reverted
+	 * using a frame of saved values for its depth, so the search allocates nothing per step.
+	 * 
+	 * @return The best (optimum) route that the lift could take for this simulation
+	 */
+	public Route runOptimumSystem()
+	{
+		// Any route is a valid starting bound, so one too long for the search is capped
+		// The result of the mechanical system is reused if it has already been run
+		int maxTime = (int) Math.min(Integer.MAX_VALUE, mechanicalWaitTime != -1 ? mechanicalWaitTime
+				: runMechanicalSystem().getTotalWaitTimes());
+		reset();
+		board(LiftEntryDecision.DirectionIndependent);
+		
+		bound = maxTime;
+		bestRoute = null;
+		abandonedRoutes = 0;
+		table = new TranspositionTable(TranspositionTable.DEFAULT_CAPACITY);
+		probe = new SearchState(noPeople);
+		frames = new Frame[noPeople * 2 + 2];
+		for (int i = 0; i < frames.length; i++)
+		{
+			frames[i] = new Frame(capacity);
+		}
+		calculateOptimumRoute(new Route(LiftEntryDecision.DirectionIndependent));
+		table = null;
+		frames = null;
+		
+		if (bestRoute == null)
+		{
+			return new Route(LiftEntryDecision.DirectionIndependent);
+		}
+		// Run best path found
+		for (int i = 1; i < bestRoute.getPathSize(); i++)
+		{
+			goingUp = bestRoute.getPathValue(i) > liftFloor;
+			board(LiftEntryDecision.DirectionIndependent);
+			move(bestRoute.getPathValue(i));
+		}
+		return bestRoute;
+	}
+	
+	/**
+	 * Recursion algorithm that finds the best path from the current route by comparing every option for the next
+	 * floor to go to - see {@link OptimumSearch}. The state and route are left as they were once this returns.
+	 * 
+	 * @param route			The route taken to reach the current state
+	 */
+	private void calculateOptimumRoute(Route route)
+	{
+		// If the path is abnormally long then something has gone wrong, so exit this recursion
+		if (route.getPathSize() > noPeople * 2)
+		{
+			abandonedRoutes++;
+			return;
+		}
+		Frame frame = frames[route.getPathSize() - 1];
+		int currentFloor = liftFloor;
+		boardSaved(frame);
+		for (int i = 0; i < noFloors; i++)
+		{
+			// Check if this floor is being called
+			if ((callingDown[i] || callingUp[i] || isCallingFloor(i)) && currentFloor != i)
+			{
+				moveSaved(i, frame);
+				route.addToPath(i);
+				finishRoute(route);
+				// Only continue if this route could still beat the best route found so far
+				if (totalWait + lowerBound() <= bound)
+				{
+					if (route.isCompleteRoute())
+					{
+						// Routes are explored in floor order, so any later route must be strictly better
+						bound = totalWait - 1;
+						bestRoute = route.clone();
+					}
+					else if (!table.isCovered(probe.encode(status, liftFloor, goingUp, noMovements), totalWait, route.getPathSize(), false))
+					{
+						calculateOptimumRoute(route);
+					}
+				}
+				// Reset current route and state
+				route.removeLastFloor();
+				route.setCompleteRoute(false);
+				undoMove(frame);
+			}
+		}
+		undoBoard(frame);
+	}
+	
+	/**
+	 * Calculates a lower bound on the wait time that will be added by the people who have not yet been 
+	 * delivered - see {@link OptimumSearch#lowerBound(Person[], Lift)}.
+	 * 
+	 * @return				The minimum amount of wait time still to be added
+	 */
+	private int lowerBound()
+	{
+		int total = 0;
+		for (int p = 0; p < noPeople; p++)
+		{
+			if (status[p] == ON_LIFT)
+			{
+				total += noMovements + Math.abs(liftFloor - endFloor[p]) - Math.abs(startFloor[p] - endFloor[p]);
+			}
+			else if (status[p] == WAITING)
+			{
+				total += noMovements;
+				if (startFloor[p] != liftFloor)
+				{
+					total += Math.abs(liftFloor - startFloor[p]) + 1;
+				}
+			}
+		}
+		return total;
+	}
+	
+	/**
+	 * Moves people waiting on the lift's current floor onto the lift, until the lift is full or nobody 
+	 * left can board. "DirectionDependent" only boards people travelling in the lift's direction, 
+	 * "DirectionIndependent" boards people in ID order regardless of direction. The floor's buttons are
+	 * then turned off.
+	 * 
+	 * @param liftType		The way in which to select people that will be moved into the lift.
+	 */
+	private void board(LiftEntryDecision liftType)
+	{
+		int f = liftFloor;
+		int[] up = upQueue[f];
+		int[] down = downQueue[f];
+		while (noInLift < capacity)
+		{
+			boolean upLeft = upHead[f] < up.length;
+			boolean downLeft = downHead[f] < down.length;
+			int p;
+			if (liftType == LiftEntryDecision.DirectionIndependent)
+			{
+				if (upLeft && (!downLeft || up[upHead[f]] < down[downHead[f]]))
+				{
+					p = up[upHead[f]++];
+				}
+				else if (downLeft)
+				{
+					p = down[downHead[f]++];
+				}
+				else
+				{
+					break;
+				}
+			}
+			else if (goingUp && upLeft)
+			{
+				p = up[upHead[f]++];
+			}
+			else if (!goingUp && downLeft)
+			{
+				p = down[downHead[f]++];
+			}
+			else
+			{
+				break;
+			}
+			status[p] = ON_LIFT;
+			liftOccupants[noInLift++] = p;
+			if (destCount[endFloor[p]]++ == 0)
+			{
+				noButtonsPressed++;
+			}
+		}
+		callingUp[f] = false;
+		callingDown[f] = false;
+	}
+	
+	/**
+	 * Moves the lift to the next floor, delivers anyone in the lift who has reached their destination, 
+	 * updates the direction at the top or bottom of the building and resets the buttons of the floor left.
+	 * 
+	 * @param nextFloor		The floor that the lift is travelling to
+	 */
+	private void move(int nextFloor)
+	{
+		int prevFloor = liftFloor;
+		// add movements, plus 1 for time taken to stop
+		noMovements += Math.abs(nextFloor - liftFloor) + 1;
+		liftFloor = nextFloor;
+		
+		//drop off people in lift
+		if (destCount[liftFloor] > 0)
+		{
+			for (int k = noInLift - 1; k >= 0; k--)
+			{
+				int p = liftOccupants[k];
+				if (endFloor[p] == liftFloor)
+				{
+					waitTime[p] = noMovements - (Math.abs(startFloor[p] - endFloor[p]) + 1);
+					totalWait += waitTime[p];
+					status[p] = DELIVERED;
+					noDelivered++;
+					liftOccupants[k] = liftOccupants[--noInLift];
+				}
+			}
+			destCount[liftFloor] = 0;
+			noButtonsPressed--;
+		}
+		
+		// update direction
+		if (liftFloor == noFloors - 1) {goingUp = false;}
+		else if (liftFloor == 0) {goingUp = true;}
+		
+		updateButtons(prevFloor);
+	}
+	
+	/**
+	 * Boards people in the same way as {@link FlatSimulation#board(LiftEntryDecision)} with "DirectionIndependent",
+	 * saving what is needed to revert it in the frame given.
+	 * 
+	 * @param frame			The frame to save into
+	 */
+	private void boardSaved(Frame frame)
+	{
+		frame.upHead = upHead[liftFloor];
+		frame.downHead = downHead[liftFloor];
+		frame.callingUp = callingUp[liftFloor];
+		frame.callingDown = callingDown[liftFloor];
+		frame.noInLift = noInLift;
+		frame.noButtonsPressed = noButtonsPressed;
+		board(LiftEntryDecision.DirectionIndependent);
+	}
+	
+	/**
+	 * Reverts boarding saved in the frame given. Boarding only adds people to the end of the lift, so 
+	 * everyone after the saved lift size is put back.
+	 * 
+	 * @param frame			The frame saved into
+	 */
+	private void undoBoard(Frame frame)
+	{
+		for (int k = frame.noInLift; k < noInLift; k++)
+		{
+			int p = liftOccupants[k];
+			status[p] = WAITING;
+			destCount[endFloor[p]]--;
+		}
+		noInLift = frame.noInLift;
+		noButtonsPressed = frame.noButtonsPressed;
+		upHead[liftFloor] = frame.upHead;
+		downHead[liftFloor] = frame.downHead;
+		callingUp[liftFloor] = frame.callingUp;
+		callingDown[liftFloor] = frame.callingDown;
+	}
+	
+	/**
+	 * Moves the lift in the same way as {@link FlatSimulation#move(int)}, saving what is needed to revert 
+	 * it in the frame given.
+	 * 
+	 * @param nextFloor		The floor that the lift is travelling to
+	 * @param frame			The frame to save into
+	 */
+	private void moveSaved(int nextFloor, Frame frame)
+	{
+		frame.liftFloor = liftFloor;
+		frame.noMovements = noMovements;
+		frame.goingUp = goingUp;
+		frame.prevCallingUp = callingUp[liftFloor];
+		frame.prevCallingDown = callingDown[liftFloor];
+		frame.noInLiftBeforeMove = noInLift;
+		System.arraycopy(liftOccupants, 0, frame.occupants, 0, noInLift);
+		frame.noDelivered = noDelivered;
+		frame.totalWait = totalWait;
+		frame.noButtonsPressedBeforeMove = noButtonsPressed;
+		move(nextFloor);
+	}
+	
+	/**
+	 * Reverts a movement saved in the frame given, putting everyone delivered back into the lift.
+	 * 
+	 * @param frame			The frame saved into
+	 */
+	private void undoMove(Frame frame)
+	{
+		int noReturned = 0;
+		for (int k = 0; k < frame.noInLiftBeforeMove; k++)
+		{
+			int p = frame.occupants[k];
+			liftOccupants[k] = p;
+			if (status[p] == DELIVERED)
+			{
+				status[p] = ON_LIFT;
+				waitTime[p] = 0;
+				noReturned++;
+			}
+		}
+		destCount[liftFloor] = noReturned;
+		noInLift = frame.noInLiftBeforeMove;
+		noDelivered = frame.noDelivered;
+		totalWait = frame.totalWait;
+		noButtonsPressed = frame.noButtonsPressedBeforeMove;
+		liftFloor = frame.liftFloor;
+		noMovements = frame.noMovements;
+		goingUp = frame.goingUp;
+		callingUp[liftFloor] = frame.prevCallingUp;
+		callingDown[liftFloor] = frame.prevCallingDown;
+	}
+	
+	/**
+	 * Sets the up and down calling buttons of a floor to whether anyone is still waiting to go that way.
+	 * 
+	 * @param f			The floor number
+	 */
+	private void updateButtons(int f)
+	{
+		callingUp[f] = upHead[f] < upQueue[f].length;
+		callingDown[f] = downHead[f] < downQueue[f].length;
+	}
+	
+	/**
+	 * Getter for whether a certain button in the lift has been pressed.
+	 * @param floorNum			The floor that the button represents
+	 * @return			True = the button has been pressed, False = it hasn't
+	 */
+	private boolean isCallingFloor(int floorNum)
+	{
+		return destCount[floorNum] > 0;
+	}
+	
+	/**
+	 * Sets the total wait time of a route, and whether it is complete, from the current state.
+	 * @param route			The route taken to reach the current state
+	 */
+	private void finishRoute(Route route)
+	{
+		route.setTotalWaitTimes(totalWait);
+		route.setCompleteRoute(noDelivered == noPeople);
+	}
+	
+	/**
+	 * Getter for the number of routes the last optimum search abandoned for growing abnormally long - see
+	 * {@link SearchStats#getAbandonedRoutes()}.
+	 * @return			The number of routes
+	 */
+	public long getAbandonedRoutes()
+	{
+		return abandonedRoutes;
+	}
+	
+	/**
+	 * Getter for the wait time of every person at the end of the last run, indexed by person ID.
+	 * @return			A copy of the wait times
+	 */
+	public int[] getWaitTimes()
+	{
+		return waitTime.clone();
+	}
+	
+	/**
+	 * The view of this simulation given to a {@link LiftController}.
+	 */
+	private class View implements BuildingView
+	{
+		@Override
+		public int getNoFloors()
+		{
+			return noFloors;
+		}
+		
+		@Override
+		public int getCurrentFloor()
+		{
+			return liftFloor;
+		}
+		
+		@Override
+		public boolean isGoingUp()
+		{
+			return goingUp;
+		}
+		
+		@Override
+		public int getCapacity()
+		{
+			return capacity;
+		}
+		
+		@Override
+		public int getNoPeopleOnLift()
+		{
+			return noInLift;
+		}
+		
+		@Override
+		public boolean isLiftFull()
+		{
+			return noInLift == capacity;
+		}
+		
+		@Override
+		public int getNumDifferentCalls()
+		{
+			return noButtonsPressed;
+		}
+		
+		@Override
+		public long getNoMovements()
+		{
+			return noMovements;
+		}
+		
+		@Override
+		public boolean isCalling(int floorNum, int calls)
+		{
+			return ((calls & UP_CALLS) != 0 && callingUp[floorNum])
+					|| ((calls & DOWN_CALLS) != 0 && callingDown[floorNum])
+					|| ((calls & BUTTONS) != 0 && isCallingFloor(floorNum));
+		}
+	}
+	
+	/**
+	 * The values saved before one step of the optimum search, so that the step can be reverted.
+	 */
+	private static class Frame
+	{
+		/**
+		 * The position in the up queue of the lift's floor of the next person to board, before boarding.
+		 */
+		int upHead;
+		/**
+		 * The position in the down queue of the lift's floor of the next person to board, before boarding.
+		 */
+		int downHead;
+		/**
+		 * The up button on the lift's floor before boarding.
+		 */
+		boolean callingUp;
+		/**
+		 * The down button on the lift's floor before boarding.
+		 */
+		boolean callingDown;
+		/**
+		 * The number of people in the lift before boarding.
+		 */
+		int noInLift;
+		/**
+		 * The number of buttons pressed in the lift before boarding.
+		 */
+		int noButtonsPressed;
+		/**
+		 * The floor the lift was on before moving.
+		 */
+		int liftFloor;
+		/**
+		 * The number of movements the lift had made before moving.
+		 */
+		int noMovements;
+		/**
+		 * The direction the lift was travelling in before moving.
+		 */
+		boolean goingUp;
+		/**
+		 * The up button on the floor the lift left.
+		 */
+		boolean prevCallingUp;
+		/**
+		 * The down button on the floor the lift left.
+		 */
+		boolean prevCallingDown;
+		/**
+		 * The number of people in the lift before moving.
+		 */
+		int noInLiftBeforeMove;
+		/**
+		 * The number of people delivered before moving.
+		 */
+		int noDelivered;
+		/**
+		 * The sum of the wait times of everyone delivered before moving.
+		 */
+		int totalWait;
+		/**
+		 * The number of buttons pressed in the lift before moving.
+		 */
+		int noButtonsPressedBeforeMove;
+		/**
+		 * The people in the lift before moving, in order. Only the first {@link Frame#noInLiftBeforeMove}
+		 * entries are used.
+		 */
+		int[] occupants;
+		
+		/**
+		 * Constructor for a frame with room for a full lift.
+		 *
+		 * @param capacity		The number of people the lift can hold
+		 */
+		Frame(int capacity)
+		{
+			occupants = new int[capacity];
+		}
+	}
+}
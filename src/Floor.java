@@ -1,5 +1,3 @@
-import java.util.LinkedList;
-
 /**
  * Floor object - The constructor assigns this floor a number and thus, a position within the simulation
  * building. The Floor can then be used to hold people waiting for the lift and to then move these people 
@@ -13,28 +11,44 @@ public class Floor implements Cloneable{
 	 */
 	private int floorNum;
 	/**
-	 * Represents an up button on this floor, so when the button is pressed (and this variable is true) it
-	 * means that at least one person on this floor is requesting for the lift to take them upwards.
+	 * Holds the up button of every floor in the building, so when this floor's button is pressed (and its
+	 * bit is set) it means that at least one person on this floor is requesting for the lift to take them
+	 * upwards. The register is shared by every floor of the building so that the calls can be searched
+	 * together.
+	 */
+	private final CallRegister upCalls;
+	/**
+	 * Holds the down button of every floor in the building, so when this floor's button is pressed (and its
+	 * bit is set) it means that at least one person on this floor is requesting for the lift to take them
+	 * downwards.
+	 */
+	private final CallRegister downCalls;
+	/**
+	 * The people waiting on this floor to travel upwards, in the order they arrived.
 	 */
-	private boolean callingUp;
+	private final WaitingQueue upQueue = new WaitingQueue();
 	/**
-	 * Represents a down button on this floor, so when the button is pressed (and this variable is true) it
-	 * means that at least one person on this floor is requesting for the lift to take them downwards.
+	 * The people waiting on this floor to travel downwards, in the order they arrived.
 	 */
-	private boolean callingDown;
+	private final WaitingQueue downQueue = new WaitingQueue();
 	/**
-	 * A list that holds every person currently waiting on this floor for the lift.
+	 * The number of people that have arrived on this floor, used to number each arrival so that the two
+	 * queues can be merged back into the order people arrived in.
 	 */
-	private LinkedList<Person> occupants = new LinkedList<Person>();
+	private int noArrivals = 0;
 	/**
-	 * The constructor ensures that the buttons are not active and assigns the object it's floor
-	 * number.
+	 * Constructor for a floor of a building whose buttons are held in the registers given, which are shared
+	 * with every other floor of the building.
 	 * @param floorNum		The value to set this object's floor number to
+	 * @param upCalls		The up buttons of the building
+	 * @param downCalls		The down buttons of the building
 	 */
-	Floor(int floorNum){
+	Floor(int floorNum, CallRegister upCalls, CallRegister downCalls){
+		this.floorNum = floorNum;
+		this.upCalls = upCalls;
+		this.downCalls = downCalls;
 		setCallingUp(false);
 		setCallingDown(false);
-		this.floorNum = floorNum;
 	}
 	/**
 	 * This function moves one people on this floor waiting for the lift onto the lift (as long as the lift
@@ -47,71 +61,110 @@ public class Floor implements Cloneable{
 	 */
 	public void movePeopleOntoLift(Lift lift, LiftEntryDecision liftType)
 	{
+		movePeopleOntoLift(lift, liftType, null);
+	}
+	
+	/**
+	 * Moves people on this floor onto the lift in the same way as {@link Floor#movePeopleOntoLift(Lift, LiftEntryDecision)},
+	 * logging every change in the record given so that it can be reverted with 
+	 * {@link Floor#undoMovePeopleOntoLift(Lift, MoveRecord)}.
+	 * 
+	 * @param lift			The lift to move people into.
+	 * @param liftType		The way in which to select people that will be moved into the lift.
+	 * @param record		The record to log the changes in, or null if they do not need to be reverted
+	 */
+	public void movePeopleOntoLift(Lift lift, LiftEntryDecision liftType, MoveRecord record)
+	{
+		if (record != null)
+		{
+			record.startBoarding(this);
+		}
 		while(!lift.isLiftFull() && this.getAmountPeopleWaiting() != 0)
 		{
-			Person personToRemove = null;
+			WaitingQueue queue = null;
 			if (liftType == LiftEntryDecision.DirectionIndependent)
 			{
-				for (Person p : occupants)
+				// Whoever arrived first out of the people at the front of each queue
+				if (downQueue.isEmpty() || (!upQueue.isEmpty() && upQueue.peekArrival() < downQueue.peekArrival()))
 				{
-					personToRemove = p;
-					break;
+					queue = upQueue;
+				}
+				else
+				{
+					queue = downQueue;
 				}
 			}
 			else if (liftType == LiftEntryDecision.DirectionDependent)
 			{
-				for (Person p : occupants)
-				{
-					if (lift.isGoingUp())
-					{
-						if (p.getEndFloor() > floorNum)
-						{
-							personToRemove = p;
-							break;
-						}
-					}
-					else
-					{
-						if (p.getEndFloor() < floorNum)
-						{
-							personToRemove = p;
-							break;
-						}
-					}
-				}
+				queue = lift.isGoingUp() ? upQueue : downQueue;
 			}
-			if (personToRemove == null) 
+			if (queue == null || queue.isEmpty()) 
 			{
 				break;
 			}
 			else
 			{
+				Person personToRemove = queue.peek();
+				if (record != null)
+				{
+					record.addBoarded(personToRemove, queue.peekArrival(), lift.isCallingFloor(personToRemove.getEndFloor()));
+				}
 				personToRemove.setOnLift(true);
-				occupants.remove(personToRemove);
+				queue.removeFirst();
 				lift.addPerson(personToRemove);
 			}
 		}
 		this.turnButtonsOff();
 	}
 	
+	/**
+	 * Reverts people moving from this floor onto the lift, putting everyone logged in the record back in 
+	 * their place on this floor and restoring the buttons.
+	 * 
+	 * @param lift			The lift the people were moved into
+	 * @param record		The record the changes were logged in
+	 */
+	public void undoMovePeopleOntoLift(Lift lift, MoveRecord record)
+	{
+		for (int k = record.getNoBoarded() - 1; k >= 0; k--)
+		{
+			Person p = record.getBoarded(k);
+			lift.removeLastPerson(p, record.getBoardedButton(k));
+			p.setOnLift(false);
+			queueFor(p).addFirst(p, record.getBoardedIndex(k));
+		}
+		setCallingUp(record.wasBoardingCallingUp());
+		setCallingDown(record.wasBoardingCallingDown());
+	}
+	
 	/**
 	 * Adds the specified person onto this floor and updates the floor's calling buttons
 	 * @param p		The person to be added to the floor
 	 */
 	public void addPerson(Person p)
 	{
-		occupants.add(p);
+		queueFor(p).addLast(p, noArrivals++);
 		if (p.getEndFloor() < floorNum) {setCallingDown(true);}
 		else if (p.getEndFloor() > floorNum) {setCallingUp(true);}
 	}
 	
+	/**
+	 * Gets the queue a person waits in on this floor, depending on the direction they are travelling.
+	 * @param p		The person
+	 * @return		The queue
+	 */
+	private WaitingQueue queueFor(Person p)
+	{
+		return p.getEndFloor() > floorNum ? upQueue : downQueue;
+	}
+	
 	/**
 	 * Getter for the calling up button of this floor
 	 * @return		True = floor is calling upwards
 	 * 				False = floor is not calling upwards
 	 */
 	public boolean isCallingUp() {
-		return callingUp;
+		return upCalls.get(floorNum);
 	}
 	
 	/**
@@ -120,7 +173,7 @@ public class Floor implements Cloneable{
 	 * 				False = button off
 	 */
 	public void setCallingUp(boolean upButton) {
-		this.callingUp = upButton;
+		upCalls.set(floorNum, upButton);
 	}
 	
 	/**
@@ -129,7 +182,7 @@ public class Floor implements Cloneable{
 	 * 				False = floor is not calling downwards
 	 */
 	public boolean isCallingDown() {
-		return callingDown;
+		return downCalls.get(floorNum);
 	}
 	
 	/**
@@ -138,15 +191,32 @@ public class Floor implements Cloneable{
 	 * 				False = button off
 	 */
 	public void setCallingDown(boolean downButton) {
-		this.callingDown = downButton;
+		downCalls.set(floorNum, downButton);
 	}
 	
 	/**
-	 * Getter for the number of people on this floor (the current size of the {@link Floor#occupants} list)
+	 * Getter for the up buttons of every floor in the building this floor is part of.
+	 * @return		The up buttons
+	 */
+	public CallRegister getUpCalls() {
+		return upCalls;
+	}
+	
+	/**
+	 * Getter for the down buttons of every floor in the building this floor is part of.
+	 * @return		The down buttons
+	 */
+	public CallRegister getDownCalls() {
+		return downCalls;
+	}
+	
+	/**
+	 * Getter for the number of people on this floor (the combined size of the {@link Floor#upQueue} and
+	 * {@link Floor#downQueue})
 	 * @return		The number of people on this floor
 	 */
 	public int getAmountPeopleWaiting() {
-		return occupants.size();
+		return upQueue.size() + downQueue.size();
 	}
 	
 	/**
@@ -159,41 +229,30 @@ public class Floor implements Cloneable{
 	}
 	
 	/**
-	 * Sets the up and down calling buttons to the correct values by cycling through every person
-	 * waiting on this lift.
+	 * Sets the up and down calling buttons to the correct values from whether anyone is waiting to travel
+	 * in each direction.
 	 */
 	public void updateButtons()
 	{
-		callingUp = false;
-		callingDown = false;
-		for (Person p: occupants)
-		{
-			if (p.getEndFloor() < floorNum) {setCallingDown(true);}
-			else if (p.getEndFloor() > floorNum) {setCallingUp(true);}
-		}
+		setCallingUp(!upQueue.isEmpty());
+		setCallingDown(!downQueue.isEmpty());
 	}
 	
 	/**
-	 * Makes a copy of this floor and places any people that were on the un-copied floor, onto the copied floor.
+	 * Makes a copy of this floor's buttons, with nobody waiting on it, as part of a copy of the building whose
+	 * buttons are held in the registers given. The people waiting can then be added in one pass over everyone
+	 * for the whole building, rather than one pass for each floor.
 	 * 
-	 * @param people		The list of people from which any person who was on the un-copied floor should be moved
-	 * 						to the new floor.
+	 * @param upCalls		The up buttons of the copied building
+	 * @param downCalls		The down buttons of the copied building
 	 * @return				The cloned floor
 	 */
-	public Floor clone(Person[] people)
-	{ 
-		Floor clonedFloor = new Floor(floorNum); 
-		clonedFloor.setCallingDown(callingDown);
-		clonedFloor.setCallingUp(callingUp);
-		for (Person p : people)   
-		{
-			if (p.getStartFloor() == floorNum && !p.isOnLift() && !p.isDelivered())
-			{
-				clonedFloor.addPerson(p);
-			}
-		}
-
-		return clonedFloor; 
+	public Floor cloneButtons(CallRegister upCalls, CallRegister downCalls)
+	{
+		Floor clonedFloor = new Floor(floorNum, upCalls, downCalls); 
+		clonedFloor.setCallingDown(isCallingDown());
+		clonedFloor.setCallingUp(isCallingUp());
+		return clonedFloor;
 	}
 
 	/**
@@ -204,4 +263,126 @@ public class Floor implements Cloneable{
 	public int getFloorNum() {
 		return floorNum;
 	} 
+	
+	/**
+	 * A first in first out queue of the people waiting on a floor to travel in one direction, stored in a
+	 * circular array alongside the number each person was given when they arrived on the floor. People can
+	 * also be put back at the front of the queue, so that boarding the lift can be reverted.
+	 */
+	private static final class WaitingQueue
+	{
+		/**
+		 * The people in the queue, starting from {@link WaitingQueue#head} and wrapping around.
+		 */
+		private Person[] people = new Person[4];
+		/**
+		 * The arrival number of each person in {@link WaitingQueue#people}.
+		 */
+		private int[] arrivals = new int[4];
+		/**
+		 * The index of the person at the front of the queue.
+		 */
+		private int head = 0;
+		/**
+		 * The number of people in the queue.
+		 */
+		private int size = 0;
+		
+		/**
+		 * Adds a person to the back of the queue.
+		 * @param p				The person
+		 * @param arrival		Their arrival number
+		 */
+		void addLast(Person p, int arrival)
+		{
+			ensureSpace();
+			int index = (head + size) & (people.length - 1);
+			people[index] = p;
+			arrivals[index] = arrival;
+			size++;
+		}
+		
+		/**
+		 * Puts a person back at the front of the queue.
+		 * @param p				The person
+		 * @param arrival		Their arrival number
+		 */
+		void addFirst(Person p, int arrival)
+		{
+			ensureSpace();
+			head = (head - 1) & (people.length - 1);
+			people[head] = p;
+			arrivals[head] = arrival;
+			size++;
+		}
+		
+		/**
+		 * Getter for the person at the front of the queue.
+		 * @return		The person
+		 */
+		Person peek()
+		{
+			return people[head];
+		}
+		
+		/**
+		 * Getter for the arrival number of the person at the front of the queue.
+		 * @return		The arrival number
+		 */
+		int peekArrival()
+		{
+			return arrivals[head];
+		}
+		
+		/**
+		 * Removes the person at the front of the queue.
+		 */
+		void removeFirst()
+		{
+			people[head] = null;
+			head = (head + 1) & (people.length - 1);
+			size--;
+		}
+		
+		/**
+		 * Getter for the number of people in the queue.
+		 * @return		The number of people
+		 */
+		int size()
+		{
+			return size;
+		}
+		
+		/**
+		 * Checks whether anyone is in the queue.
+		 * @return		True = nobody is waiting
+		 */
+		boolean isEmpty()
+		{
+			return size == 0;
+		}
+		
+		/**
+		 * Doubles the size of the arrays if they are full, keeping the length a power of 2 so that indexes
+		 * can wrap around with a mask.
+		 */
+		private void ensureSpace()
+		{
+			if (size < people.length)
+			{
+				return;
+			}
+			Person[] newPeople = new Person[people.length * 2];
+			int[] newArrivals = new int[people.length * 2];
+			for (int i = 0; i < size; i++)
+			{
+				int index = (head + i) & (people.length - 1);
+				newPeople[i] = people[index];
+				newArrivals[i] = arrivals[index];
+			}
+			people = newPeople;
+			arrivals = newArrivals;
+			head = 0;
+		}
+	}
 }
@@ -0,0 +1,115 @@
+/**
+ * FloorBuildingView object - The {@link BuildingView} of a building made of {@link Floor} objects and its
+ * {@link Lift}, as run by {@link Simulation} and {@link StreamingSimulation}. The calls made on every floor and the
+ * buttons pressed in the lift are searched a whole word of floors at a time (see {@link CallRegister}).
+ *
+ * @author Annie Talbot
+ */
+public final class FloorBuildingView implements BuildingView
+{
+	/**
+	 * The lift being viewed.
+	 */
+	private final Lift lift;
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The up calls of every floor of the building.
+	 */
+	private final CallRegister upCalls;
+	/**
+	 * The down calls of every floor of the building.
+	 */
+	private final CallRegister downCalls;
+	/**
+	 * A register with no calls, searched in place of a kind of call that was not asked for.
+	 */
+	private final CallRegister noCalls;
+
+	/**
+	 * Constructor for a view of the building and lift given.
+	 *
+	 * @param floors		The building, whose floors all share the same call registers
+	 * @param lift			The lift
+	 */
+	FloorBuildingView(Floor[] floors, Lift lift)
+	{
+		this.lift = lift;
+		this.noFloors = floors.length;
+		this.upCalls = floors[0].getUpCalls();
+		this.downCalls = floors[0].getDownCalls();
+		this.noCalls = new CallRegister(floors.length);
+	}
+
+	@Override
+	public int getNoFloors()
+	{
+		return noFloors;
+	}
+
+	@Override
+	public int getCurrentFloor()
+	{
+		return lift.getCurrentFloor();
+	}
+
+	@Override
+	public boolean isGoingUp()
+	{
+		return lift.isGoingUp();
+	}
+
+	@Override
+	public int getCapacity()
+	{
+		return lift.getCapacity();
+	}
+
+	@Override
+	public int getNoPeopleOnLift()
+	{
+		return lift.getNoPeopleOnLift();
+	}
+
+	@Override
+	public boolean isLiftFull()
+	{
+		return lift.isLiftFull();
+	}
+
+	@Override
+	public int getNumDifferentCalls()
+	{
+		return lift.getNumDifferentCalls();
+	}
+
+	@Override
+	public long getNoMovements()
+	{
+		return lift.getNoMovements();
+	}
+
+	@Override
+	public boolean isCalling(int floorNum, int calls)
+	{
+		return ((calls & UP_CALLS) != 0 && upCalls.get(floorNum))
+				|| ((calls & DOWN_CALLS) != 0 && downCalls.get(floorNum))
+				|| ((calls & BUTTONS) != 0 && lift.isCallingFloor(floorNum));
+	}
+
+	@Override
+	public int nextCall(int from, int calls)
+	{
+		return CallRegister.nextSetBit(from, (calls & UP_CALLS) != 0 ? upCalls : noCalls,
+				(calls & DOWN_CALLS) != 0 ? downCalls : noCalls, (calls & BUTTONS) != 0 ? lift.getButtons() : noCalls);
+	}
+
+	@Override
+	public int previousCall(int from, int calls)
+	{
+		return CallRegister.previousSetBit(from, (calls & UP_CALLS) != 0 ? upCalls : noCalls,
+				(calls & DOWN_CALLS) != 0 ? downCalls : noCalls, (calls & BUTTONS) != 0 ? lift.getButtons() : noCalls);
+	}
+}
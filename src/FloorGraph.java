@@ -118,16 +118,31 @@ public class FloorGraph
 	 */
 	private Map<Integer, Integer> readFiles(int noFloors, String system)
 	{
+		Map<Integer, Long> totals = new HashMap<>();
 		Map<Integer, Integer> noEntries = new HashMap<>();
 		Map<Integer, Integer> sortedAverages = new HashMap<>();
 		BufferedReader reader;
 		File f;
 		int fileNumber;
-		int noPeople = 1;
-		while (true) {
-			noPeople ++;
+		// Every number of people that has been simulated is listed, however large, rather than trying each number in turn
+		File[] dirs = new File("SimulationData/" + noFloors).listFiles(File::isDirectory);
+		if (dirs == null)
+		{
+			return sortedAverages;
+		}
+		for (File dir : dirs)
+		{
+			int noPeople;
+			try
+			{
+				noPeople = Integer.parseInt(dir.getName());
+			}
+			catch (NumberFormatException e)
+			{
+				continue;
+			}
 			fileNumber = 0;
-			f = new File("SimulationData/" + noFloors + "/" + noPeople);
+			f = dir;
 			if (f.exists())
 			{
 				while (true)
@@ -138,24 +153,16 @@ public class FloorGraph
 						f = new File("SimulationData/" + noFloors + "/" + noPeople + "/" + system + "/simulation" + fileNumber + ".txt");
 						reader = new BufferedReader(new FileReader(f));
 						String line = reader.readLine();
-						while (line != null || line == "")
+						while (line != null)
 						{
-							int time = Integer.parseInt(line);
-							if (sortedAverages.containsKey(noPeople))
-							{
-								noEntries.put(noPeople, noEntries.get(noPeople) + 1);
-								sortedAverages.replace(noPeople, ((sortedAverages.get(noPeople)*(noEntries.get(noPeople) - 1)) + time) / noEntries.get(noPeople));
-							}
-							else
-							{
-								sortedAverages.put(noPeople, time);
-								noEntries.put(noPeople, 1);
-							}
+							// Totals are kept rather than a running average, so that large wait times and many entries
+							// neither overflow nor lose precision
+							totals.merge(noPeople, Long.parseLong(line), Long::sum);
+							noEntries.merge(noPeople, 1, Integer::sum);
 							// read next line
 							line = reader.readLine();
 						}
 						reader.close();
-						fileNumber++;
 					}
 					catch (IOException e) 
 					{				
@@ -163,13 +170,8 @@ public class FloorGraph
 					}
 				}
 			}
-			else
-			{
-				if (noPeople >= 50) 
-				{ 
-					return sortedAverages;
-				}	
-			}
 		}
+		totals.forEach((key, total) -> sortedAverages.put(key, (int) (total / noEntries.get(key))));
+		return sortedAverages;
 	}
 }
@@ -50,9 +50,11 @@ public class Handler
 		this.sim = sim;
 		this.route = route;
 		this.people = people;
+		CallRegister upCalls = new CallRegister(floors.length);
+		CallRegister downCalls = new CallRegister(floors.length);
 		for (int i = 0; i < floors.length; i++)
 		{
-			this.floors[i] = new VisualFloor(floors[i].getFloorNum(), renderDistance);
+			this.floors[i] = new VisualFloor(floors[i].getFloorNum(), upCalls, downCalls, renderDistance);
 		}
 		this.lift = new VisualLift(this.floors, floors.length, lift.getCapacity(), renderDistance, route);
 		
@@ -104,7 +106,8 @@ public class Handler
 	public void render(Graphics g)
 	{
 		g.drawString("Route Taken: ", 690, 30);
-		g.drawString(route.getPath().toString(), 700 - (4*route.getPath().toString().length())/2, 60);		
+		String path = route.getPath().toString();
+		g.drawString(path, 700 - (4*path.length())/2, 60);		
 		g.drawString("No. People Delivered:", 650, 110);
 		int deliveredPeople = 0;
 		for (Person p : people)
@@ -116,7 +119,7 @@ public class Handler
 		}
 		g.drawString(deliveredPeople + " / " + people.length, 720, 140);
 		g.drawString("Total Wait Time of Route:", 635, 170);
-		g.drawString(Integer.toString(route.getTotalWaitTimes()), 730, 200);
+		g.drawString(Long.toString(route.getTotalWaitTimes()), 730, 200);
 		
 		// Render lift and floors
 		lift.render(g);
@@ -0,0 +1,127 @@
+/**
+ * LargeBuildingBenchmark object - Runs the mechanical and advanced lift control systems without the GUI on a
+ * building far larger than can be visualised, 10,000 floors and 1,000,000 people by default, reporting how
+ * long each system took and the heap used. Routes only keep their last floor and nothing is saved to
+ * 'SimulationData', so the memory used depends on the number of people and floors rather than on how many
+ * times the lift stops. Run with a bounded heap (for example -Xmx256m) to check that it stays bounded.
+ * With -stream, the people instead arrive over time with the average gap given (in lift movements) and are
+ * run through a {@link StreamingSimulation}, so only the people in the building at once are held.
+ *
+ * Usage: java LargeBuildingBenchmark [noFloors] [noPeople] [-seed n] [-capacity n] [-stream meanGap]
+ *
+ * @author Annie Talbot
+ */
+public class LargeBuildingBenchmark
+{
+	/**
+	 * The number of floors in the benchmark building when none is given.
+	 */
+	static final int DEFAULT_FLOORS = 10000;
+	/**
+	 * The number of people in the benchmark building when none is given.
+	 */
+	static final int DEFAULT_PEOPLE = 1000000;
+
+	/**
+	 * Runs the benchmark from the command line - see the usage above.
+	 * @param args		The command line arguments
+	 */
+	public static void main(String[] args)
+	{
+		int noFloors = DEFAULT_FLOORS;
+		int noPeople = DEFAULT_PEOPLE;
+		long seed = 1;
+		int capacity = Simulation.DEFAULT_CAPACITY;
+		Double meanGap = null;
+		int noPositional = 0;
+		for (int i = 0; i < args.length; i++)
+		{
+			switch (args[i])
+			{
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-capacity":
+					capacity = Integer.parseInt(args[++i]);
+					break;
+				case "-stream":
+					meanGap = Double.parseDouble(args[++i]);
+					break;
+				default:
+					if (noPositional == 0)
+					{
+						noFloors = Integer.parseInt(args[i]);
+					}
+					else if (noPositional == 1)
+					{
+						noPeople = Integer.parseInt(args[i]);
+					}
+					else
+					{
+						throw new IllegalArgumentException("Unknown option: " + args[i]);
+					}
+					noPositional++;
+			}
+		}
+
+		if (meanGap != null)
+		{
+			runStreaming(noFloors, noPeople, seed, capacity, meanGap);
+			return;
+		}
+		long start = System.nanoTime();
+		Simulation sim = new Simulation(noFloors, noPeople, new DiscreteDistribution(noFloors), seed, capacity);
+		sim.setKeepPaths(false);
+		sim.setSaveResults(false);
+		System.out.println("Floors: " + noFloors + ", People: " + noPeople + ", Capacity: " + capacity + ", Seed: " + seed);
+		System.out.println("Set up: " + (System.nanoTime() - start) / 1000000 + "ms, Heap: " + usedHeap() + "MB");
+
+		for (LiftSystem system : new LiftSystem[] {LiftSystem.Mechanical, LiftSystem.Advanced})
+		{
+			start = System.nanoTime();
+			Route route = sim.runSystem(system);
+			long time = (System.nanoTime() - start) / 1000000;
+			System.out.println(system + ": " + time + "ms, Stops: " + (route.getPathSize() - 1) + ", Total wait time: "
+					+ route.getTotalWaitTimes() + ", Average: " + String.format("%.2f", (double) route.getTotalWaitTimes() / noPeople)
+					+ ", Complete: " + route.isCompleteRoute() + ", Heap: " + usedHeap() + "MB");
+		}
+		System.out.println("Max heap: " + Runtime.getRuntime().maxMemory() / (1024 * 1024) + "MB");
+	}
+
+	/**
+	 * Runs the mechanical and advanced systems on people generated as they arrive, each system on the same people.
+	 * @param noFloors		The number of floors in the building
+	 * @param noPeople		The number of people that arrive
+	 * @param seed			The seed used to generate the people
+	 * @param capacity		The maximum number of people in the lift
+	 * @param meanGap		The average time in lift movements between arrivals
+	 */
+	private static void runStreaming(int noFloors, int noPeople, long seed, int capacity, double meanGap)
+	{
+		System.out.println("Floors: " + noFloors + ", People: " + noPeople + ", Capacity: " + capacity + ", Seed: " + seed
+				+ ", Mean gap: " + meanGap);
+		DiscreteDistribution pDist = new DiscreteDistribution(noFloors);
+		for (LiftSystem system : new LiftSystem[] {LiftSystem.Mechanical, LiftSystem.Advanced})
+		{
+			long start = System.nanoTime();
+			StreamingSimulation sim = new StreamingSimulation(noFloors, capacity,
+					new PersonStream(noFloors, noPeople, pDist, seed, meanGap));
+			StreamResult result = sim.run(system);
+			long time = (System.nanoTime() - start) / 1000000;
+			System.out.println(system + ": " + time + "ms, " + result.print() + ", Heap: " + usedHeap() + "MB");
+		}
+		System.out.println("Max heap: " + Runtime.getRuntime().maxMemory() / (1024 * 1024) + "MB");
+	}
+
+	/**
+	 * Gets the heap currently in use, after asking for a garbage collection so that only what is still
+	 * reachable is counted.
+	 * @return			The heap in use in megabytes
+	 */
+	private static long usedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+	}
+}
@@ -1,4 +1,4 @@
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 /**
  * Lift object - Part of the simulation, this object represents a lift to be placed in a building
@@ -15,11 +15,29 @@ public class Lift
 	/**
 	 * The buttons inside the lift that show where people inside the lift want to go.
 	 */
-	private boolean[] buttons;
+	private CallRegister buttons;
 	/**
-	 * The list of people inside the lift.
+	 * The people inside the lift, each in one of the lift's places (a place can be empty).
 	 */
-	private LinkedList<Person> occupants = new LinkedList<Person>();
+	private Person[] places;
+	/**
+	 * For each place, the next place holding someone travelling to the same floor, or -1 if there is none.
+	 */
+	private int[] nextPlace;
+	/**
+	 * For each floor, the first place holding someone travelling to it, or -1 if nobody is. Together with
+	 * {@link Lift#nextPlace} this forms a chain of everyone in the lift for each destination, so only the
+	 * people getting off are visited when the lift stops.
+	 */
+	private int[] firstPlace;
+	/**
+	 * A stack of the empty places in the lift.
+	 */
+	private int[] emptyPlaces;
+	/**
+	 * The number of empty places, the size of {@link Lift#emptyPlaces}.
+	 */
+	private int noEmptyPlaces;
 	/**
 	 * The current floor that the lift is on.
 	 */
@@ -28,7 +46,7 @@ public class Lift
 	 * The number of movements the lift has made since the beginning of the simulation. Each floor the lift
 	 * travels through appends 1 and every time the lift stops another 1 is appended.
 	 */
-	private int noMovements = 0;
+	private long noMovements = 0;
 	/**
 	 * Keeps track of the direction that the lift is travelling. True = upwards, False = downwards.
 	 */
@@ -41,6 +59,14 @@ public class Lift
 	 * The current number of people in the lift.
 	 */
 	private int noPeopleInLift = 0;
+	/**
+	 * The number of people the lift has delivered since the beginning of the simulation.
+	 */
+	private int noDelivered = 0;
+	/**
+	 * The sum of the wait times of every person the lift has delivered since the beginning of the simulation.
+	 */
+	private long totalWaitTimes = 0;
 	
 	/**
 	 * Constructor for the lift that decides how many floors it can travel up and the amount of people that
@@ -53,7 +79,17 @@ public class Lift
 	{
 		this.topFloor = noFloors - 1;
 		this.capacity = capacity;
-		this.buttons = new boolean[noFloors];
+		this.buttons = new CallRegister(noFloors);
+		this.places = new Person[capacity];
+		this.nextPlace = new int[capacity];
+		this.firstPlace = new int[noFloors];
+		Arrays.fill(firstPlace, -1);
+		this.emptyPlaces = new int[capacity];
+		for (int i = 0; i < capacity; i++)
+		{
+			emptyPlaces[i] = capacity - 1 - i;
+		}
+		this.noEmptyPlaces = capacity;
 	}
 	
 	/**
@@ -64,6 +100,22 @@ public class Lift
 	 */
 	public void move(Floor prevFloor, int nextFloor)
 	{
+		move(prevFloor, nextFloor, null);
+	}
+	/**
+	 * Moves the lift to the next floor in the same way as {@link Lift#move(Floor, int)}, logging every change 
+	 * in the record given so that it can be reverted with {@link Lift#undoMove(MoveRecord)}.
+	 * 
+	 * @param prevFloor		The floor that the lift was on before the movement
+	 * @param nextFloor		The floor that the lift is travelling to
+	 * @param record		The record to log the changes in, or null if they do not need to be reverted
+	 */
+	public void move(Floor prevFloor, int nextFloor, MoveRecord record)
+	{
+		if (record != null)
+		{
+			record.startMove(prevFloor, currentFloor, noMovements, goingUp, buttons.get(nextFloor));
+		}
 		// add movements, plus 1 for time taken to stop
 		noMovements += Math.abs(nextFloor - currentFloor) + 1;
 		
@@ -71,37 +123,79 @@ public class Lift
 		currentFloor = nextFloor;
 		
 		//drop off people in lift
-		deliverPeople();
+		deliverPeople(record);
 		
 		// update direction
 		updateDirection();
 		
 		prevFloor.updateButtons();
 	}
+	/**
+	 * Reverts a movement of the lift, putting everyone delivered back into the lift and restoring the lift
+	 * and the floor it left to how they were before the movement.
+	 * 
+	 * @param record		The record the changes were logged in
+	 */
+	public void undoMove(MoveRecord record)
+	{
+		// Any boarding since has already been reverted, so the places emptied by the delivery are back at
+		// the top of the stack and each person returns to the place they left
+		for (int k = record.getNoDelivered() - 1; k >= 0; k--)
+		{
+			Person p = record.getDelivered(k);
+			noDelivered--;
+			totalWaitTimes -= p.getWaitTime();
+			p.undoDelivery(record.getDeliveredWait(k));
+			takePlace(p);
+		}
+		buttons.set(currentFloor, record.getArrivalButton());
+		currentFloor = record.getPrevLiftFloor();
+		noMovements = record.getPrevNoMovements();
+		goingUp = record.wasPrevGoingUp();
+		record.getPrevFloor().setCallingUp(record.wasPrevCallingUp());
+		record.getPrevFloor().setCallingDown(record.wasPrevCallingDown());
+	}
 	/**
 	 * If any person in the lift's destination floor is the floor that the lift is currently at, they will
 	 * be removed from the lift, their wait time calculated and they will be set as delivered.
+	 * 
+	 * @param record		The record to log the people delivered in, or null if they do not need to be 
+	 * 						reverted
 	 */
-	private void deliverPeople() 
+	private void deliverPeople(MoveRecord record) 
 	{
-		ArrayList<Person> peopleToRemove = new ArrayList<Person>();
-		for (int i = 0; i < occupants.size(); i++)
+		int place = firstPlace[currentFloor];
+		while (place != -1)
 		{
-			Person p = occupants.get(i);
-			if (p.getEndFloor() == currentFloor)
+			Person p = places[place];
+			if (record != null)
 			{
-				peopleToRemove.add(p);
+				record.addDelivered(p);
 			}
-		}
-		for (Person p : peopleToRemove)
-		{
 			p.setWaitTime(noMovements);
 			p.setDelivered(true);
+			noDelivered++;
+			totalWaitTimes += p.getWaitTime();
+			places[place] = null;
+			emptyPlaces[noEmptyPlaces++] = place;
 			noPeopleInLift--;
-			occupants.remove(p);
+			place = nextPlace[place];
 		}
+		firstPlace[currentFloor] = -1;
 		
-		buttons[currentFloor] = false;
+		buttons.set(currentFloor, false);
+	}
+	/**
+	 * Puts a person into an empty place in the lift, at the front of the chain for their destination.
+	 * @param p		The person
+	 */
+	private void takePlace(Person p)
+	{
+		int place = emptyPlaces[--noEmptyPlaces];
+		places[place] = p;
+		nextPlace[place] = firstPlace[p.getEndFloor()];
+		firstPlace[p.getEndFloor()] = place;
+		noPeopleInLift++;
 	}
 	/**
 	 * Changes the direction of the lift if it at the top or the bottom of the building
@@ -131,12 +225,26 @@ public class Lift
 	 */
 	public void addPerson(Person p)
 	{
-		buttons[p.getEndFloor()] = true;
+		buttons.set(p.getEndFloor(), true);
 		p.setOnLift(true);
-		occupants.add(p);
-		noPeopleInLift++;
+		takePlace(p);
 
 	}
+	/**
+	 * Reverts the last person getting into the lift.
+	 * @param p				The person that last got into the lift
+	 * @param button		The state of the button for their destination before they got in
+	 */
+	public void removeLastPerson(Person p, boolean button)
+	{
+		// The last person in is at the front of the chain for their destination
+		int place = firstPlace[p.getEndFloor()];
+		firstPlace[p.getEndFloor()] = nextPlace[place];
+		places[place] = null;
+		emptyPlaces[noEmptyPlaces++] = place;
+		buttons.set(p.getEndFloor(), button);
+		noPeopleInLift--;
+	}
 	/**
 	 * Getter for the direction the lift is travelling.
 	 * @return
@@ -159,7 +267,7 @@ public class Lift
 	 */
 	public boolean isCallingFloor(int floorNum)
 	{
-		return buttons[floorNum];
+		return buttons.get(floorNum);
 	}
 	/**
 	 * Checks if the lift is at full capacity (as if a person is looking into the lift to see if 
@@ -181,7 +289,7 @@ public class Lift
 	 * Getter for the amount of movements the lift has made.
 	 * @return			The number of movements
 	 */
-	public int getNoMovements()
+	public long getNoMovements()
 	{
 		return noMovements;
 	}
@@ -189,7 +297,7 @@ public class Lift
 	 * Setter for the number of movements the lift has made.
 	 * @param newVal		The value to change the number of movements to
 	 */
-	public void setNoMovements(int newVal)
+	public void setNoMovements(long newVal)
 	{
 		this.noMovements = newVal;
 	}
@@ -208,35 +316,79 @@ public class Lift
 	public Lift clone()
 	{
 		Lift clonedLift = new Lift(topFloor + 1, capacity);
-		clonedLift.buttons = buttons.clone();
+		clonedLift.buttons = new CallRegister(buttons);
 		clonedLift.setNoMovements(noMovements);
 		clonedLift.setGoingUp(isGoingUp());
 		clonedLift.setCurrentFloor(currentFloor);
+		clonedLift.noDelivered = noDelivered;
+		clonedLift.totalWaitTimes = totalWaitTimes;
 		return clonedLift;
 	}
 	/**
-	 * Getter for the list of people in the lift.
+	 * Creates a list of the people in the lift. Changing the list does not change the lift.
 	 * @return		The list of people
 	 */
 	public LinkedList<Person> getOccupants()
 	{
+		LinkedList<Person> occupants = new LinkedList<Person>();
+		for (Person p : places)
+		{
+			if (p != null)
+			{
+				occupants.add(p);
+			}
+		}
 		return occupants;
 	}
+	/**
+	 * Finds the people in the lift travelling to a floor, without visiting anyone else in the lift.
+	 * @param floorNum		The floor
+	 * @param out			The array to put the people in, which must be able to hold everyone in the lift
+	 * @return				The number of people put in the array
+	 */
+	public int getPeopleTravellingTo(int floorNum, Person[] out)
+	{
+		int noPeople = 0;
+		for (int place = firstPlace[floorNum]; place != -1; place = nextPlace[place])
+		{
+			out[noPeople++] = places[place];
+		}
+		return noPeople;
+	}
 	/**
 	 * Getter for the amount of buttons currently pressed in the lift.
 	 * @return		The number of buttons pressed inside the lift
 	 */
 	public int getNumDifferentCalls()
 	{
-		int total = 0;
-		for (boolean button : buttons)
-		{
-			if (button)
-			{
-				total ++;
-			}
-		}
-		return total;
+		return buttons.count();
+	}
+	/**
+	 * Getter for the buttons inside the lift, so that they can be searched along with the calls made on
+	 * each floor. The buttons must not be changed.
+	 * @return		The buttons
+	 */
+	public CallRegister getButtons()
+	{
+		return buttons;
+	}
+	/**
+	 * Getter for the number of people the lift has delivered, kept up to date as people leave the lift so
+	 * that it never needs to be counted.
+	 * @return		The number of people delivered
+	 */
+	public int getNoDelivered()
+	{
+		return noDelivered;
+	}
+	/**
+	 * Getter for the sum of the wait times of every person the lift has delivered, kept up to date as people
+	 * leave the lift.
+	 * @return		The sum of the wait times
+	 */
+	public long getTotalWaitTimes()
+	{
+		return totalWaitTimes;
 	}
 	/**
 	 * Getter for the maximum capacity of the lift
@@ -260,6 +412,10 @@ public class Lift
 	 */
 	public void setButtons(boolean[] buttons)
 	{
-		this.buttons = buttons;
+		this.buttons = new CallRegister(buttons.length);
+		for (int i = 0; i < buttons.length; i++)
+		{
+			this.buttons.set(i, buttons[i]);
+		}
 	}
 }
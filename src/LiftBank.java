@@ -0,0 +1,370 @@
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * LiftBank object - A bank of lift cars serving one building together. Every call made on a floor (to go
+ * up or down) is given to one car by a {@link Dispatcher}, and only that car stops to answer it. Each car
+ * is driven by its own {@link LiftController}, which sees the calls given to the car and the buttons pressed
+ * inside it as the whole building. By default each car runs collective control (see
+ * {@link CollectiveController}).
+ * The cars move at the same time, each with its own count of movements, so the car that is furthest
+ * behind is always moved next. A call is made again if the car answering it was too full to take everyone.
+ *
+ * @author Annie Talbot
+ */
+public class LiftBank
+{
+	/**
+	 * The building, with every person on their start floor.
+	 */
+	private final Floor[] floors;
+	/**
+	 * The people in the simulation.
+	 */
+	private final Person[] people;
+	/**
+	 * The cars of the bank.
+	 */
+	private final Lift[] cars;
+	/**
+	 * The dispatcher giving calls to the cars.
+	 */
+	private final Dispatcher dispatcher;
+	/**
+	 * For each floor, the car answering its up call, -1 if there is no call.
+	 */
+	private final int[] upCallCar;
+	/**
+	 * For each floor, the car answering its down call, -1 if there is no call.
+	 */
+	private final int[] downCallCar;
+	/**
+	 * For each car, the floor it is stopped at if it has answered an up call there, otherwise -1. An up call made
+	 * again there is not shown to the car's controller until the car leaves, in the same way that a single lift
+	 * turns off the calls of the floor it stops at.
+	 */
+	private final int[] upAnsweredAt;
+	/**
+	 * For each car, the floor it is stopped at if it has answered a down call there, otherwise -1.
+	 */
+	private final int[] downAnsweredAt;
+	/**
+	 * The number of calls each car has been given and not yet answered.
+	 */
+	private final int[] noAssignedCalls;
+	/**
+	 * The controller driving each car.
+	 */
+	private final LiftController[] controllers;
+	/**
+	 * The view of the building each car's controller is given.
+	 */
+	private final BuildingView[] views;
+	/**
+	 * The route each car has taken.
+	 */
+	private final Route[] routes;
+	/**
+	 * The number of people each car has delivered.
+	 */
+	private final int[] carDelivered;
+	/**
+	 * The sum of the wait times of the people each car has delivered.
+	 */
+	private final long[] carWait;
+	/**
+	 * Holds the people about to leave a car, so that their wait can be worked out.
+	 */
+	private final Person[] arriving;
+	/**
+	 * The number of people delivered by every car.
+	 */
+	private int noDelivered = 0;
+	/**
+	 * The number of calls given out by the dispatcher.
+	 */
+	private long noAssignments = 0;
+
+	/**
+	 * Constructor for a bank of cars running collective control, all waiting empty on the ground floor.
+	 *
+	 * @param floors		The building, with every person on their start floor
+	 * @param people		The people in the simulation
+	 * @param noCars		The number of cars in the bank
+	 * @param capacity		The maximum number of people in each car
+	 * @param dispatcher	The dispatcher giving calls to the cars
+	 */
+	LiftBank(Floor[] floors, Person[] people, int noCars, int capacity, Dispatcher dispatcher)
+	{
+		this(floors, people, noCars, capacity, dispatcher, CollectiveController::new);
+	}
+
+	/**
+	 * Constructor for a bank of cars, all waiting empty on the ground floor, each driven by a new controller.
+	 *
+	 * @param floors		The building, with every person on their start floor
+	 * @param people		The people in the simulation
+	 * @param noCars		The number of cars in the bank
+	 * @param capacity		The maximum number of people in each car
+	 * @param dispatcher	The dispatcher giving calls to the cars
+	 * @param controller	Creates the controller of each car
+	 */
+	LiftBank(Floor[] floors, Person[] people, int noCars, int capacity, Dispatcher dispatcher,
+			Supplier<LiftController> controller)
+	{
+		if (noCars < 1)
+		{
+			throw new IllegalArgumentException("A lift bank needs at least one car.");
+		}
+		this.floors = floors;
+		this.people = people;
+		this.dispatcher = dispatcher;
+		cars = new Lift[noCars];
+		routes = new Route[noCars];
+		controllers = new LiftController[noCars];
+		views = new BuildingView[noCars];
+		for (int c = 0; c < noCars; c++)
+		{
+			cars[c] = new Lift(floors.length, capacity);
+			controllers[c] = controller.get();
+			views[c] = new CarView(c);
+			routes[c] = new Route(LiftEntryDecision.DirectionDependent);
+		}
+		upCallCar = new int[floors.length];
+		downCallCar = new int[floors.length];
+		Arrays.fill(upCallCar, -1);
+		Arrays.fill(downCallCar, -1);
+		upAnsweredAt = new int[noCars];
+		downAnsweredAt = new int[noCars];
+		Arrays.fill(upAnsweredAt, -1);
+		Arrays.fill(downAnsweredAt, -1);
+		noAssignedCalls = new int[noCars];
+		carDelivered = new int[noCars];
+		carWait = new long[noCars];
+		arriving = new Person[capacity];
+	}
+
+	/**
+	 * Gives out every call and runs the cars until everyone has been delivered.
+	 *
+	 * @return		The routes and wait times of the cars
+	 */
+	public BankResult run()
+	{
+		for (int f = 0; f < floors.length; f++)
+		{
+			if (floors[f].isCallingUp())
+			{
+				dispatch(f, true, 0);
+			}
+			if (floors[f].isCallingDown())
+			{
+				dispatch(f, false, 0);
+			}
+		}
+		while (noDelivered < people.length)
+		{
+			// Move the car furthest behind that has something to do
+			int next = -1;
+			for (int c = 0; c < cars.length; c++)
+			{
+				if (isBusy(c) && (next == -1 || cars[c].getNoMovements() < cars[next].getNoMovements()))
+				{
+					next = c;
+				}
+			}
+			if (next == -1)
+			{
+				break;
+			}
+			step(next);
+		}
+		for (int c = 0; c < cars.length; c++)
+		{
+			routes[c].setTotalWaitTimes(carWait[c]);
+			routes[c].setCompleteRoute(noDelivered == people.length);
+		}
+		return new BankResult(routes, carDelivered, carWait, noAssignments);
+	}
+
+	/**
+	 * Lets people on the car at its floor if it is answering a call there, then sends it to the next stop chosen
+	 * by its controller. If the controller only turns the car around, the call the other way is answered and the
+	 * controller is asked once more.
+	 *
+	 * @param c		The car
+	 */
+	private void step(int c)
+	{
+		Lift car = cars[c];
+		int f = car.getCurrentFloor();
+		answerCall(c, f, car.isGoingUp());
+		int nextFloor = controllers[c].nextFloor(views[c]);
+		car.setGoingUp(controllers[c].isGoingUp());
+		if (nextFloor == -1)
+		{
+			// Turn around here
+			answerCall(c, f, car.isGoingUp());
+			nextFloor = controllers[c].nextFloor(views[c]);
+			car.setGoingUp(controllers[c].isGoingUp());
+			if (nextFloor == -1)
+			{
+				return;
+			}
+		}
+		// Work out who will be delivered so that their wait can be added to the car
+		int noArriving = 0;
+		int directTime = 0;
+		if (car.isCallingFloor(nextFloor))
+		{
+			noArriving = car.getPeopleTravellingTo(nextFloor, arriving);
+			for (int i = 0; i < noArriving; i++)
+			{
+				directTime += Math.abs(arriving[i].getStartFloor() - nextFloor) + 1;
+			}
+		}
+		car.move(floors[f], nextFloor);
+		upAnsweredAt[c] = -1;
+		downAnsweredAt[c] = -1;
+		routes[c].addToPath(nextFloor);
+		carWait[c] += noArriving * car.getNoMovements() - directTime;
+		carDelivered[c] += noArriving;
+		noDelivered += noArriving;
+	}
+
+	/**
+	 * Lets people going in the direction given on the car, if the car is answering that call on its floor.
+	 * The call is made again if anyone is left behind.
+	 *
+	 * @param c			The car
+	 * @param f			The floor the car is on
+	 * @param up		The direction of the call
+	 */
+	private void answerCall(int c, int f, boolean up)
+	{
+		int[] callCar = up ? upCallCar : downCallCar;
+		if (callCar[f] != c)
+		{
+			return;
+		}
+		Lift car = cars[c];
+		car.setGoingUp(up);
+		floors[f].movePeopleOntoLift(car, LiftEntryDecision.DirectionDependent);
+		callCar[f] = -1;
+		(up ? upAnsweredAt : downAnsweredAt)[c] = f;
+		noAssignedCalls[c]--;
+		floors[f].updateButtons();
+		if (up ? floors[f].isCallingUp() : floors[f].isCallingDown())
+		{
+			dispatch(f, up, car.getNoMovements());
+		}
+	}
+
+	/**
+	 * Gives a call to the car chosen by the dispatcher, waking the car if it had nothing to do.
+	 *
+	 * @param f			The floor the call was made on
+	 * @param up		The direction of the call
+	 * @param time		The number of movements at which the call is made
+	 */
+	private void dispatch(int f, boolean up, long time)
+	{
+		int c = dispatcher.assignCall(f, up, cars, noAssignedCalls);
+		noAssignments++;
+		if (!isBusy(c) && cars[c].getNoMovements() < time)
+		{
+			cars[c].setNoMovements(time);
+		}
+		(up ? upCallCar : downCallCar)[f] = c;
+		noAssignedCalls[c]++;
+	}
+
+	/**
+	 * Whether a car has anyone on it or any call to answer.
+	 *
+	 * @param c			The car
+	 * @return			True = the car has something to do
+	 */
+	private boolean isBusy(int c)
+	{
+		return noAssignedCalls[c] > 0 || cars[c].getNoPeopleOnLift() > 0;
+	}
+
+	/**
+	 * The view of the bank given to the controller of one car, in which only the calls given to the car are made,
+	 * apart from calls on the floor the car is stopped at that it has already answered.
+	 */
+	private class CarView implements BuildingView
+	{
+		/**
+		 * The car.
+		 */
+		private final int c;
+
+		/**
+		 * Constructor for the view of a car.
+		 *
+		 * @param c			The car
+		 */
+		CarView(int c)
+		{
+			this.c = c;
+		}
+
+		@Override
+		public int getNoFloors()
+		{
+			return floors.length;
+		}
+
+		@Override
+		public int getCurrentFloor()
+		{
+			return cars[c].getCurrentFloor();
+		}
+
+		@Override
+		public boolean isGoingUp()
+		{
+			return cars[c].isGoingUp();
+		}
+
+		@Override
+		public int getCapacity()
+		{
+			return cars[c].getCapacity();
+		}
+
+		@Override
+		public int getNoPeopleOnLift()
+		{
+			return cars[c].getNoPeopleOnLift();
+		}
+
+		@Override
+		public boolean isLiftFull()
+		{
+			return cars[c].isLiftFull();
+		}
+
+		@Override
+		public int getNumDifferentCalls()
+		{
+			return cars[c].getNumDifferentCalls();
+		}
+
+		@Override
+		public long getNoMovements()
+		{
+			return cars[c].getNoMovements();
+		}
+
+		@Override
+		public boolean isCalling(int floorNum, int calls)
+		{
+			return ((calls & UP_CALLS) != 0 && upCallCar[floorNum] == c && upAnsweredAt[c] != floorNum)
+					|| ((calls & DOWN_CALLS) != 0 && downCallCar[floorNum] == c && downAnsweredAt[c] != floorNum)
+					|| ((calls & BUTTONS) != 0 && cars[c].isCallingFloor(floorNum));
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/**
+ * LiftController - Decides where a single lift goes next, one stop at a time. Before each decision everyone on
+ * the lift's floor who is travelling the lift's way has got on, and after it the lift moves to the floor chosen,
+ * letting off anyone who has arrived. A controller only sees the building through a {@link BuildingView}, and
+ * returns the floor as a plain int so that nothing needs to be allocated per decision. A controller may keep
+ * state between decisions, so a new one should be given to each simulation.
+ *
+ * See {@link Simulation#runController(LiftController, String)} to run a controller. It can also be run by
+ * {@link StreamingSimulation}, {@link FlatSimulation} and {@link EventSimulation}, or drive each car of a
+ * {@link LiftBank}.
+ *
+ * @author Annie Talbot
+ */
+public interface LiftController
+{
+	/**
+	 * Chooses the floor the lift moves to next, along with the direction it travels in (see
+	 * {@link LiftController#isGoingUp()}). Only the people travelling in that direction will get on when the
+	 * lift stops, so a lift may be sent to a floor below it while going up.
+	 *
+	 * @param view			The building and lift, which are not changed until this returns
+	 * @return				The floor to move to, or -1 to only change direction, after which the people on the
+	 * 						lift's floor travelling the new way get on and the controller is asked again
+	 */
+	int nextFloor(BuildingView view);
+
+	/**
+	 * Getter for the direction the lift should travel in, as chosen by the last call to
+	 * {@link LiftController#nextFloor(BuildingView)}.
+	 *
+	 * @return				True = upwards, False = downwards
+	 */
+	boolean isGoingUp();
+}
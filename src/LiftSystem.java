@@ -8,5 +8,7 @@
 public enum LiftSystem {
 	Mechanical,
 	Advanced,
-	Optimum
+	Optimum,
+	Dynamic,
+	Beam
 }
@@ -0,0 +1,46 @@
+/**
+ * MechanicalController object - The mechanical lift control system. The lift moves all the way up and down the
+ * building, stopping to pick up/ drop off people and only changing direction if the lift reaches the top or
+ * bottom floor.
+ *
+ * @author Annie Talbot
+ */
+public class MechanicalController implements LiftController
+{
+	/**
+	 * The direction the lift travels in after the last decision.
+	 */
+	private boolean goingUp = true;
+
+	@Override
+	public int nextFloor(BuildingView view)
+	{
+		goingUp = view.isGoingUp();
+		int nextFloor;
+		if (goingUp)
+		{
+			// The nearest floor above that is calling upwards or is a drop off, otherwise the top floor
+			nextFloor = view.nextCall(view.getCurrentFloor(), BuildingView.UP_CALLS | BuildingView.BUTTONS);
+			if (nextFloor == -1)
+			{
+				nextFloor = view.getNoFloors() - 1;
+			}
+		}
+		else
+		{
+			// The nearest floor below that is calling downwards or is a drop off, otherwise the bottom floor
+			nextFloor = view.previousCall(view.getCurrentFloor(), BuildingView.DOWN_CALLS | BuildingView.BUTTONS);
+			if (nextFloor == -1)
+			{
+				nextFloor = 0;
+			}
+		}
+		return nextFloor;
+	}
+
+	@Override
+	public boolean isGoingUp()
+	{
+		return goingUp;
+	}
+}
@@ -0,0 +1,315 @@
+/**
+ * MoveRecord object - An undo log for one step of a simulation: people moving from a floor onto the lift,
+ * followed by the lift moving to another floor. Everything changed by the step (who boarded, who was
+ * delivered and which buttons changed) is recorded so that the step can be reverted and the same
+ * people, floors and lift can be reused to explore another step. The record is reused for every step
+ * it logs, so no memory is allocated while logging.
+ *
+ * @author Annie Talbot
+ */
+public class MoveRecord
+{
+	/**
+	 * The floor that people boarded the lift from.
+	 */
+	private Floor boardingFloor;
+	/**
+	 * The state of the boarding floor's up button before people boarded.
+	 */
+	private boolean boardingCallingUp;
+	/**
+	 * The state of the boarding floor's down button before people boarded.
+	 */
+	private boolean boardingCallingDown;
+	/**
+	 * The people that boarded the lift, in the order they boarded.
+	 */
+	private Person[] boarded;
+	/**
+	 * The number each person that boarded was given when they arrived on the boarding floor.
+	 */
+	private int[] boardedIndex;
+	/**
+	 * The state of the lift button for each boarded person's destination before they boarded.
+	 */
+	private boolean[] boardedButton;
+	/**
+	 * The number of people that boarded the lift.
+	 */
+	private int noBoarded;
+	/**
+	 * The floor that the lift moved away from.
+	 */
+	private Floor prevFloor;
+	/**
+	 * The state of the previous floor's up button before the lift moved.
+	 */
+	private boolean prevCallingUp;
+	/**
+	 * The state of the previous floor's down button before the lift moved.
+	 */
+	private boolean prevCallingDown;
+	/**
+	 * The floor number the lift was on before it moved.
+	 */
+	private int prevLiftFloor;
+	/**
+	 * The number of movements the lift had made before it moved.
+	 */
+	private long prevNoMovements;
+	/**
+	 * The direction the lift was travelling before it moved.
+	 */
+	private boolean prevGoingUp;
+	/**
+	 * The state of the lift button for the floor moved to, before the lift moved.
+	 */
+	private boolean arrivalButton;
+	/**
+	 * The people delivered when the lift arrived, in the order they left the lift.
+	 */
+	private Person[] delivered;
+	/**
+	 * The wait time of each delivered person before they were delivered.
+	 */
+	private long[] deliveredWait;
+	/**
+	 * The number of people delivered when the lift arrived.
+	 */
+	private int noDelivered;
+
+	/**
+	 * Constructor that creates a record big enough for a lift of the given capacity.
+	 *
+	 * @param capacity		The maximum number of people in the lift
+	 */
+	MoveRecord(int capacity)
+	{
+		boarded = new Person[capacity];
+		boardedIndex = new int[capacity];
+		boardedButton = new boolean[capacity];
+		delivered = new Person[capacity];
+		deliveredWait = new long[capacity];
+	}
+
+	/**
+	 * Clears the boarding part of this record and records the state of the floor people will board from.
+	 *
+	 * @param floor			The floor people are boarding from
+	 */
+	public void startBoarding(Floor floor)
+	{
+		boardingFloor = floor;
+		boardingCallingUp = floor.isCallingUp();
+		boardingCallingDown = floor.isCallingDown();
+		noBoarded = 0;
+	}
+
+	/**
+	 * Records a person boarding the lift.
+	 *
+	 * @param p				The person boarding
+	 * @param index			The number they were given when they arrived on the floor
+	 * @param button		The state of the lift button for their destination before they boarded
+	 */
+	public void addBoarded(Person p, int index, boolean button)
+	{
+		boarded[noBoarded] = p;
+		boardedIndex[noBoarded] = index;
+		boardedButton[noBoarded] = button;
+		noBoarded++;
+	}
+
+	/**
+	 * Clears the movement part of this record and records the state of the lift and the floor it is
+	 * leaving.
+	 *
+	 * @param floor			The floor the lift is moving away from
+	 * @param liftFloor		The floor number the lift is on
+	 * @param noMovements	The number of movements the lift has made
+	 * @param goingUp		The direction the lift is travelling
+	 * @param button		The state of the lift button for the floor being moved to
+	 */
+	public void startMove(Floor floor, int liftFloor, long noMovements, boolean goingUp, boolean button)
+	{
+		prevFloor = floor;
+		prevCallingUp = floor.isCallingUp();
+		prevCallingDown = floor.isCallingDown();
+		prevLiftFloor = liftFloor;
+		prevNoMovements = noMovements;
+		prevGoingUp = goingUp;
+		arrivalButton = button;
+		noDelivered = 0;
+	}
+
+	/**
+	 * Records a person being delivered.
+	 *
+	 * @param p				The person delivered
+	 */
+	public void addDelivered(Person p)
+	{
+		delivered[noDelivered] = p;
+		deliveredWait[noDelivered] = p.getWaitTime();
+		noDelivered++;
+	}
+
+	/**
+	 * Getter for the floor that people boarded the lift from.
+	 * @return		The boarding floor
+	 */
+	public Floor getBoardingFloor()
+	{
+		return boardingFloor;
+	}
+
+	/**
+	 * Getter for the state of the boarding floor's up button before people boarded.
+	 * @return		True = floor was calling upwards
+	 */
+	public boolean wasBoardingCallingUp()
+	{
+		return boardingCallingUp;
+	}
+
+	/**
+	 * Getter for the state of the boarding floor's down button before people boarded.
+	 * @return		True = floor was calling downwards
+	 */
+	public boolean wasBoardingCallingDown()
+	{
+		return boardingCallingDown;
+	}
+
+	/**
+	 * Getter for the number of people that boarded the lift.
+	 * @return		The number of people
+	 */
+	public int getNoBoarded()
+	{
+		return noBoarded;
+	}
+
+	/**
+	 * Getter for a person that boarded the lift.
+	 * @param k		The order they boarded in
+	 * @return		The person
+	 */
+	public Person getBoarded(int k)
+	{
+		return boarded[k];
+	}
+
+	/**
+	 * Getter for the number a boarded person was given when they arrived on the floor, which puts them
+	 * back in their place among the people waiting.
+	 * @param k		The order they boarded in
+	 * @return		The arrival number
+	 */
+	public int getBoardedIndex(int k)
+	{
+		return boardedIndex[k];
+	}
+
+	/**
+	 * Getter for the state of the lift button for a boarded person's destination before they boarded.
+	 * @param k		The order they boarded in
+	 * @return		True = the button was pressed
+	 */
+	public boolean getBoardedButton(int k)
+	{
+		return boardedButton[k];
+	}
+
+	/**
+	 * Getter for the floor that the lift moved away from.
+	 * @return		The previous floor
+	 */
+	public Floor getPrevFloor()
+	{
+		return prevFloor;
+	}
+
+	/**
+	 * Getter for the state of the previous floor's up button before the lift moved.
+	 * @return		True = floor was calling upwards
+	 */
+	public boolean wasPrevCallingUp()
+	{
+		return prevCallingUp;
+	}
+
+	/**
+	 * Getter for the state of the previous floor's down button before the lift moved.
+	 * @return		True = floor was calling downwards
+	 */
+	public boolean wasPrevCallingDown()
+	{
+		return prevCallingDown;
+	}
+
+	/**
+	 * Getter for the floor number the lift was on before it moved.
+	 * @return		The floor number
+	 */
+	public int getPrevLiftFloor()
+	{
+		return prevLiftFloor;
+	}
+
+	/**
+	 * Getter for the number of movements the lift had made before it moved.
+	 * @return		The number of movements
+	 */
+	public long getPrevNoMovements()
+	{
+		return prevNoMovements;
+	}
+
+	/**
+	 * Getter for the direction the lift was travelling before it moved.
+	 * @return		True = upwards, False = downwards
+	 */
+	public boolean wasPrevGoingUp()
+	{
+		return prevGoingUp;
+	}
+
+	/**
+	 * Getter for the state of the lift button for the floor moved to, before the lift moved.
+	 * @return		True = the button was pressed
+	 */
+	public boolean getArrivalButton()
+	{
+		return arrivalButton;
+	}
+
+	/**
+	 * Getter for the number of people delivered when the lift arrived.
+	 * @return		The number of people
+	 */
+	public int getNoDelivered()
+	{
+		return noDelivered;
+	}
+
+	/**
+	 * Getter for a person delivered when the lift arrived.
+	 * @param k		The order they left the lift in
+	 * @return		The person
+	 */
+	public Person getDelivered(int k)
+	{
+		return delivered[k];
+	}
+
+	/**
+	 * Getter for the wait time a delivered person had before they were delivered.
+	 * @param k		The order they left the lift in
+	 * @return		The wait time
+	 */
+	public long getDeliveredWait(int k)
+	{
+		return deliveredWait[k];
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * NearestCarDispatcher object - Gives each call to the car that should reach it soonest. The time for a
+ * car to reach a call is estimated from the floors it has to travel: directly if the call is ahead of the
+ * car in its direction of travel, and otherwise via the end of the building the car is heading towards.
+ * Each call a car already has to answer, and being full, make the car less likely to be chosen.
+ *
+ * @author Annie Talbot
+ */
+public class NearestCarDispatcher implements Dispatcher
+{
+	/**
+	 * The extra time estimated for each call a car already has to answer.
+	 */
+	private static final int STOP_PENALTY = 2;
+	/**
+	 * The top floor of the building.
+	 */
+	private final int topFloor;
+
+	/**
+	 * Constructor for a dispatcher in a building with the number of floors given.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 */
+	NearestCarDispatcher(int noFloors)
+	{
+		this.topFloor = noFloors - 1;
+	}
+
+	@Override
+	public int assignCall(int floor, boolean up, Lift[] cars, int[] noAssignedCalls)
+	{
+		int bestCar = 0;
+		int bestCost = Integer.MAX_VALUE;
+		for (int c = 0; c < cars.length; c++)
+		{
+			Lift car = cars[c];
+			int cost = distance(car, floor, up, noAssignedCalls[c] == 0 && car.getNoPeopleOnLift() == 0)
+					+ STOP_PENALTY * noAssignedCalls[c];
+			if (car.isLiftFull())
+			{
+				cost += topFloor + 1;
+			}
+			if (cost < bestCost)
+			{
+				bestCost = cost;
+				bestCar = c;
+			}
+		}
+		return bestCar;
+	}
+
+	/**
+	 * Estimates the number of floors a car has to travel to answer a call.
+	 *
+	 * @param car			The car
+	 * @param floor			The floor the call was made on
+	 * @param up			True = the call is to go upwards, False = downwards
+	 * @param idle			True = the car has nothing else to do, so can go straight to the call
+	 * @return				The number of floors
+	 */
+	private int distance(Lift car, int floor, boolean up, boolean idle)
+	{
+		int current = car.getCurrentFloor();
+		if (idle)
+		{
+			return Math.abs(floor - current);
+		}
+		if (car.isGoingUp())
+		{
+			if (up && floor >= current)
+			{
+				return floor - current;
+			}
+			if (!up)
+			{
+				return (topFloor - current) + (topFloor - floor);
+			}
+			return (topFloor - current) + topFloor + floor;
+		}
+		if (!up && floor <= current)
+		{
+			return current - floor;
+		}
+		if (up)
+		{
+			return current + floor;
+		}
+		return current + topFloor + (topFloor - floor);
+	}
+}
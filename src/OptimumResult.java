@@ -0,0 +1,122 @@
+/**
+ * OptimumResult object - The outcome of an optimum search that may have been stopped early by a time or
+ * node budget. Along with the best route found, it holds a proven lower bound on the combined wait time
+ * of any route, so the gap between the two shows how far the route can be from the optimum. A search
+ * that was not stopped early always has a gap of 0.
+ *
+ * @author Annie Talbot
+ */
+public class OptimumResult
+{
+	/**
+	 * The best route found, which is incomplete if no route beating the mechanical system was found.
+	 */
+	private final Route route;
+	/**
+	 * The combined wait time that no route can beat.
+	 */
+	private final int lowerBound;
+	/**
+	 * The combined wait time of the best route known, either the route found or the mechanical system.
+	 */
+	private final int upperBound;
+	/**
+	 * Whether the search was stopped by its budget before every route was explored.
+	 */
+	private final boolean budgetExpired;
+	/**
+	 * The work done by the search.
+	 */
+	private final SearchStats stats;
+
+	/**
+	 * Constructor for the result of a search.
+	 *
+	 * @param route				The best route found
+	 * @param lowerBound		The combined wait time that no route can beat
+	 * @param upperBound		The combined wait time of the best route known
+	 * @param budgetExpired		True = the search was stopped by its budget
+	 * @param stats				The work done by the search
+	 */
+	OptimumResult(Route route, int lowerBound, int upperBound, boolean budgetExpired, SearchStats stats)
+	{
+		this.route = route;
+		this.lowerBound = Math.min(lowerBound, upperBound);
+		this.upperBound = upperBound;
+		this.budgetExpired = budgetExpired;
+		this.stats = stats;
+	}
+
+	/**
+	 * Getter for the best route found.
+	 * @return		The route, incomplete if no route beating the mechanical system was found
+	 */
+	public Route getRoute()
+	{
+		return route;
+	}
+
+	/**
+	 * Getter for the combined wait time that no route can beat.
+	 * @return		The lower bound
+	 */
+	public int getLowerBound()
+	{
+		return lowerBound;
+	}
+
+	/**
+	 * Getter for the combined wait time of the best route known. This is the wait of the route found, or
+	 * of the mechanical system if no better route was found.
+	 * @return		The upper bound
+	 */
+	public int getUpperBound()
+	{
+		return upperBound;
+	}
+
+	/**
+	 * Gets the most wait time that the best route known could be above the optimum.
+	 * @return		The optimality gap
+	 */
+	public int getGap()
+	{
+		return upperBound - lowerBound;
+	}
+
+	/**
+	 * Whether the best route known is proven to be optimum.
+	 * @return		True = no route can beat it
+	 */
+	public boolean isOptimal()
+	{
+		return lowerBound == upperBound;
+	}
+
+	/**
+	 * Whether the search was stopped by its budget before every route was explored.
+	 * @return		True = the budget expired
+	 */
+	public boolean isBudgetExpired()
+	{
+		return budgetExpired;
+	}
+
+	/**
+	 * Getter for the work done by the search.
+	 * @return		The stats of the search
+	 */
+	public SearchStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Creates a string describing the bounds of this result.
+	 * @return		The description
+	 */
+	public String print()
+	{
+		return "Lower bound: " + lowerBound + ", Gap: " + getGap() + (budgetExpired ? " (budget expired)" : "");
+	}
+}
@@ -0,0 +1,650 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * OptimumSearch object - A branch and bound search for the route that minimises the combined wait time
+ * of every person in a simulation. The search walks every possible (sensible) path the lift could take,
+ * but cuts any branch whose wait time so far plus a lower bound on the wait still to come cannot beat
+ * the best complete route already found.
+ * The search moves a single set of people, floors and lift forwards and backwards, logging each step in
+ * a {@link MoveRecord} so it can be reverted, rather than copying the state for every branch.
+ * The search can be run on a single thread or split across a fork/join pool, and both return the same
+ * route: the first optimum route in floor order.
+ * A budget of time or explored states can be set, after which the search stops exploring and returns
+ * the best route found so far, along with the lowest bound of every branch left unexplored (see
+ * {@link OptimumSearch#getResult()}).
+ * The work done by the search is counted as it runs, and can be reported every so often during a long
+ * search as well as at the end (see {@link SearchStats}).
+ *
+ * @author Annie Talbot
+ */
+public class OptimumSearch
+{
+	/**
+	 * The default number of moves into a route at which a parallel search stops splitting branches into
+	 * new tasks and explores the rest of each branch on one thread.
+	 */
+	public static final int DEFAULT_SPLIT_DEPTH = 3;
+	/**
+	 * The largest combined wait time a route may have and still be worth exploring. This starts as the
+	 * result of the mechanical system and is lowered every time a better complete route is found. It is
+	 * shared by every thread of a parallel search so all of them prune with the best route found.
+	 */
+	private final AtomicInteger bound;
+	/**
+	 * The best complete route found so far, null if none has been found.
+	 */
+	private Route bestRoute = null;
+	/**
+	 * The states already explored, so that a state reached again through a different order of moves is
+	 * only explored again if the new route to it is better.
+	 */
+	private final TranspositionTable table;
+	/**
+	 * The maximum number of states remembered by the transposition table(s).
+	 */
+	private final int tableCapacity;
+	/**
+	 * A separate transposition table for each thread of a parallel search.
+	 */
+	private ThreadLocal<TranspositionTable> threadTables;
+	/**
+	 * Whether the search is being run in parallel. A parallel search keeps exploring routes that tie
+	 * with the best route found, as another thread may have found it before an earlier route in floor
+	 * order.
+	 */
+	private boolean parallel = false;
+	/**
+	 * The number of moves into a route at which a parallel search stops creating new tasks.
+	 */
+	private int splitDepth = 0;
+	/**
+	 * The combined wait time the search started with as its bound, the result of the mechanical system.
+	 */
+	private final int initialBound;
+	/**
+	 * The longest the search may run for in milliseconds, 0 for no limit.
+	 */
+	private long timeLimit = 0;
+	/**
+	 * The most states the search may explore, 0 for no limit.
+	 */
+	private long nodeLimit = 0;
+	/**
+	 * The time (from {@link System#nanoTime()}) at which the search must stop.
+	 */
+	private long deadline = Long.MAX_VALUE;
+	/**
+	 * The number of states explored so far.
+	 */
+	private final AtomicLong nodes = new AtomicLong();
+	/**
+	 * Whether the budget has run out. Once set, branches are no longer explored, only bounded.
+	 */
+	private volatile boolean expired = false;
+	/**
+	 * The lowest bound of every branch left unexplored because the budget ran out.
+	 */
+	private final AtomicInteger frontierBound = new AtomicInteger(Integer.MAX_VALUE);
+	/**
+	 * The time (from {@link System#nanoTime()}) at which the search started.
+	 */
+	private long startTime;
+	/**
+	 * The time (from {@link System#nanoTime()}) at which the search finished, -1 while it is running.
+	 */
+	private volatile long endTime = -1;
+	/**
+	 * The number of moves cut because they could not beat the best route.
+	 */
+	private final LongAdder prunedByBound = new LongAdder();
+	/**
+	 * The number of moves cut because their state had already been explored with a route at least as good.
+	 */
+	private final LongAdder prunedByTable = new LongAdder();
+	/**
+	 * The number of moves left unexplored because the budget ran out.
+	 */
+	private final LongAdder prunedByBudget = new LongAdder();
+	/**
+	 * The number of routes abandoned for growing abnormally long.
+	 */
+	private final LongAdder abandonedRoutes = new LongAdder();
+	/**
+	 * The greatest number of moves into a route that the search has reached.
+	 */
+	private final AtomicInteger maxDepth = new AtomicInteger();
+	/**
+	 * Each improvement of the best route, as {milliseconds since the search started, combined wait time}.
+	 */
+	private final List<long[]> improvements = new ArrayList<long[]>();
+	/**
+	 * The number of bytes each thread of the search had allocated when it joined the search, by thread ID.
+	 */
+	private final Map<Long, Long> threadStartBytes = new ConcurrentHashMap<Long, Long>();
+	/**
+	 * The number of bytes allocated by the threads of the search, -1 until the search is complete or if it
+	 * cannot be measured.
+	 */
+	private long allocatedBytes = -1;
+	/**
+	 * Called with a snapshot of the stats every report interval during the search, null for no reports.
+	 */
+	private Consumer<SearchStats> statsListener = null;
+	/**
+	 * The time in milliseconds between reports of the stats.
+	 */
+	private long reportInterval = 0;
+	/**
+	 * The time (from {@link System#nanoTime()}) at which the stats are next reported.
+	 */
+	private volatile long nextReport = Long.MAX_VALUE;
+
+	/**
+	 * Constructor for the search that sets the initial bound and uses a transposition table of the
+	 * default size.
+	 *
+	 * @param mechTime		The combined total wait times of the mechanical system
+	 */
+	OptimumSearch(int mechTime)
+	{
+		this(mechTime, TranspositionTable.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor for the search that sets the initial bound and the maximum number of states the
+	 * transposition table can remember.
+	 *
+	 * @param mechTime			The combined total wait times of the mechanical system
+	 * @param tableCapacity		The maximum number of explored states remembered
+	 */
+	OptimumSearch(int mechTime, int tableCapacity)
+	{
+		this.bound = new AtomicInteger(mechTime);
+		this.initialBound = mechTime;
+		this.tableCapacity = tableCapacity;
+		this.table = new TranspositionTable(tableCapacity);
+	}
+
+	/**
+	 * Sets a budget for the search, after which it stops exploring and returns the best route found so far.
+	 *
+	 * @param timeLimit			The longest the search may run for in milliseconds, 0 for no limit
+	 * @param nodeLimit			The most states the search may explore, 0 for no limit
+	 */
+	public void setBudget(long timeLimit, long nodeLimit)
+	{
+		this.timeLimit = timeLimit;
+		this.nodeLimit = nodeLimit;
+	}
+
+	/**
+	 * Sets a listener to be given a snapshot of the search's stats every so often while it runs. The
+	 * listener is called from a thread of the search, so should return quickly.
+	 *
+	 * @param listener			Called with each snapshot
+	 * @param interval			The time in milliseconds between snapshots
+	 */
+	public void setStatsListener(Consumer<SearchStats> listener, long interval)
+	{
+		this.statsListener = listener;
+		this.reportInterval = interval;
+	}
+
+	/**
+	 * Finds the optimum route from the state given. Once the search is complete, the floors, people and
+	 * lift given are left in the state reached by following the optimum route.
+	 *
+	 * @param floors		The initial state of the building
+	 * @param people		The initial state of the people
+	 * @param lift			The initial state of the lift
+	 * @return				The best (optimum) route that the lift could take
+	 */
+	public Route search(Floor[] floors, Person[] people, Lift lift)
+	{
+		startClock();
+		new SearchTask(floors, people, lift, new Route(LiftEntryDecision.DirectionIndependent)).compute();
+		measureAllocations();
+		return finishSearch(floors, lift);
+	}
+
+	/**
+	 * Finds the optimum route from the state given using a fork/join pool. Every branch less than the
+	 * split depth into the route is explored as a separate task. Once the search is complete, the floors,
+	 * people and lift given are left in the state reached by following the optimum route.
+	 *
+	 * @param floors			The initial state of the building
+	 * @param people			The initial state of the people
+	 * @param lift				The initial state of the lift
+	 * @param parallelism		The number of threads to search with
+	 * @param splitDepth		The number of moves into a route after which branches are no longer split
+	 * 							into new tasks
+	 * @return					The best (optimum) route that the lift could take
+	 */
+	public Route searchParallel(Floor[] floors, Person[] people, Lift lift, int parallelism, int splitDepth)
+	{
+		this.parallel = true;
+		this.splitDepth = splitDepth;
+		// Each thread has its own share of the table so no locking is needed
+		final int threadCapacity = Math.max(1, tableCapacity / parallelism);
+		threadTables = ThreadLocal.withInitial(() -> new TranspositionTable(threadCapacity));
+		startClock();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try
+		{
+			pool.invoke(new SearchTask(floors, people, lift, new Route(LiftEntryDecision.DirectionIndependent)));
+			// Measured before the pool's threads stop
+			measureAllocations();
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		return finishSearch(floors, lift);
+	}
+
+	/**
+	 * Starts the clock for the search's time budget and stats.
+	 */
+	private void startClock()
+	{
+		startTime = System.nanoTime();
+		endTime = -1;
+		if (timeLimit > 0)
+		{
+			deadline = startTime + timeLimit * 1000000L;
+		}
+		if (statsListener != null)
+		{
+			nextReport = startTime + reportInterval * 1000000L;
+		}
+	}
+
+	/**
+	 * Counts another state as explored, checks whether the budget has run out and reports the stats if they
+	 * are due. The clock is only read every 256 states as it is slow compared to exploring a state.
+	 *
+	 * @param depth			The number of moves into the route of the state
+	 */
+	private void countNode(int depth)
+	{
+		long n = nodes.incrementAndGet();
+		if (depth > maxDepth.get())
+		{
+			maxDepth.accumulateAndGet(depth, Math::max);
+		}
+		if (nodeLimit > 0 && n >= nodeLimit)
+		{
+			expired = true;
+		}
+		if ((n & 255) == 0)
+		{
+			long now = System.nanoTime();
+			if (now > deadline)
+			{
+				expired = true;
+			}
+			if (now >= nextReport)
+			{
+				reportStats(now);
+			}
+		}
+	}
+
+	/**
+	 * Gives the stats listener a snapshot of the stats, unless another thread already has. The listener is called
+	 * without holding the search's lock, so that a slow listener does not hold up threads offering routes.
+	 * @param now		The current time (from {@link System#nanoTime()})
+	 */
+	private void reportStats(long now)
+	{
+		SearchStats stats;
+		synchronized (this)
+		{
+			if (now < nextReport)
+			{
+				return;
+			}
+			nextReport = now + reportInterval * 1000000L;
+			stats = getStats();
+		}
+		statsListener.accept(stats);
+	}
+
+	/**
+	 * Remembers how many bytes the current thread had allocated when it joined the search, if it has not
+	 * already joined.
+	 */
+	private void joinThread()
+	{
+		long id = Thread.currentThread().getId();
+		if (!threadStartBytes.containsKey(id))
+		{
+			threadStartBytes.put(id, threadAllocatedBytes(id));
+		}
+	}
+
+	/**
+	 * Adds up the bytes allocated by every thread since it joined the search. The threads must still be running.
+	 */
+	private void measureAllocations()
+	{
+		long total = 0;
+		for (Map.Entry<Long, Long> entry : threadStartBytes.entrySet())
+		{
+			long current = threadAllocatedBytes(entry.getKey());
+			if (current < 0 || entry.getValue() < 0)
+			{
+				return;
+			}
+			total += current - entry.getValue();
+		}
+		allocatedBytes = total;
+	}
+
+	/**
+	 * Gets the number of bytes a thread has allocated, on JVMs that measure it.
+	 * @param id		The thread's ID
+	 * @return			The number of bytes, -1 if it is not measured
+	 */
+	private static long threadAllocatedBytes(long id)
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled())
+			{
+				return sunBean.getThreadAllocatedBytes(id);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Takes a snapshot of the work the search has done so far. Once the search has finished, its time is the time
+	 * it took, however much later this is called.
+	 * @return		The stats of the search
+	 */
+	public synchronized SearchStats getStats()
+	{
+		long elapsed = (endTime == -1 ? System.nanoTime() : endTime) - startTime;
+		return new SearchStats(nodes.get(), prunedByBound.sum(), prunedByTable.sum(), prunedByBudget.sum(),
+				abandonedRoutes.sum(), maxDepth.get(), improvements, elapsed / 1000000, allocatedBytes);
+	}
+
+	/**
+	 * Gets the result of the search once it is complete. The lower bound is the best route found if every
+	 * branch was explored, otherwise it is the lowest bound of the branches left unexplored.
+	 *
+	 * @return		The best route found, with a proven lower bound on the combined wait time of any route
+	 */
+	public OptimumResult getResult()
+	{
+		Route route = bestRoute == null ? new Route(LiftEntryDecision.DirectionIndependent) : bestRoute;
+		int upperBound = bestRoute == null ? initialBound : Math.toIntExact(bestRoute.getTotalWaitTimes());
+		return new OptimumResult(route, frontierBound.get(), upperBound, expired, getStats());
+	}
+
+	/**
+	 * Stops the clock of the search, then moves the state given along the best route found, so it is left as it
+	 * would be at the end of the simulation.
+	 *
+	 * @param floors		The initial state of the building
+	 * @param lift			The initial state of the lift
+	 * @return				The best route found, or an incomplete route if none was found
+	 */
+	private Route finishSearch(Floor[] floors, Lift lift)
+	{
+		endTime = System.nanoTime();
+		if (bestRoute == null)
+		{
+			return new Route(LiftEntryDecision.DirectionIndependent);
+		}
+		Simulation.followRoute(bestRoute, floors, lift);
+		return bestRoute;
+	}
+
+	/**
+	 * Compares a complete route against the best route found so far, keeping the better of the two and
+	 * lowering the bound. Routes that tie are settled by floor order, so the result does not depend on the
+	 * order the threads of a parallel search find them in.
+	 *
+	 * @param route				The complete route to compare
+	 */
+	private synchronized void offerRoute(Route route)
+	{
+		// A sequential search explores routes in floor order, so any later route must be strictly better
+		// to replace this one. A parallel search must keep exploring routes that tie.
+		int newBound = Math.toIntExact(parallel ? route.getTotalWaitTimes() : route.getTotalWaitTimes() - 1);
+		bound.accumulateAndGet(newBound, Math::min);
+		if (bestRoute == null || route.getTotalWaitTimes() < bestRoute.getTotalWaitTimes()
+				|| (route.getTotalWaitTimes() == bestRoute.getTotalWaitTimes() && route.isPathBefore(bestRoute)))
+		{
+			if (bestRoute == null || route.getTotalWaitTimes() < bestRoute.getTotalWaitTimes())
+			{
+				improvements.add(new long[] {(System.nanoTime() - startTime) / 1000000, route.getTotalWaitTimes()});
+			}
+			bestRoute = route.clone();
+		}
+	}
+
+	/**
+	 * Getter for the transposition table used by the current thread.
+	 * @return		The transposition table
+	 */
+	private TranspositionTable getTable()
+	{
+		return parallel ? threadTables.get() : table;
+	}
+
+	/**
+	 * Calculates a lower bound on the wait time that will be added by the people who have not yet been delivered. Each
+	 * person is treated as if the lift could go straight to them (if they are waiting) and then straight to their
+	 * destination, which no route can beat, so the bound never over-estimates.
+	 *
+	 * @param people		The people in the current state of the simulation
+	 * @param lift			The lift in the current state of the simulation
+	 * @return				The minimum amount of wait time still to be added
+	 */
+	static int lowerBound(Person[] people, Lift lift)
+	{
+		int now = Math.toIntExact(lift.getNoMovements());
+		int liftFloor = lift.getCurrentFloor();
+		int total = 0;
+		for (Person p : people)
+		{
+			if (p.isDelivered())
+			{
+				continue;
+			}
+			if (p.isOnLift())
+			{
+				// Straight to their destination from here
+				total += now + Math.abs(liftFloor - p.getEndFloor()) - Math.abs(p.getStartFloor() - p.getEndFloor());
+			}
+			else if (p.getStartFloor() == liftFloor)
+			{
+				// Picked up here, then straight to their destination
+				total += now;
+			}
+			else
+			{
+				// Straight to their floor, then straight to their destination
+				total += now + Math.abs(liftFloor - p.getStartFloor()) + 1;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * A branch of the optimum search. Each branch owns the people, floors and lift it moves, so branches can
+	 * be run on any thread of the fork/join pool.
+	 */
+	private class SearchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		/**
+		 * The state of the building.
+		 */
+		private final Floor[] floors;
+		/**
+		 * The state of the people.
+		 */
+		private final Person[] people;
+		/**
+		 * The state of the lift.
+		 */
+		private final Lift lift;
+		/**
+		 * The route taken to reach the current state.
+		 */
+		private final Route route;
+		/**
+		 * The undo log for the step taken from each depth of the route, reused for every branch at that depth.
+		 */
+		private final MoveRecord[] records;
+		/**
+		 * Reused to encode the current state when checking the transposition table.
+		 */
+		private final SearchState probe;
+
+		/**
+		 * Constructor for the task that takes the state to search from.
+		 *
+		 * @param floors		The state of the building
+		 * @param people		The state of the people
+		 * @param lift			The state of the lift
+		 * @param route			The route taken to reach this state
+		 */
+		SearchTask(Floor[] floors, Person[] people, Lift lift, Route route)
+		{
+			this.floors = floors;
+			this.people = people;
+			this.lift = lift;
+			this.route = route;
+			this.records = new MoveRecord[people.length * 2 + 2];
+			this.probe = new SearchState(people.length);
+		}
+
+		@Override
+		protected void compute()
+		{
+			joinThread();
+			calculateOptimumRoute();
+		}
+
+		/**
+		 * Recursion algorithm that finds the best path (minimises combined wait time of the people) from the current route
+		 * by comparing every option for the next floor to go to. Branches that cannot improve on the bound are not explored.
+		 * In a parallel search, branches near the start of the route are forked as separate tasks with their own copy of
+		 * the state. The state and route are left as they were once this returns.
+		 */
+		private void calculateOptimumRoute()
+		{
+			countNode(route.getPathSize() - 1);
+			// If the path is abnormally long then something has gone wrong, so exit this recursion
+			if (route.getPathSize() > people.length * 2)
+			{
+				abandonedRoutes.increment();
+				return;
+			}
+			int depth = route.getPathSize() - 1;
+			if (records[depth] == null)
+			{
+				records[depth] = new MoveRecord(lift.getCapacity());
+			}
+			MoveRecord record = records[depth];
+			// Branches forked as separate tasks
+			List<SearchTask> tasks = null;
+			if (parallel && depth < splitDepth)
+			{
+				tasks = new ArrayList<SearchTask>();
+			}
+
+			// move people onto lift
+			Floor liftFloor = floors[lift.getCurrentFloor()];
+			liftFloor.movePeopleOntoLift(lift, LiftEntryDecision.DirectionIndependent, record);
+			CallRegister upCalls = floors[0].getUpCalls();
+			CallRegister downCalls = floors[0].getDownCalls();
+			// Only the floors being called are visited, and every move is undone before looking for the next one
+			for (int i = CallRegister.nextSetBit(0, upCalls, downCalls, lift.getButtons()); i != -1;
+					i = CallRegister.nextSetBit(i + 1, upCalls, downCalls, lift.getButtons()))
+			{
+				// Check if this floor is being called
+				if (lift.getCurrentFloor() != i)
+				{
+					// Move lift
+					lift.move(liftFloor, i, record);
+					route.addToPath(i);
+					// Update route status
+					route.setTotalWaitTimes(lift, people.length);
+					// Only continue if this route could still beat the best route found so far. The search only
+					// handles buildings small enough for every total to fit in an int
+					int waitSoFar = Math.toIntExact(route.getTotalWaitTimes());
+					int leastTotal = waitSoFar + lowerBound(people, lift);
+					if (leastTotal <= bound.get())
+					{
+						if (route.isCompleteRoute())
+						{
+							offerRoute(route);
+						}
+						// Once the budget has run out, only the bound of the branch is kept
+						else if (expired)
+						{
+							frontierBound.accumulateAndGet(leastTotal, Math::min);
+							prunedByBudget.increment();
+						}
+						// Get the rest of the optimum route for the current path (recursion), unless this state has already
+						// been explored with a route at least as good
+						else if (!getTable().isCovered(probe.encode(people, lift), waitSoFar, route.getPathSize(), parallel))
+						{
+							if (tasks != null)
+							{
+								Person[] taskPeople = Simulation.deepcopyPeople(people);
+								SearchTask task = new SearchTask(Simulation.deepcopyFloors(floors, taskPeople), taskPeople,
+										Simulation.deepcopyLift(lift, taskPeople), route.clone());
+								task.fork();
+								tasks.add(task);
+							}
+							else
+							{
+								calculateOptimumRoute();
+							}
+						}
+						else
+						{
+							prunedByTable.increment();
+						}
+					}
+					else
+					{
+						prunedByBound.increment();
+					}
+					// Reset current route and state
+					route.removeLastFloor();
+					route.setCompleteRoute(false);
+					lift.undoMove(record);
+				}
+			}
+			liftFloor.undoMovePeopleOntoLift(lift, record);
+			if (tasks != null)
+			{
+				for (SearchTask task : tasks)
+				{
+					task.join();
+				}
+			}
+		}
+	}
+}
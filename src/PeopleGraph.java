@@ -121,16 +121,31 @@ public class PeopleGraph
 	 */
 	private Map<Integer, Integer> readFiles(int noPeople, String system)
 	{
+		Map<Integer, Long> totals = new HashMap<>();
 		Map<Integer, Integer> noEntries = new HashMap<>();
 		Map<Integer, Integer> sortedAverages = new HashMap<>();
 		BufferedReader reader;
 		File f;
 		int fileNumber;
-		int noFloors = 1;
-		while (true) {
-			noFloors ++;
+		// Every number of floors that has been simulated is listed, however large, rather than trying each number in turn
+		File[] dirs = new File("SimulationData").listFiles(File::isDirectory);
+		if (dirs == null)
+		{
+			return sortedAverages;
+		}
+		for (File dir : dirs)
+		{
+			int noFloors;
+			try
+			{
+				noFloors = Integer.parseInt(dir.getName());
+			}
+			catch (NumberFormatException e)
+			{
+				continue;
+			}
 			fileNumber = 0;
-			f = new File("SimulationData/" + noFloors + "/" + noPeople);
+			f = new File(dir, Integer.toString(noPeople));
 			if (f.exists())
 			{
 				while (true)
@@ -141,24 +156,16 @@ public class PeopleGraph
 						f = new File("SimulationData/" + noFloors + "/" + noPeople + "/" + system + "/simulation" + fileNumber + ".txt");
 						reader = new BufferedReader(new FileReader(f));
 						String line = reader.readLine();
-						while (line != null || line == "")
+						while (line != null)
 						{
-							int time = Integer.parseInt(line);
-							if (sortedAverages.containsKey(noFloors))
-							{
-								noEntries.put(noFloors, noEntries.get(noFloors) + 1);
-								sortedAverages.replace(noFloors, ((sortedAverages.get(noFloors)*(noEntries.get(noFloors) - 1)) + time) / noEntries.get(noFloors));
-							}
-							else
-							{
-								sortedAverages.put(noFloors, time);
-								noEntries.put(noFloors, 1);
-							}
+							// Totals are kept rather than a running average, so that large wait times and many entries
+							// neither overflow nor lose precision
+							totals.merge(noFloors, Long.parseLong(line), Long::sum);
+							noEntries.merge(noFloors, 1, Integer::sum);
 							// read next line
 							line = reader.readLine();
 						}
 						reader.close();
-						fileNumber++;
 					}
 					catch (IOException e) 
 					{				
@@ -166,13 +173,8 @@ public class PeopleGraph
 					}
 				}
 			}
-			else
-			{
-				if (noFloors >= 50) 
-				{ 
-					return sortedAverages;
-				}	
-			}
-		}	
+		}
+		totals.forEach((key, total) -> sortedAverages.put(key, (int) (total / noEntries.get(key))));
+		return sortedAverages;
 	}
 }
@@ -19,10 +19,14 @@ public class Person
 	 * The floor this person want to go to.
 	 */
 	private int endFloor;
+	/**
+	 * The time (in lift movements) that this person arrived at their start floor.
+	 */
+	private long arrivalTime;
 	/**
 	 * The time (in lift movements) that it took for the lift to deliver this person.
 	 */
-	private int waitTime;
+	private long waitTime;
 	/**
 	 * Whether this person is inside the lift or not
 	 */
@@ -38,10 +42,22 @@ public class Person
 	 * @param endFloor		The floor this person must get to
 	 */
 	Person(int id, int startFloor, int endFloor)
+	{
+		this(id, startFloor, endFloor, 0);
+	}
+	/**
+	 * Constructor for a person who arrives at their start floor after the simulation has begun.
+	 * @param id			Unique ID that represents this person
+	 * @param startFloor	The floor this person will start at
+	 * @param endFloor		The floor this person must get to
+	 * @param arrivalTime	The time (in lift movements) this person arrives at their start floor
+	 */
+	Person(int id, int startFloor, int endFloor, long arrivalTime)
 	{
 		this.startFloor = startFloor;
 		this.endFloor = endFloor;
 		this.personId = id;
+		this.arrivalTime = arrivalTime;
 	}
 	/**
 	 * Getter for the end destination of this person
@@ -58,6 +74,16 @@ public class Person
 		this.onLift = false;
 		this.delivered = delivered;
 	}
+	/**
+	 * Reverts this person being delivered, putting them back on the lift with the wait time they had 
+	 * before.
+	 * @param waitTime			The wait time this person had before they were delivered
+	 */
+	public void undoDelivery(long waitTime) {
+		this.delivered = false;
+		this.onLift = true;
+		this.waitTime = waitTime;
+	}
 	/**
 	 * Getter for whether this person has been delivered
 	 * @return		True = yes they have been delivered, False = no they have not.
@@ -68,25 +94,25 @@ public class Person
 	}
 	/**
 	 * Setter for this person's wait time - calculates how many additional movements the lift has made before 
-	 * delivering this person.
+	 * delivering this person, counted from when they arrived.
 	 * @param noMovements		The amount of movements the lift has made since the beginning of the simulation
 	 */
-	public void setWaitTime(int noMovements) {
-		waitTime = noMovements - (Math.abs(startFloor - endFloor) + 1);
+	public void setWaitTime(long noMovements) {
+		waitTime = noMovements - arrivalTime - (Math.abs(startFloor - endFloor) + 1);
 	}
 	/**
 	 * Direct setter for this person's wait time. The value parsed into the function is what the wait time is 
 	 * set to.
 	 * @param waitTime		The value to set this person wait time to
 	 */
-	public void cloneWaitTime(int waitTime) {
+	public void cloneWaitTime(long waitTime) {
 		this.waitTime = waitTime;
 	}
 	/**
 	 * Getter for the amount of time this person waited to be delivered.
 	 * @return			The amount of time waited
 	 */
-	public int getWaitTime() {
+	public long getWaitTime() {
 		return waitTime;
 	}
 	/**
@@ -96,6 +122,13 @@ public class Person
 	public int getStartFloor() {
 		return startFloor;
 	}
+	/**
+	 * Getter for the time this person arrived at their start floor.
+	 * @return		The time in lift movements, 0 if they were there from the beginning
+	 */
+	public long getArrivalTime() {
+		return arrivalTime;
+	}
 	/**
 	 * Getter for this person ID value
 	 * @return		The ID number
@@ -110,7 +143,7 @@ public class Person
 	 */
 	public Person clone()
 	{
-		Person p = new Person(personId, startFloor, endFloor);
+		Person p = new Person(personId, startFloor, endFloor, arrivalTime);
 		p.setDelivered(this.delivered);
 		p.cloneWaitTime(this.waitTime);
 		p.setOnLift(this.onLift);
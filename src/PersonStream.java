@@ -0,0 +1,136 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * PersonStream object - Generates the people of a simulation one at a time in the order they arrive, instead
+ * of all of them before the simulation starts. Each start floor is selected from a probability distribution and
+ * each destination from every other floor, in the same way as {@link Simulation}, and each person arrives a
+ * random time after the last (so arrivals follow a Poisson process) while the lift is running. Nobody is kept
+ * once they have been handed out, so any number of people can be generated without using more memory.
+ *
+ * @author Annie Talbot
+ */
+public class PersonStream implements Iterator<Person>
+{
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The number of people the stream generates.
+	 */
+	private final int noPeople;
+	/**
+	 * The probability distribution used to determine each person's start floor.
+	 */
+	private final DiscreteDistribution pDist;
+	/**
+	 * The random stream used to select every start floor, destination and arrival time.
+	 */
+	private final SplittableRandom r;
+	/**
+	 * The average time (in lift movements) between one person arriving and the next.
+	 */
+	private final double meanGap;
+	/**
+	 * The number of people generated so far, which is also the ID of the next person.
+	 */
+	private int noGenerated = 0;
+	/**
+	 * The time the next person arrives, kept exactly so that rounding does not build up over many people.
+	 */
+	private double nextArrivalTime = 0;
+
+	/**
+	 * Constructor for a stream of people generated from the seed given, so that the same seed and set up
+	 * always gives the same people. The first person arrives at the start of the simulation.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param noPeople		The number of people to generate
+	 * @param pDist			The probability distribution used to determine each person's start floor
+	 * @param seed			The seed used to generate the people
+	 * @param meanGap		The average time in lift movements between arrivals, 0 for everyone to arrive
+	 * 						at the start
+	 */
+	PersonStream(int noFloors, int noPeople, DiscreteDistribution pDist, long seed, double meanGap)
+	{
+		if (noFloors < 2 || pDist.getNoFloors() != noFloors)
+		{
+			throw new IllegalArgumentException("The distribution must be spread across every floor of a building with at least two floors.");
+		}
+		if (!(meanGap >= 0))
+		{
+			throw new IllegalArgumentException("The time between arrivals must not be negative.");
+		}
+		this.noFloors = noFloors;
+		this.noPeople = noPeople;
+		this.pDist = pDist;
+		this.r = new SplittableRandom(seed);
+		this.meanGap = meanGap;
+	}
+
+	/**
+	 * Checks whether there is anyone left to arrive.
+	 * @return			True = at least one more person arrives
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		return noGenerated < noPeople;
+	}
+
+	/**
+	 * Generates the next person to arrive.
+	 * @return			The person, placed nowhere yet
+	 */
+	@Override
+	public Person next()
+	{
+		if (!hasNext())
+		{
+			throw new NoSuchElementException("Everyone has already arrived.");
+		}
+		int startFloor = pDist.getNextValue(r);
+		// Select from every other floor
+		int endFloor = r.nextInt(noFloors - 1);
+		if (endFloor >= startFloor)
+		{
+			endFloor++;
+		}
+		Person p = new Person(noGenerated, startFloor, endFloor, getNextArrivalTime());
+		noGenerated++;
+		if (meanGap > 0)
+		{
+			nextArrivalTime -= meanGap * Math.log(1 - r.nextDouble());
+		}
+		return p;
+	}
+
+	/**
+	 * Getter for the time the next person arrives.
+	 * @return			The time in lift movements
+	 */
+	public long getNextArrivalTime()
+	{
+		return (long) nextArrivalTime;
+	}
+
+	/**
+	 * Getter for the number of people generated so far.
+	 * @return			The number of people
+	 */
+	public int getNoGenerated()
+	{
+		return noGenerated;
+	}
+
+	/**
+	 * Getter for the number of people the stream generates.
+	 * @return			The number of people
+	 */
+	public int getNoPeople()
+	{
+		return noPeople;
+	}
+}
@@ -26,6 +26,19 @@ import java.awt.event.ActionEvent;
  */
 public class Program implements ActionListener
 {
+    /**
+     * The most floors a simulation can be given, which is the size of the large building benchmark
+     */
+    private static final int MAX_FLOORS = 10000;
+    /**
+     * The most people a simulation can be given, which is the size of the large building benchmark
+     */
+    private static final int MAX_PEOPLE = 1000000;
+    /**
+     * The most floors and people a simulation can have for the whole path of each route to be kept and printed,
+     * when the route is not being visualised
+     */
+    private static final int MAX_PRINTED_SIZE = 50;
     /**
     * The amount of floors the next simulation should have
     */
@@ -69,6 +82,10 @@ public class Program implements ActionListener
      * A check box for whether the optimal system should be run and displayed
      */
     JRadioButton visualiseOptBtn;
+    /**
+     * The longest the optimum system may search for in seconds, 0 for no limit
+     */
+    JSpinner optTimeSpn;
     /**
      * An array used to store the current probability of a person spawning on each floor
      */
@@ -108,7 +125,7 @@ public class Program implements ActionListener
         c.gridx = 0;
         c.gridy = 2;
         pane.add(new JLabel("No. Floors:"), c);
-        SpinnerModel noFloorsSpn = new SpinnerNumberModel(6, 2, 50, 1);     
+        SpinnerModel noFloorsSpn = new SpinnerNumberModel(6, 2, MAX_FLOORS, 1);     
         floorsSpn = new JSpinner(noFloorsSpn);
         c.gridx = 1;
         pane.add(floorsSpn, c);
@@ -117,7 +134,7 @@ public class Program implements ActionListener
         c.gridx = 0;
         c.gridy = 3;
         pane.add(new JLabel("No. People:"), c);
-        SpinnerModel noPeopleSpn = new SpinnerNumberModel(6, 2, 50, 1);     
+        SpinnerModel noPeopleSpn = new SpinnerNumberModel(6, 2, MAX_PEOPLE, 1);     
         peopleSpn = new JSpinner(noPeopleSpn);
         c.gridx = 1;
         pane.add(peopleSpn, c);
@@ -161,10 +178,18 @@ public class Program implements ActionListener
         visualiseAdvBtn = new JRadioButton("Visualise Advanced Route", true);
         c.gridy = 7;
         pane.add(visualiseAdvBtn, c);
-        visualiseOptBtn = new JRadioButton("Run Optimum Route (WARNING: Do not run with no. people > 6)", false);
+        visualiseOptBtn = new JRadioButton("Run Optimum Route (WARNING: Set a time limit with no. people > 20)", false);
         c.gridy = 8;
         pane.add(visualiseOptBtn, c);
         
+        // Optimum time limit spinner box
+        c.gridwidth = 1;
+        c.gridx = 3;
+        pane.add(new JLabel("Time limit (s):"), c);
+        optTimeSpn = new JSpinner(new SpinnerNumberModel(10, 0, 3600, 1));
+        c.gridx = 4;
+        pane.add(optTimeSpn, c);
+        
         // Run simulation button
         JButton simBtn = new JButton("Run Simulation");
         simBtn.setActionCommand("runSim");
@@ -263,23 +288,36 @@ public class Program implements ActionListener
             {
             	resize((int) floorsSpn.getValue());
                 Simulation sim = new Simulation((int) floorsSpn.getValue(), (int) peopleSpn.getValue(), new DiscreteDistribution(distribution));
+                // A large building stops too many times to keep or print every floor, unless it is being visualised
+                sim.setKeepPaths(visualiseMechBtn.isSelected() || visualiseAdvBtn.isSelected()
+                		|| ((int) floorsSpn.getValue() <= MAX_PRINTED_SIZE && (int) peopleSpn.getValue() <= MAX_PRINTED_SIZE));
                 Route mechRoute = sim.runMechanicalSystem();
                 informTxt.setText("Mechanical: " + mechRoute.print());
                 Route advRoute = sim.runAdvancedSystem();
                 informTxt.setText(informTxt.getText() + "\n Advanced: " +  advRoute.print());
                 if (visualiseAdvBtn.isSelected())
                 {
-                	VisualSimulation a = new VisualSimulation("Advanced", advRoute, sim.initPeople, sim.initFloors, sim.initLift, sim.initFloors.length);
+                	visualise("Advanced", advRoute, sim.getSnapshot());
                 }
                 if (visualiseMechBtn.isSelected())
                 {
-                	VisualSimulation m = new VisualSimulation("Mechanical", mechRoute, sim.initPeople, sim.initFloors, sim.initLift, sim.initFloors.length);
+                	visualise("Mechanical", mechRoute, sim.getSnapshot());
                 }
                 if (visualiseOptBtn.isSelected())
                 {
-                	Route optRoute = sim.runOptimumSystem();
-                	informTxt.setText(informTxt.getText() + "\n Optimum: " +  optRoute.print());
-                	VisualSimulation o = new VisualSimulation("Optimum", optRoute, sim.initPeople, sim.initFloors, sim.initLift, sim.initFloors.length);
+                	OptimumResult optResult = sim.runOptimumSystem(Runtime.getRuntime().availableProcessors(), OptimumSearch.DEFAULT_SPLIT_DEPTH,
+                			(int) optTimeSpn.getValue() * 1000L, 0);
+                	Route optRoute = optResult.getRoute();
+                	informTxt.setText(informTxt.getText() + "\n Optimum: " +  optRoute.print() + "\n " + optResult.print()
+                			+ "\n " + optResult.getStats().print());
+                	if (optRoute.isCompleteRoute())
+                	{
+                		visualise("Optimum", optRoute, sim.getSnapshot());
+                	}
+                	else
+                	{
+                		informTxt.setText(informTxt.getText() + "\n No route better than the mechanical system was found in the time limit.");
+                	}
                 }
                 break;
             }
@@ -327,6 +365,19 @@ public class Program implements ActionListener
     	
     }
     
+    /**
+     * Opens a window showing the lift following a route, starting from new people, floors and lift created from
+     * the starting state of the simulation so that each window has its own.
+     * @param simType			The name of the lift control system that found the route
+     * @param route				The route to follow
+     * @param snapshot			The starting state of the simulation
+     */
+    private void visualise(String simType, Route route, SimulationSnapshot snapshot)
+    {
+    	Person[] people = snapshot.createPeople();
+    	new VisualSimulation(simType, route, people, snapshot.createFloors(people), snapshot.createLift(), snapshot.getNoFloors());
+    }
+    
     /**
      * Changes the probability for a person to be spawned on a certain floor by changing the 
      * probability distribution.
@@ -0,0 +1,21 @@
+/**
+ * RoundRobinDispatcher object - Gives calls to the cars in turn, regardless of where they are. This is the
+ * simplest way of sharing calls between the cars, and is useful as a baseline for other dispatchers.
+ *
+ * @author Annie Talbot
+ */
+public class RoundRobinDispatcher implements Dispatcher
+{
+	/**
+	 * The car given the next call.
+	 */
+	private int nextCar = 0;
+
+	@Override
+	public int assignCall(int floor, boolean up, Lift[] cars, int[] noAssignedCalls)
+	{
+		int car = nextCar;
+		nextCar = (nextCar + 1) % cars.length;
+		return car;
+	}
+}
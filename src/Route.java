@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.LinkedList;
 /**
  * Route object - Holds the path that represents the route that the a lift object has taken (the
@@ -6,6 +7,9 @@ import java.util.LinkedList;
  * been delivered), the sum of the wait times of each person in the simulation and the method used
  * to move people into the lift. This object can then be used to visualise the simulation in 
  * another window.
+ * The path is held in a growable array of floor numbers, so reaching any floor of it takes the same
+ * time however long it is. A clone shares the array with the route it was cloned from until either
+ * of them changes its path, so a search can copy the best route so far without copying every floor.
  * 
  * @author Annie Talbot
  */
@@ -19,15 +23,34 @@ public class Route
 	/**
 	 * The sum total of each delivered person in the simulation's wait time.
 	 */
-	private int totalWaitTimes;
+	private long totalWaitTimes;
 	/**
-	 * The list of floors the lift travelled to in the order in which they were reached.
+	 * The floors the lift travelled to in the order in which they were reached, in the first 
+	 * {@link Route#size} entries.
 	 */
-	private LinkedList<Integer> path = new LinkedList<Integer>();
+	private int[] path = new int[16];
+	/**
+	 * The number of floors held in the path.
+	 */
+	private int size = 0;
+	/**
+	 * Whether the path array may also be held by a clone of this route (or the route this was cloned
+	 * from), in which case it is copied before being changed.
+	 */
+	private boolean shared = false;
 	/**
 	 * The method used to move people into the lift (direction dependent or independent)
 	 */
 	private LiftEntryDecision pickUpType;
+	/**
+	 * Whether every floor reached is kept in the path, or only the last one so that a route through a
+	 * large building takes no more memory than a short one.
+	 */
+	private boolean keepPath = true;
+	/**
+	 * The number of floors reached that are no longer in the path because it is not kept.
+	 */
+	private int noDroppedFloors = 0;
 	/**
 	 * Constructor for the route where there is no pre-existing path. Only the method used to 
 	 * move people onto the lift is specified.
@@ -36,7 +59,19 @@ public class Route
 	Route(LiftEntryDecision pickUpType)
 	{
 		this.pickUpType = pickUpType;
-		path.add(0);
+		path[size++] = 0;
+	}
+	/**
+	 * Constructor for the route where there is no pre-existing path, which only keeps the last floor
+	 * reached if the path is not to be kept. The number of floors reached and the total wait time are
+	 * still kept either way.
+	 * @param pickUpType		Method used to move people onto the lift
+	 * @param keepPath			True = keep every floor reached, False = only keep the last floor
+	 */
+	Route(LiftEntryDecision pickUpType, boolean keepPath)
+	{
+		this(pickUpType);
+		this.keepPath = keepPath;
 	}
 	/**
 	 * Constructor for the route where some of a pre-existing path has already been created. This 
@@ -46,7 +81,7 @@ public class Route
 	 * @param peopleWaitTotal	The sum total of each delivered person in the simulation's wait time.
 	 * @param path				The list of floors the lift travelled to in the order in which they were reached.
 	 */
-	Route(LiftEntryDecision pickUpType, int peopleWaitTotal, LinkedList<Integer> path)
+	Route(LiftEntryDecision pickUpType, long peopleWaitTotal, LinkedList<Integer> path)
 	{
 		this.pickUpType = pickUpType;
 		this.totalWaitTimes = peopleWaitTotal;
@@ -56,7 +91,7 @@ public class Route
 	 * Getter for the sum total of each delivered person in the simulation's wait time.
 	 * @return		The sum total
 	 */
-	public int getTotalWaitTimes() {
+	public long getTotalWaitTimes() {
 		return totalWaitTimes;
 	}
 	/**
@@ -67,7 +102,7 @@ public class Route
 	 */
 	public void setTotalWaitTimes(Person[] people) {
 		setCompleteRoute(true);
-		int total = 0;
+		long total = 0;
 		for (Person p : people)
 		{
 			if (p.isDelivered())
@@ -78,21 +113,39 @@ public class Route
 		}
 		this.totalWaitTimes = total;
 	}
+	/**
+	 * Setter for the total wait times that takes the total kept by the lift as it delivered people, rather
+	 * than summing every person's wait time again. This also sets the route as complete/finished if every
+	 * person has been delivered.
+	 * 
+	 * @param lift			The lift that has followed this route
+	 * @param noPeople		The number of people in the simulation
+	 */
+	public void setTotalWaitTimes(Lift lift, int noPeople) {
+		setCompleteRoute(lift.getNoDelivered() == noPeople);
+		this.totalWaitTimes = lift.getTotalWaitTimes();
+	}
 	/**
 	 * Setter for the sum total of every person's wait time. This just uses the value given and set the 
 	 * total to that value.
 	 * 
 	 * @param waitValue			The new value for the total wait times.
 	 */
-	public void setTotalWaitTimes(int waitValue) {
+	public void setTotalWaitTimes(long waitValue) {
 		this.totalWaitTimes = waitValue;
 	}
 	/**
-	 * Getter for the current route taken by the lift.
-	 * @return
+	 * Getter for the current route taken by the lift. The list is a new copy of the path, so changing it
+	 * does not change the route.
+	 * @return		The floors kept, in the order they were reached
 	 */
 	public LinkedList<Integer> getPath() {
-		return path;
+		LinkedList<Integer> list = new LinkedList<Integer>();
+		for (int i = 0; i < size; i++)
+		{
+			list.add(path[i]);
+		}
+		return list;
 	}
 	/**
 	 * Setter for the route taken by the lift.
@@ -101,7 +154,26 @@ public class Route
 	 * were reached.
 	 */
 	public void setPath(LinkedList<Integer> path) {
-		this.path = path;
+		this.path = new int[Math.max(16, path.size())];
+		this.size = 0;
+		this.shared = false;
+		for (int floor : path)
+		{
+			this.path[size++] = floor;
+		}
+	}
+	/**
+	 * Makes sure the path array belongs to this route alone and has room for the number of floors given,
+	 * copying it if it does not.
+	 * @param minLength			The number of floors the array must have room for
+	 */
+	private void ensureOwned(int minLength)
+	{
+		if (shared || path.length < minLength)
+		{
+			path = Arrays.copyOf(path, Math.max(minLength, shared ? path.length : path.length * 2));
+			shared = false;
+		}
 	}
 	/**
 	 * Add's a floor number to the path taken by the lift.
@@ -109,14 +181,41 @@ public class Route
 	 */
 	public void addToPath(int nextFloor)
 	{
-		path.add(nextFloor);
+		if (!keepPath)
+		{
+			// Replace the last floor rather than adding one
+			ensureOwned(size);
+			path[size - 1] = nextFloor;
+			noDroppedFloors++;
+			return;
+		}
+		ensureOwned(size + 1);
+		path[size++] = nextFloor;
 	}
 	/**
 	 * Removes the last added floor number from the list representing the path taken by the lift.
 	 */
 	public void removeLastFloor()
 	{
-		path.removeLast();
+		truncate(getPathSize() - 1);
+	}
+	/**
+	 * Cuts the path taken by the lift back to the number of moves given, as if the floors after them had 
+	 * never been added. Nothing is copied unless the path is shared with a clone.
+	 * @param pathSize			The number of moves to keep, no more than the current number
+	 */
+	public void truncate(int pathSize)
+	{
+		if (pathSize > getPathSize() || pathSize < 0)
+		{
+			throw new IndexOutOfBoundsException("A path of " + getPathSize() + " floors cannot be cut to " + pathSize + ".");
+		}
+		if (pathSize < getPathSize() && noDroppedFloors > 0)
+		{
+			throw new IllegalStateException("The floor before the last one of this route was not kept.");
+		}
+		// The floors kept are left as they are, so a clone sharing them is not affected
+		size = pathSize;
 	}
 	/**
 	 * Getter for the floor number that the lift reached on a certain move, given as a parameter.
@@ -125,15 +224,32 @@ public class Route
 	 */
 	public int getPathValue(int index)
 	{
-		return path.get(index);
+		if (index < noDroppedFloors)
+		{
+			throw new IllegalStateException("Only the last floor of this route was kept.");
+		}
+		if (index >= getPathSize())
+		{
+			throw new IndexOutOfBoundsException("The path has " + getPathSize() + " floors, not " + (index + 1) + ".");
+		}
+		return path[index - noDroppedFloors];
 	}
 	/**
-	 * Getter for the amount of moves the lift has made to a different floor
+	 * Getter for the amount of moves the lift has made to a different floor, including any floors that
+	 * were not kept in the path.
 	 * @return			The number of moves
 	 */
 	public int getPathSize()
 	{
-		return path.size();
+		return size + noDroppedFloors;
+	}
+	/**
+	 * Getter for whether every floor reached is kept in the path.
+	 * @return			True = every floor is kept, False = only the last floor is kept
+	 */
+	public boolean isKeepingPath()
+	{
+		return keepPath;
 	}
 	/**
 	 * Creates a copy of this route object
@@ -141,10 +257,36 @@ public class Route
 	 */
 	public Route clone()
 	{
-		Route clonedRoute = new Route(this.pickUpType, totalWaitTimes,(LinkedList<Integer>) path.clone());
+		Route clonedRoute = new Route(this.pickUpType);
+		clonedRoute.setTotalWaitTimes(totalWaitTimes);
 		clonedRoute.setCompleteRoute(isCompleteRoute());
+		clonedRoute.keepPath = keepPath;
+		clonedRoute.noDroppedFloors = noDroppedFloors;
+		// Share the path until either route changes it
+		clonedRoute.path = path;
+		clonedRoute.size = size;
+		clonedRoute.shared = true;
+		shared = true;
 		return clonedRoute;
 	}
+	/**
+	 * Compares the paths of this route and another route floor by floor.
+	 * @param other			The route to compare against
+	 * @return				True = this route's path comes first in floor order, False = it does not
+	 */
+	public boolean isPathBefore(Route other)
+	{
+		int length = Math.min(size, other.size);
+		for (int i = 0; i < length; i++)
+		{
+			int difference = path[i] - other.path[i];
+			if (difference != 0)
+			{
+				return difference < 0;
+			}
+		}
+		return size < other.size;
+	}
 	/**
 	 * Getter for whether this route has a complete/finished route
 	 * @return			True = complete route, False = not everyone has been delivered
@@ -173,13 +315,17 @@ public class Route
 	 */
 	public String print()
 	{
-		String outString = "The path taken: [  ";
-		for(int i : this.getPath())
+		StringBuilder outString = new StringBuilder("The path taken: [  ");
+		if (noDroppedFloors > 0)
+		{
+			outString.append(", (").append(noDroppedFloors).append(" floors not kept)");
+		}
+		for (int i = 0; i < size; i++)
 		{
-			outString += ", " + i;
+			outString.append(", ").append(path[i]);
 		}
-		outString += "  ]. Total Wait Time: " + this.getTotalWaitTimes();
-		return outString;
+		outString.append("  ]. Total Wait Time: ").append(this.getTotalWaitTimes());
+		return outString.toString();
 	}
 
 }
@@ -0,0 +1,370 @@
+import java.util.Arrays;
+
+/**
+ * RouteCache object - Remembers the states reached by paths already followed by a {@link RouteEvaluator}, so
+ * that evaluating a path that extends one of them only follows the new floors. The paths are held in a trie:
+ * each node is a floor reached, below the node of the floor reached before it, so paths that start the same
+ * way share the same nodes. A node may hold the state of the lift and people after the path to it (see
+ * {@link RouteEvaluator.State}), and a path is followed on from the deepest node along it that does.
+ * A state holds a few numbers for every floor of the building, so only a set number of states are kept. When
+ * there are too many, the state used least recently is dropped, along with any nodes that lead to no state.
+ * One cache can be shared by the evaluators of many threads, as long as each thread has its own evaluator and
+ * every evaluator is of the same simulation, with the same method of moving people onto the lift.
+ *
+ * @author Annie Talbot
+ */
+public class RouteCache
+{
+	/**
+	 * The most states kept at once.
+	 */
+	private final int capacity;
+	/**
+	 * The node of the ground floor, where every path starts. The state here is never kept, as a new evaluator
+	 * is already in it.
+	 */
+	private final Node root = new Node(null, 0);
+	/**
+	 * The start and end of the circular list of nodes holding a state. Its older neighbour is the most recently
+	 * used and its newer neighbour the least recently used.
+	 */
+	private final Node recent = new Node(null, -1);
+	/**
+	 * The number of states kept.
+	 */
+	private int noStates = 0;
+	/**
+	 * The number of paths evaluated that were followed on from a kept state.
+	 */
+	private long noHits = 0;
+	/**
+	 * The number of paths looked up.
+	 */
+	private long noLookups = 0;
+
+	/**
+	 * Constructor for an empty cache that keeps up to the number of states given.
+	 *
+	 * @param capacity		The most states kept at once
+	 */
+	RouteCache(int capacity)
+	{
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("The cache must be able to keep at least one state.");
+		}
+		this.capacity = capacity;
+		recent.newer = recent;
+		recent.older = recent;
+	}
+
+	/**
+	 * Follows the path given with the evaluator given and returns its combined wait time, in the same way as
+	 * {@link RouteEvaluator#evaluate(int[], int)}. The evaluator starts from whichever is further along the
+	 * path: the deepest state kept along it, or the path the evaluator last followed. The state reached is
+	 * then kept, so that the path can be extended without following it again.
+	 *
+	 * @param evaluator		The evaluator to follow the path with, which is left at the end of it
+	 * @param floors		The floors of the path in the order they are reached, starting with the ground floor
+	 * @param length		The number of floors of the array that are in the path
+	 * @return				The sum of the wait times of everyone delivered by the path
+	 */
+	public long evaluate(RouteEvaluator evaluator, int[] floors, int length)
+	{
+		RouteEvaluator.State cached = find(floors, length);
+		int cachedSize = cached == null ? 1 : cached.getPathSize();
+		if (cachedSize > evaluator.getSharedPrefix(floors, length))
+		{
+			evaluator.restore(cached, floors);
+		}
+		long total = evaluator.evaluate(floors, length);
+		if (length > cachedSize)
+		{
+			put(floors, length, evaluator.save());
+		}
+		return total;
+	}
+
+	/**
+	 * Follows the path of the route given in the same way as {@link RouteCache#evaluate(RouteEvaluator, int[], int)}.
+	 *
+	 * @param evaluator		The evaluator to follow the path with, which is left at the end of it
+	 * @param route			The route, which must keep every floor reached
+	 * @return				The sum of the wait times of everyone delivered by the route
+	 */
+	public long evaluate(RouteEvaluator evaluator, Route route)
+	{
+		return evaluate(evaluator, toArray(route), route.getPathSize());
+	}
+
+	/**
+	 * Finds the deepest state kept along the path given, which becomes the most recently used.
+	 *
+	 * @param floors		The floors of the path, starting with the ground floor
+	 * @param length		The number of floors of the array that are in the path
+	 * @return				The state, or null if no state along the path is kept
+	 */
+	public synchronized RouteEvaluator.State find(int[] floors, int length)
+	{
+		noLookups++;
+		Node node = root;
+		Node deepest = null;
+		for (int i = 1; i < length && node != null; i++)
+		{
+			node = node.getChild(floors[i]);
+			if (node != null && node.state != null)
+			{
+				deepest = node;
+			}
+		}
+		if (deepest == null)
+		{
+			return null;
+		}
+		noHits++;
+		deepest.unlink();
+		deepest.linkFirst(recent);
+		return deepest.state;
+	}
+
+	/**
+	 * Keeps the state reached by the path given as the most recently used, dropping the least recently used
+	 * state if there are too many.
+	 *
+	 * @param floors		The floors of the path, starting with the ground floor
+	 * @param length		The number of floors of the array that are in the path
+	 * @param state			The state reached by the path
+	 */
+	public synchronized void put(int[] floors, int length, RouteEvaluator.State state)
+	{
+		if (length < 2)
+		{
+			return;
+		}
+		Node node = root;
+		for (int i = 1; i < length; i++)
+		{
+			Node child = node.getChild(floors[i]);
+			if (child == null)
+			{
+				child = node.addChild(floors[i]);
+			}
+			node = child;
+		}
+		if (node.state == null)
+		{
+			noStates++;
+		}
+		else
+		{
+			node.unlink();
+		}
+		node.state = state;
+		node.linkFirst(recent);
+		while (noStates > capacity)
+		{
+			evict(recent.newer);
+		}
+	}
+
+	/**
+	 * Keeps the state reached by the path of the route given in the same way as
+	 * {@link RouteCache#put(int[], int, RouteEvaluator.State)}.
+	 *
+	 * @param route			The route, which must keep every floor reached
+	 * @param state			The state reached by the route
+	 */
+	public void put(Route route, RouteEvaluator.State state)
+	{
+		put(toArray(route), route.getPathSize(), state);
+	}
+
+	/**
+	 * Drops the state held by a node, and removes the node and any nodes above it that no longer lead to a state.
+	 *
+	 * @param node			The node
+	 */
+	private void evict(Node node)
+	{
+		node.unlink();
+		node.state = null;
+		noStates--;
+		while (node != root && node.state == null && node.noChildren == 0)
+		{
+			node.parent.removeChild(node);
+			node = node.parent;
+		}
+	}
+
+	/**
+	 * Copies the path of a route into an array.
+	 *
+	 * @param route			The route, which must keep every floor reached
+	 * @return				The floors of the path
+	 */
+	private static int[] toArray(Route route)
+	{
+		int[] floors = new int[route.getPathSize()];
+		for (int i = 0; i < floors.length; i++)
+		{
+			floors[i] = route.getPathValue(i);
+		}
+		return floors;
+	}
+
+	/**
+	 * Getter for the number of states kept.
+	 * @return			The number of states
+	 */
+	public synchronized int getNoStates()
+	{
+		return noStates;
+	}
+
+	/**
+	 * Getter for the number of paths evaluated that were followed on from a kept state.
+	 * @return			The number of paths
+	 */
+	public synchronized long getNoHits()
+	{
+		return noHits;
+	}
+
+	/**
+	 * Getter for the number of paths looked up in the cache.
+	 * @return			The number of paths
+	 */
+	public synchronized long getNoLookups()
+	{
+		return noLookups;
+	}
+
+	/**
+	 * A floor reached by one or more paths, with the floors reached next below it.
+	 */
+	private static class Node
+	{
+		/**
+		 * The node of the floor reached before this one, null for the ground floor at the root.
+		 */
+		private final Node parent;
+		/**
+		 * The floor reached.
+		 */
+		private final int floor;
+		/**
+		 * The nodes of the floors reached next. Only the first {@link Node#noChildren} entries are used, and
+		 * the array is not created until the first child is added.
+		 */
+		private Node[] children = null;
+		/**
+		 * The number of floors reached next.
+		 */
+		private int noChildren = 0;
+		/**
+		 * The state after the path to this node, or null if it is not kept.
+		 */
+		private RouteEvaluator.State state = null;
+		/**
+		 * The next node in the list of nodes holding a state, which was used more recently than this one.
+		 */
+		private Node newer;
+		/**
+		 * The previous node in the list of nodes holding a state, which was used less recently than this one.
+		 */
+		private Node older;
+
+		/**
+		 * Constructor for a node with no children and no state.
+		 *
+		 * @param parent		The node of the floor reached before, null for the root
+		 * @param floor			The floor reached
+		 */
+		Node(Node parent, int floor)
+		{
+			this.parent = parent;
+			this.floor = floor;
+		}
+
+		/**
+		 * Finds the node of a floor reached next from this one.
+		 *
+		 * @param childFloor	The floor
+		 * @return				The node, or null if no path kept goes there next
+		 */
+		Node getChild(int childFloor)
+		{
+			for (int k = 0; k < noChildren; k++)
+			{
+				if (children[k].floor == childFloor)
+				{
+					return children[k];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Adds a node for a floor reached next from this one, which must not already have one.
+		 *
+		 * @param childFloor	The floor
+		 * @return				The new node
+		 */
+		Node addChild(int childFloor)
+		{
+			if (children == null)
+			{
+				children = new Node[2];
+			}
+			else if (noChildren == children.length)
+			{
+				children = Arrays.copyOf(children, noChildren * 2);
+			}
+			Node child = new Node(this, childFloor);
+			children[noChildren++] = child;
+			return child;
+		}
+
+		/**
+		 * Removes a node from the floors reached next, moving the last child into its place.
+		 *
+		 * @param child			The node
+		 */
+		void removeChild(Node child)
+		{
+			for (int k = 0; k < noChildren; k++)
+			{
+				if (children[k] == child)
+				{
+					children[k] = children[--noChildren];
+					children[noChildren] = null;
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Adds this node to a list of nodes holding a state as the most recently used.
+		 *
+		 * @param head			The start and end of the list
+		 */
+		void linkFirst(Node head)
+		{
+			newer = head;
+			older = head.older;
+			head.older.newer = this;
+			head.older = this;
+		}
+
+		/**
+		 * Removes this node from the list of nodes holding a state that it is in.
+		 */
+		void unlink()
+		{
+			newer.older = older;
+			older.newer = newer;
+			newer = null;
+			older = null;
+		}
+	}
+}
@@ -0,0 +1,839 @@
+import java.util.Arrays;
+
+/**
+ * RouteEvaluator object - Works out the combined wait time of a path through the building, and whether it
+ * delivers everyone, without creating any {@link Person}, {@link Floor} or {@link Lift} objects. The lift
+ * follows the path in the same way as {@link Simulation#followRoute(Route, Floor[], Lift)}: before leaving
+ * each floor it faces the next floor of the path, the people waiting there get on, and then it moves, so the
+ * result is the same as following the path with the objects and calling
+ * {@link Route#setTotalWaitTimes(Person[])}.
+ * The lift does not need to know who is on it, only how many people are going to each floor and how long
+ * their journeys take, so boarding and delivering are a few sums per floor rather than per person.
+ * Every move is logged so it can be reverted, and the evaluator remembers the path it last followed. When a
+ * path that only differs from the last one in its tail is evaluated, the lift backs up to where the paths
+ * part and only follows the new tail. The state reached can also be saved (see {@link RouteEvaluator.State})
+ * and restored later, so that paths can be followed on from it (see {@link RouteCache}).
+ *
+ * @author Annie Talbot
+ */
+public class RouteEvaluator
+{
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The number of people in the simulation.
+	 */
+	private final int noPeople;
+	/**
+	 * The maximum number of people in the lift.
+	 */
+	private final int capacity;
+	/**
+	 * The method used to move people onto the lift.
+	 */
+	private final LiftEntryDecision pickUpType;
+	/**
+	 * The floor each person wants to go to.
+	 */
+	private final int[] endFloor;
+	/**
+	 * The time each person's journey would take if the lift went straight there, which is taken off the
+	 * time they are delivered to give their wait time.
+	 */
+	private final int[] directTime;
+	/**
+	 * For each floor, the people who start there and want to go upwards, in ID order.
+	 */
+	private final int[][] upQueue;
+	/**
+	 * For each floor, the people who start there and want to go downwards, in ID order.
+	 */
+	private final int[][] downQueue;
+	/**
+	 * For each floor, the position in its up queue of the next person to board.
+	 */
+	private final int[] upHead;
+	/**
+	 * For each floor, the position in its down queue of the next person to board.
+	 */
+	private final int[] downHead;
+	/**
+	 * For each floor, the number of people in the lift going there.
+	 */
+	private final int[] destCount;
+	/**
+	 * For each floor, the sum of the direct journey times of the people in the lift going there.
+	 */
+	private final long[] destTime;
+	/**
+	 * The number of people in the lift.
+	 */
+	private int noInLift;
+	/**
+	 * The number of movements the lift has made since the beginning of the simulation.
+	 */
+	private int noMovements;
+	/**
+	 * The number of people delivered so far.
+	 */
+	private int noDelivered;
+	/**
+	 * The sum of the wait times of everyone delivered so far.
+	 */
+	private long totalWait;
+	/**
+	 * The floors the lift has followed so far, in the first {@link RouteEvaluator#pathSize} entries. The
+	 * first is always the ground floor, where the lift starts.
+	 */
+	private int[] path = new int[16];
+	/**
+	 * The number of floors followed so far.
+	 */
+	private int pathSize = 1;
+	/**
+	 * The number of floors that had been followed when the evaluator was last restored to a saved state. The
+	 * moves to these floors were not logged, so backing up past them follows the path again from the start.
+	 */
+	private int baseSize = 1;
+	/**
+	 * For the move to each floor of the path, the position of the up queue of the floor left before boarding.
+	 */
+	private int[] savedUpHead = new int[16];
+	/**
+	 * For the move to each floor of the path, the position of the down queue of the floor left before boarding.
+	 */
+	private int[] savedDownHead = new int[16];
+	/**
+	 * For the move to each floor of the path, the number of people delivered there.
+	 */
+	private int[] savedDestCount = new int[16];
+	/**
+	 * For the move to each floor of the path, the sum of the direct journey times of the people delivered there.
+	 */
+	private long[] savedDestTime = new long[16];
+	/**
+	 * For the move to each floor of the path, the total wait time before the move.
+	 */
+	private long[] savedTotalWait = new long[16];
+
+	/**
+	 * Constructor for an evaluator of paths through the simulation given, with the lift on the ground floor
+	 * and everyone waiting on their start floor.
+	 *
+	 * @param snapshot		The starting state of the simulation
+	 * @param pickUpType	The method used to move people onto the lift
+	 */
+	RouteEvaluator(SimulationSnapshot snapshot, LiftEntryDecision pickUpType)
+	{
+		this.noFloors = snapshot.getNoFloors();
+		this.noPeople = snapshot.getNoPeople();
+		this.capacity = snapshot.getCapacity();
+		this.pickUpType = pickUpType;
+		endFloor = new int[noPeople];
+		directTime = new int[noPeople];
+		upQueue = new int[noFloors][];
+		downQueue = new int[noFloors][];
+		upHead = new int[noFloors];
+		downHead = new int[noFloors];
+		destCount = new int[noFloors];
+		destTime = new long[noFloors];
+
+		int[] noUp = new int[noFloors];
+		int[] noDown = new int[noFloors];
+		for (int i = 0; i < noPeople; i++)
+		{
+			int start = snapshot.getStartFloor(i);
+			endFloor[i] = snapshot.getEndFloor(i);
+			directTime[i] = Math.abs(start - endFloor[i]) + 1;
+			if (endFloor[i] > start)
+			{
+				noUp[start]++;
+			}
+			else
+			{
+				noDown[start]++;
+			}
+		}
+		for (int f = 0; f < noFloors; f++)
+		{
+			upQueue[f] = new int[noUp[f]];
+			downQueue[f] = new int[noDown[f]];
+			noUp[f] = 0;
+			noDown[f] = 0;
+		}
+		for (int i = 0; i < noPeople; i++)
+		{
+			int f = snapshot.getStartFloor(i);
+			if (endFloor[i] > f)
+			{
+				upQueue[f][noUp[f]++] = i;
+			}
+			else
+			{
+				downQueue[f][noDown[f]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Follows the path given and returns its combined wait time. Only the floors after the ones it shares
+	 * with the path followed last are moved to, so evaluating paths that only differ in their tails is
+	 * quick.
+	 *
+	 * @param floors		The floors of the path in the order they are reached, starting with the ground floor
+	 * @param length		The number of floors of the array that are in the path
+	 * @return				The sum of the wait times of everyone delivered by the path
+	 */
+	public long evaluate(int[] floors, int length)
+	{
+		if (length < 1 || floors[0] != 0)
+		{
+			throw new IllegalArgumentException("A path must start on the ground floor.");
+		}
+		int shared = getSharedPrefix(floors, length);
+		truncate(shared);
+		for (int i = shared; i < length; i++)
+		{
+			moveTo(floors[i]);
+		}
+		return totalWait;
+	}
+
+	/**
+	 * Follows the path of the route given and returns its combined wait time, in the same way as
+	 * {@link RouteEvaluator#evaluate(int[], int)}. The route's own method of moving people onto the lift
+	 * is not used, only the evaluator's.
+	 *
+	 * @param route			The route, which must keep every floor reached
+	 * @return				The sum of the wait times of everyone delivered by the route
+	 */
+	public long evaluate(Route route)
+	{
+		int length = route.getPathSize();
+		int[] floors = new int[length];
+		for (int i = 0; i < length; i++)
+		{
+			floors[i] = route.getPathValue(i);
+		}
+		return evaluate(floors, length);
+	}
+
+	/**
+	 * Finds how many of the first floors of the path given are the same as the path followed.
+	 *
+	 * @param floors		The floors of the path, starting with the ground floor
+	 * @param length		The number of floors of the array that are in the path
+	 * @return				The number of floors the paths share, at least one
+	 */
+	public int getSharedPrefix(int[] floors, int length)
+	{
+		int shared = 1;
+		int limit = Math.min(length, pathSize);
+		while (shared < limit && floors[shared] == path[shared])
+		{
+			shared++;
+		}
+		return shared;
+	}
+
+	/**
+	 * Adds a floor to the end of the path followed: the lift faces the floor, the people waiting on the
+	 * lift's floor get on, the lift moves to the floor and anyone going there gets off.
+	 *
+	 * @param nextFloor		The floor the lift moves to
+	 */
+	public void moveTo(int nextFloor)
+	{
+		if (nextFloor < 0 || nextFloor >= noFloors)
+		{
+			throw new IllegalArgumentException("Floor " + nextFloor + " is not in the building.");
+		}
+		ensureLength(pathSize + 1);
+		int f = path[pathSize - 1];
+		int step = pathSize;
+		savedUpHead[step] = upHead[f];
+		savedDownHead[step] = downHead[f];
+		board(f, nextFloor > f);
+
+		// add movements, plus 1 for time taken to stop
+		noMovements += Math.abs(nextFloor - f) + 1;
+		path[pathSize++] = nextFloor;
+
+		//drop off people in lift
+		int noLeaving = destCount[nextFloor];
+		savedDestCount[step] = noLeaving;
+		savedDestTime[step] = destTime[nextFloor];
+		savedTotalWait[step] = totalWait;
+		if (noLeaving > 0)
+		{
+			totalWait += (long) noLeaving * noMovements - destTime[nextFloor];
+			noDelivered += noLeaving;
+			noInLift -= noLeaving;
+			destCount[nextFloor] = 0;
+			destTime[nextFloor] = 0;
+		}
+	}
+
+	/**
+	 * Reverts the last move of the path followed, putting everyone delivered by it back on the lift and
+	 * everyone who boarded before it back on their floor.
+	 */
+	public void undoMove()
+	{
+		if (pathSize == 1)
+		{
+			throw new IllegalStateException("The lift has not moved.");
+		}
+		if (pathSize == baseSize)
+		{
+			truncate(pathSize - 1);
+			return;
+		}
+		int step = --pathSize;
+		int to = path[step];
+		int f = path[step - 1];
+
+		int noReturned = savedDestCount[step];
+		destCount[to] = noReturned;
+		destTime[to] = savedDestTime[step];
+		noInLift += noReturned;
+		noDelivered -= noReturned;
+		totalWait = savedTotalWait[step];
+		noMovements -= Math.abs(to - f) + 1;
+
+		// Everyone who boarded came from the front of the floor's queues
+		int[] up = upQueue[f];
+		for (int k = savedUpHead[step]; k < upHead[f]; k++)
+		{
+			leaveLift(up[k]);
+		}
+		upHead[f] = savedUpHead[step];
+		int[] down = downQueue[f];
+		for (int k = savedDownHead[step]; k < downHead[f]; k++)
+		{
+			leaveLift(down[k]);
+		}
+		downHead[f] = savedDownHead[step];
+	}
+
+	/**
+	 * Reverts moves until only the first floors of the path followed are left.
+	 *
+	 * @param size			The number of floors to keep, at least one
+	 */
+	public void truncate(int size)
+	{
+		if (size < 1)
+		{
+			throw new IllegalArgumentException("The lift must stay on the ground floor it starts from.");
+		}
+		if (size < baseSize)
+		{
+			// The moves before the restored state were not logged, so follow the path again
+			int[] floors = path;
+			reset();
+			for (int i = 1; i < size; i++)
+			{
+				moveTo(floors[i]);
+			}
+			return;
+		}
+		while (pathSize > size)
+		{
+			undoMove();
+		}
+	}
+
+	/**
+	 * Puts every person back on their start floor and the lift back on the ground floor.
+	 */
+	public void reset()
+	{
+		Arrays.fill(upHead, 0);
+		Arrays.fill(downHead, 0);
+		Arrays.fill(destCount, 0);
+		Arrays.fill(destTime, 0);
+		noInLift = 0;
+		noMovements = 0;
+		noDelivered = 0;
+		totalWait = 0;
+		path[0] = 0;
+		pathSize = 1;
+		baseSize = 1;
+	}
+
+	/**
+	 * Saves the state reached by the path followed, which can be restored by any evaluator of the same
+	 * simulation with the same method of moving people onto the lift.
+	 *
+	 * @return				The state
+	 */
+	public State save()
+	{
+		return new State(this);
+	}
+
+	/**
+	 * Puts the lift and people in a saved state, as though the path that reached it had just been followed.
+	 *
+	 * @param state			The state, saved by {@link RouteEvaluator#save()}
+	 * @param floors		The path that reached the state, starting with the ground floor
+	 */
+	public void restore(State state, int[] floors)
+	{
+		ensureLength(state.pathSize + 1);
+		System.arraycopy(floors, 0, path, 0, state.pathSize);
+		System.arraycopy(state.upHead, 0, upHead, 0, noFloors);
+		System.arraycopy(state.downHead, 0, downHead, 0, noFloors);
+		System.arraycopy(state.destCount, 0, destCount, 0, noFloors);
+		System.arraycopy(state.destTime, 0, destTime, 0, noFloors);
+		noInLift = state.noInLift;
+		noMovements = state.noMovements;
+		noDelivered = state.noDelivered;
+		totalWait = state.totalWait;
+		pathSize = state.pathSize;
+		baseSize = state.pathSize;
+	}
+
+	/**
+	 * Grows the path and the log of moves, if needed, to hold the number of floors given.
+	 * @param minLength		The number of floors
+	 */
+	private void ensureLength(int minLength)
+	{
+		if (minLength > path.length)
+		{
+			int newLength = Math.max(minLength, path.length * 2);
+			path = Arrays.copyOf(path, newLength);
+			savedUpHead = Arrays.copyOf(savedUpHead, newLength);
+			savedDownHead = Arrays.copyOf(savedDownHead, newLength);
+			savedDestCount = Arrays.copyOf(savedDestCount, newLength);
+			savedDestTime = Arrays.copyOf(savedDestTime, newLength);
+			savedTotalWait = Arrays.copyOf(savedTotalWait, newLength);
+		}
+	}
+
+	/**
+	 * Finds the least wait time still to be added by anyone not yet delivered, in the same way as
+	 * {@link OptimumSearch#lowerBound(Person[], Lift)}: each person is taken straight to their start floor
+	 * (if they are not on the lift) and then straight to their destination.
+	 *
+	 * @return				The minimum amount of wait time still to be added
+	 */
+	public int lowerBound()
+	{
+		int now = noMovements;
+		int liftFloor = getCurrentFloor();
+		int total = 0;
+		for (int f = 0; f < noFloors; f++)
+		{
+			// Straight to their destination from here
+			total += destCount[f] * (now + Math.abs(liftFloor - f)) - (int) (destTime[f] - destCount[f]);
+			int noWaiting = getNoWaiting(f);
+			if (f == liftFloor)
+			{
+				// Picked up here, then straight to their destination
+				total += noWaiting * now;
+			}
+			else
+			{
+				// Straight to their floor, then straight to their destination
+				total += noWaiting * (now + Math.abs(liftFloor - f) + 1);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Moves people waiting on a floor onto the lift, until the lift is full or nobody left can board.
+	 * "DirectionDependent" only boards people travelling in the lift's direction, "DirectionIndependent"
+	 * boards people in ID order regardless of direction.
+	 *
+	 * @param f				The floor the lift is on
+	 * @param goingUp		The direction the lift is facing
+	 */
+	private void board(int f, boolean goingUp)
+	{
+		int[] up = upQueue[f];
+		int[] down = downQueue[f];
+		while (noInLift < capacity)
+		{
+			boolean upLeft = upHead[f] < up.length;
+			boolean downLeft = downHead[f] < down.length;
+			int p;
+			if (pickUpType == LiftEntryDecision.DirectionIndependent)
+			{
+				if (upLeft && (!downLeft || up[upHead[f]] < down[downHead[f]]))
+				{
+					p = up[upHead[f]++];
+				}
+				else if (downLeft)
+				{
+					p = down[downHead[f]++];
+				}
+				else
+				{
+					break;
+				}
+			}
+			else if (goingUp && upLeft)
+			{
+				p = up[upHead[f]++];
+			}
+			else if (!goingUp && downLeft)
+			{
+				p = down[downHead[f]++];
+			}
+			else
+			{
+				break;
+			}
+			destCount[endFloor[p]]++;
+			destTime[endFloor[p]] += directTime[p];
+			noInLift++;
+		}
+	}
+
+	/**
+	 * Takes a person who boarded back off the lift.
+	 * @param p				The person
+	 */
+	private void leaveLift(int p)
+	{
+		destCount[endFloor[p]]--;
+		destTime[endFloor[p]] -= directTime[p];
+		noInLift--;
+	}
+
+	/**
+	 * Getter for the sum of the wait times of everyone delivered by the path followed.
+	 * @return			The total wait time
+	 */
+	public long getTotalWaitTimes()
+	{
+		return totalWait;
+	}
+
+	/**
+	 * Checks whether the path followed delivers everyone in the simulation.
+	 * @return			True = everyone has been delivered
+	 */
+	public boolean isCompleteRoute()
+	{
+		return noDelivered == noPeople;
+	}
+
+	/**
+	 * Getter for the number of people delivered by the last move of the path followed.
+	 * @return			The number of people
+	 */
+	public int getNoDeliveredByLastMove()
+	{
+		return pathSize == baseSize ? 0 : savedDestCount[pathSize - 1];
+	}
+
+	/**
+	 * Getter for the number of people delivered by the path followed.
+	 * @return			The number of people
+	 */
+	public int getNoDelivered()
+	{
+		return noDelivered;
+	}
+
+	/**
+	 * Getter for the number of people on the lift at the end of the path followed.
+	 * @return			The number of people
+	 */
+	public int getNoPeopleOnLift()
+	{
+		return noInLift;
+	}
+
+	/**
+	 * Getter for the number of movements the lift has made following the path.
+	 * @return			The time in lift movements
+	 */
+	public int getNoMovements()
+	{
+		return noMovements;
+	}
+
+	/**
+	 * Getter for the floor the lift is on at the end of the path followed.
+	 * @return			The floor
+	 */
+	public int getCurrentFloor()
+	{
+		return path[pathSize - 1];
+	}
+
+	/**
+	 * Getter for the direction the lift is travelling at the end of the path followed: towards the last floor
+	 * of the path, unless that is the top or bottom floor of the building.
+	 * @return			True = upwards, False = downwards
+	 */
+	public boolean isGoingUp()
+	{
+		if (pathSize == 1)
+		{
+			return true;
+		}
+		int floor = path[pathSize - 1];
+		if (floor == noFloors - 1)
+		{
+			return false;
+		}
+		return floor == 0 || floor > path[pathSize - 2];
+	}
+
+	/**
+	 * Getter for the number of floors in the path followed, including the ground floor it starts from.
+	 * @return			The number of floors
+	 */
+	public int getPathSize()
+	{
+		return pathSize;
+	}
+
+	/**
+	 * Getter for a floor of the path followed.
+	 * @param index			The position of the floor in the path
+	 * @return				The floor
+	 */
+	public int getPathValue(int index)
+	{
+		if (index >= pathSize)
+		{
+			throw new IndexOutOfBoundsException("The path followed only has " + pathSize + " floors.");
+		}
+		return path[index];
+	}
+
+	/**
+	 * Getter for the number of people waiting on a floor.
+	 * @param floorNum		The floor
+	 * @return				The number of people
+	 */
+	public int getNoWaiting(int floorNum)
+	{
+		return upQueue[floorNum].length - upHead[floorNum] + downQueue[floorNum].length - downHead[floorNum];
+	}
+
+	/**
+	 * Getter for the number of people waiting on a floor to travel in a direction.
+	 * @param floorNum		The floor
+	 * @param goingUp		The direction
+	 * @return				The number of people
+	 */
+	int getNoWaiting(int floorNum, boolean goingUp)
+	{
+		return goingUp ? upQueue[floorNum].length - upHead[floorNum] : downQueue[floorNum].length - downHead[floorNum];
+	}
+
+	/**
+	 * Getter for a person waiting on a floor to travel in a direction, in the order they board.
+	 * @param floorNum		The floor
+	 * @param goingUp		The direction
+	 * @param index			The number of people ahead of them
+	 * @return				The person's ID
+	 */
+	int getWaiting(int floorNum, boolean goingUp, int index)
+	{
+		return goingUp ? upQueue[floorNum][upHead[floorNum] + index] : downQueue[floorNum][downHead[floorNum] + index];
+	}
+
+	/**
+	 * Getter for the number of people on the lift going to a floor.
+	 * @param floorNum		The floor
+	 * @return				The number of people
+	 */
+	int getNoTravelling(int floorNum)
+	{
+		return destCount[floorNum];
+	}
+
+	/**
+	 * Getter for the sum of the direct journey times (see {@link RouteEvaluator#getDirectTime(int)}) of the
+	 * people on the lift going to a floor.
+	 * @param floorNum		The floor
+	 * @return				The sum of the journey times
+	 */
+	long getTravellingTime(int floorNum)
+	{
+		return destTime[floorNum];
+	}
+
+	/**
+	 * Getter for the floor a person wants to go to.
+	 * @param personId		The ID of the person
+	 * @return				The floor
+	 */
+	int getEndFloor(int personId)
+	{
+		return endFloor[personId];
+	}
+
+	/**
+	 * Getter for the time a person's journey would take if the lift went straight there, including the stop.
+	 * @param personId		The ID of the person
+	 * @return				The time in lift movements
+	 */
+	int getDirectTime(int personId)
+	{
+		return directTime[personId];
+	}
+
+	/**
+	 * Getter for the number of floors in the building.
+	 * @return			The number of floors
+	 */
+	public int getNoFloors()
+	{
+		return noFloors;
+	}
+
+	/**
+	 * Getter for the number of people in the simulation.
+	 * @return			The number of people
+	 */
+	public int getNoPeople()
+	{
+		return noPeople;
+	}
+
+	/**
+	 * Getter for the maximum number of people in the lift.
+	 * @return			The capacity
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * The state of the lift and people reached by following a path, saved by {@link RouteEvaluator#save()}.
+	 * A state never changes once saved, so it can be restored by evaluators on any thread.
+	 * Two states are equal if the lift is on the same floor going the same way, the same people are waiting
+	 * and the lift holds the same number of people for each floor, however long it took to get there: from
+	 * then on the same moves deliver the same people at the same times.
+	 */
+	public static final class State
+	{
+		/**
+		 * The number of floors in the path that reached this state.
+		 */
+		private final int pathSize;
+		/**
+		 * The floor the lift is on.
+		 */
+		private final int floor;
+		/**
+		 * The direction the lift is travelling. True = upwards, False = downwards.
+		 */
+		private final boolean goingUp;
+		/**
+		 * For each floor, the position in its up queue of the next person to board.
+		 */
+		private final int[] upHead;
+		/**
+		 * For each floor, the position in its down queue of the next person to board.
+		 */
+		private final int[] downHead;
+		/**
+		 * For each floor, the number of people in the lift going there.
+		 */
+		private final int[] destCount;
+		/**
+		 * For each floor, the sum of the direct journey times of the people in the lift going there.
+		 */
+		private final long[] destTime;
+		/**
+		 * The number of people in the lift.
+		 */
+		private final int noInLift;
+		/**
+		 * The number of movements the lift has made since the beginning of the simulation.
+		 */
+		private final int noMovements;
+		/**
+		 * The number of people delivered on the way to this state.
+		 */
+		private final int noDelivered;
+		/**
+		 * The sum of the wait times of everyone delivered on the way to this state.
+		 */
+		private final long totalWait;
+		/**
+		 * The hash code, worked out once from the fields compared by {@link State#equals(Object)}.
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor that copies the current state of an evaluator.
+		 *
+		 * @param evaluator		The evaluator
+		 */
+		private State(RouteEvaluator evaluator)
+		{
+			pathSize = evaluator.pathSize;
+			floor = evaluator.getCurrentFloor();
+			goingUp = evaluator.isGoingUp();
+			upHead = evaluator.upHead.clone();
+			downHead = evaluator.downHead.clone();
+			destCount = evaluator.destCount.clone();
+			destTime = evaluator.destTime.clone();
+			noInLift = evaluator.noInLift;
+			noMovements = evaluator.noMovements;
+			noDelivered = evaluator.noDelivered;
+			totalWait = evaluator.totalWait;
+			int h = 31 * floor + (goingUp ? 1 : 0);
+			h = 31 * h + Arrays.hashCode(upHead);
+			h = 31 * h + Arrays.hashCode(downHead);
+			hash = 31 * h + Arrays.hashCode(destCount);
+		}
+
+		/**
+		 * Getter for the number of floors in the path that reached this state.
+		 * @return			The number of floors
+		 */
+		public int getPathSize()
+		{
+			return pathSize;
+		}
+
+		/**
+		 * Getter for the sum of the wait times of everyone delivered on the way to this state.
+		 * @return			The total wait time
+		 */
+		public long getTotalWaitTimes()
+		{
+			return totalWait;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof State))
+			{
+				return false;
+			}
+			State other = (State) o;
+			return hash == other.hash && floor == other.floor && goingUp == other.goingUp
+					&& Arrays.equals(upHead, other.upHead) && Arrays.equals(downHead, other.downHead)
+					&& Arrays.equals(destCount, other.destCount);
+		}
+	}
+}
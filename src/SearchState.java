@@ -0,0 +1,221 @@
+import java.util.Arrays;
+
+/**
+ * SearchState object - A canonical encoding of the state of a simulation during the optimum search,
+ * used as the key of a {@link TranspositionTable}. Two states are equal when the lift is on the same
+ * floor travelling in the same direction and every person is in the same place (waiting, on the lift
+ * or delivered). People are always added to and removed from a floor in ID order, so the status of
+ * each person also fixes who is waiting on every floor and in which order.
+ * The elapsed movements are not part of the key: every person not yet delivered gains the same wait
+ * for each movement, so states reached at different times are compared through their
+ * {@link SearchState#getTimedCost(int)} instead.
+ * A single state can be encoded again and again as the search moves, and is only copied when it needs
+ * to be stored.
+ *
+ * @author Annie Talbot
+ */
+public class SearchState
+{
+	/**
+	 * Status value for a person waiting on their start floor.
+	 */
+	private static final long WAITING = 0;
+	/**
+	 * Status value for a person inside the lift.
+	 */
+	private static final long ON_LIFT = 1;
+	/**
+	 * Status value for a person who has been delivered.
+	 */
+	private static final long DELIVERED = 2;
+	/**
+	 * The encoded state. The first word holds the lift floor and direction, the rest hold 2 bits
+	 * of status for each person.
+	 */
+	private final long[] words;
+	/**
+	 * The hash of the encoded state, calculated once per encoding as states are only used as keys.
+	 */
+	private int hash;
+	/**
+	 * The number of people that have not yet been delivered in this state.
+	 */
+	private int noUndelivered;
+	/**
+	 * The number of movements the lift had made when this state was reached.
+	 */
+	private int noMovements;
+	/**
+	 * The timed cost of the route this state was explored with, when held by a {@link TranspositionTable}.
+	 */
+	private int exploredCost;
+	/**
+	 * The path size of the route this state was explored with, when held by a {@link TranspositionTable}.
+	 */
+	private int exploredPathSize;
+
+	/**
+	 * Constructor that creates an empty state for the given number of people. The state can then be
+	 * filled in with {@link SearchState#encode(Person[], Lift)} as many times as needed.
+	 *
+	 * @param noPeople		The number of people in the simulation
+	 */
+	SearchState(int noPeople)
+	{
+		words = new long[1 + (noPeople + 31) / 32];
+	}
+
+	/**
+	 * Constructor that encodes the current state of the people and lift.
+	 *
+	 * @param people		The people in the current state of the simulation
+	 * @param lift			The lift in the current state of the simulation
+	 */
+	SearchState(Person[] people, Lift lift)
+	{
+		this(people.length);
+		encode(people, lift);
+	}
+
+	/**
+	 * Overwrites this state with an encoding of the current state of the people and lift.
+	 *
+	 * @param people		The people in the current state of the simulation
+	 * @param lift			The lift in the current state of the simulation
+	 * @return				This state
+	 */
+	public SearchState encode(Person[] people, Lift lift)
+	{
+		Arrays.fill(words, 0);
+		words[0] = ((long) lift.getCurrentFloor() << 1) | (lift.isGoingUp() ? 1 : 0);
+		int undelivered = 0;
+		for (int i = 0; i < people.length; i++)
+		{
+			long status = WAITING;
+			if (people[i].isDelivered())
+			{
+				status = DELIVERED;
+			}
+			else
+			{
+				undelivered++;
+				if (people[i].isOnLift())
+				{
+					status = ON_LIFT;
+				}
+			}
+			words[1 + i / 32] |= status << (2 * (i % 32));
+		}
+		noUndelivered = undelivered;
+		// The search only handles buildings small enough for every time to fit in an int
+		noMovements = Math.toIntExact(lift.getNoMovements());
+		hash = Arrays.hashCode(words);
+		return this;
+	}
+
+	/**
+	 * Overwrites this state with an encoding of the state of a {@link FlatSimulation}.
+	 *
+	 * @param status		The status of each person, using the same values as this encoding
+	 * @param liftFloor		The floor the lift is on
+	 * @param goingUp		The direction the lift is travelling
+	 * @param noMovements	The number of movements the lift has made
+	 * @return				This state
+	 */
+	public SearchState encode(byte[] status, int liftFloor, boolean goingUp, int noMovements)
+	{
+		Arrays.fill(words, 0);
+		words[0] = ((long) liftFloor << 1) | (goingUp ? 1 : 0);
+		int undelivered = 0;
+		for (int i = 0; i < status.length; i++)
+		{
+			if (status[i] != DELIVERED)
+			{
+				undelivered++;
+			}
+			words[1 + i / 32] |= (long) status[i] << (2 * (i % 32));
+		}
+		noUndelivered = undelivered;
+		this.noMovements = noMovements;
+		hash = Arrays.hashCode(words);
+		return this;
+	}
+
+	/**
+	 * Creates a copy of this state that will not change when this state is encoded again.
+	 * @return		The copied state
+	 */
+	public SearchState copy()
+	{
+		SearchState copied = new SearchState(32 * (words.length - 1));
+		System.arraycopy(words, 0, copied.words, 0, words.length);
+		copied.hash = hash;
+		copied.noUndelivered = noUndelivered;
+		copied.noMovements = noMovements;
+		return copied;
+	}
+
+	/**
+	 * Converts the wait time of a partial route reaching this state into a value that can be compared
+	 * between routes reaching the same state after a different number of movements. Every completion of
+	 * the state adds the same amount to this value.
+	 *
+	 * @param waitSoFar		The combined wait time of the people delivered by the partial route
+	 * @return				The wait so far plus the wait already built up by everyone not yet delivered
+	 */
+	public int getTimedCost(int waitSoFar)
+	{
+		return waitSoFar + noUndelivered * noMovements;
+	}
+
+	/**
+	 * Records the route this state was explored with.
+	 *
+	 * @param cost			The timed cost of the route
+	 * @param pathSize		The size of the route's path
+	 */
+	public void setExplored(int cost, int pathSize)
+	{
+		this.exploredCost = cost;
+		this.exploredPathSize = pathSize;
+	}
+
+	/**
+	 * Getter for the timed cost of the route this state was explored with.
+	 * @return		The timed cost
+	 */
+	public int getExploredCost()
+	{
+		return exploredCost;
+	}
+
+	/**
+	 * Getter for the path size of the route this state was explored with.
+	 * @return		The path size
+	 */
+	public int getExploredPathSize()
+	{
+		return exploredPathSize;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if (this == o)
+		{
+			return true;
+		}
+		if (!(o instanceof SearchState))
+		{
+			return false;
+		}
+		SearchState other = (SearchState) o;
+		return hash == other.hash && Arrays.equals(words, other.words);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return hash;
+	}
+}
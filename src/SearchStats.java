@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SearchStats object - A snapshot of how much work an optimum search has done, used to tune the pruning
+ * and compare the different ways of running the search. Snapshots can be taken while the search is still
+ * running as well as once it is complete.
+ *
+ * @author Annie Talbot
+ */
+public class SearchStats
+{
+	/**
+	 * The number of states expanded (each state has every move from it tried).
+	 */
+	private final long nodesExpanded;
+	/**
+	 * The number of moves cut because the wait so far plus the lower bound could not beat the best route.
+	 */
+	private final long prunedByBound;
+	/**
+	 * The number of moves cut because their state had already been explored with a route at least as good.
+	 */
+	private final long prunedByTable;
+	/**
+	 * The number of moves left unexplored because the search's budget ran out.
+	 */
+	private final long prunedByBudget;
+	/**
+	 * The number of routes abandoned for growing abnormally long.
+	 */
+	private final long abandonedRoutes;
+	/**
+	 * The greatest number of moves into a route that the search reached.
+	 */
+	private final int maxDepth;
+	/**
+	 * Each time the best route was improved, as {time in milliseconds since the search started, combined
+	 * wait time of the new best route}.
+	 */
+	private final List<long[]> improvements;
+	/**
+	 * The time in milliseconds since the search started.
+	 */
+	private final long wallTime;
+	/**
+	 * The number of bytes allocated by the threads of the search, -1 if it is not known.
+	 */
+	private final long allocatedBytes;
+
+	/**
+	 * Constructor for a snapshot of a search.
+	 *
+	 * @param nodesExpanded		The number of states expanded
+	 * @param prunedByBound		The number of moves cut by the bound
+	 * @param prunedByTable		The number of moves cut by the transposition table
+	 * @param prunedByBudget	The number of moves left unexplored once the budget ran out
+	 * @param abandonedRoutes	The number of routes abandoned for growing abnormally long
+	 * @param maxDepth			The greatest number of moves into a route reached
+	 * @param improvements		Each improvement of the best route, as {milliseconds, wait time}
+	 * @param wallTime			The time in milliseconds since the search started
+	 * @param allocatedBytes	The number of bytes allocated by the search, -1 if it is not known
+	 */
+	SearchStats(long nodesExpanded, long prunedByBound, long prunedByTable, long prunedByBudget, long abandonedRoutes,
+			int maxDepth, List<long[]> improvements, long wallTime, long allocatedBytes)
+	{
+		this.nodesExpanded = nodesExpanded;
+		this.prunedByBound = prunedByBound;
+		this.prunedByTable = prunedByTable;
+		this.prunedByBudget = prunedByBudget;
+		this.abandonedRoutes = abandonedRoutes;
+		this.maxDepth = maxDepth;
+		this.improvements = Collections.unmodifiableList(new ArrayList<long[]>(improvements));
+		this.wallTime = wallTime;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * Getter for the number of states expanded.
+	 * @return		The number of states
+	 */
+	public long getNodesExpanded()
+	{
+		return nodesExpanded;
+	}
+
+	/**
+	 * Getter for the number of moves cut because they could not beat the best route.
+	 * @return		The number of moves
+	 */
+	public long getPrunedByBound()
+	{
+		return prunedByBound;
+	}
+
+	/**
+	 * Getter for the number of moves cut because their state had already been explored with a route at
+	 * least as good.
+	 * @return		The number of moves
+	 */
+	public long getPrunedByTable()
+	{
+		return prunedByTable;
+	}
+
+	/**
+	 * Getter for the number of moves left unexplored because the budget ran out.
+	 * @return		The number of moves
+	 */
+	public long getPrunedByBudget()
+	{
+		return prunedByBudget;
+	}
+
+	/**
+	 * Getter for the number of routes abandoned for growing abnormally long.
+	 * @return		The number of routes
+	 */
+	public long getAbandonedRoutes()
+	{
+		return abandonedRoutes;
+	}
+
+	/**
+	 * Getter for the greatest number of moves into a route that the search reached.
+	 * @return		The depth
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Getter for each improvement of the best route, in the order they were found.
+	 * @return		Each improvement, as {time in milliseconds since the search started, combined wait time}
+	 */
+	public List<long[]> getImprovements()
+	{
+		return improvements;
+	}
+
+	/**
+	 * Getter for the time since the search started.
+	 * @return		The time in milliseconds
+	 */
+	public long getWallTime()
+	{
+		return wallTime;
+	}
+
+	/**
+	 * Getter for the number of bytes allocated by the threads of the search. This is only known once the
+	 * search is complete, and only on JVMs that measure it.
+	 * @return		The number of bytes, -1 if it is not known
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	/**
+	 * Creates a string describing this snapshot.
+	 * @return		The description
+	 */
+	public String print()
+	{
+		String outString = "Nodes: " + nodesExpanded + ", Pruned (bound/table/budget): " + prunedByBound + "/" + prunedByTable
+				+ "/" + prunedByBudget + ", Max depth: " + maxDepth + ", Improvements: " + improvements.size() + ", Time: "
+				+ wallTime + "ms";
+		if (allocatedBytes >= 0)
+		{
+			outString += ", Allocated: " + allocatedBytes / 1024 + "KB";
+		}
+		if (abandonedRoutes > 0)
+		{
+			outString += ", Abandoned routes: " + abandonedRoutes;
+		}
+		return outString;
+	}
+}
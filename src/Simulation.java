@@ -2,7 +2,11 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Simulation object - The constructor takes an amount of floors in the building, people to be spawned
@@ -16,22 +20,39 @@ import java.util.Random;
 public class Simulation 
 {
 	/**
-	 * Array of floors representing the starting state of the building with every person on their start
-	 * floor.
+	 * The starting state of the simulation, which every run creates its own people, floors and lift from.
 	 */
-	Floor[] initFloors;
+	private final SimulationSnapshot snapshot;
 	/**
-	 * Array of people representing the starting state of the people for the simulation
+	 * The number of people the lift can hold when no capacity is given.
 	 */
-	Person[] initPeople;
+	static final int DEFAULT_CAPACITY = 10;
 	/**
-	 * Lift object used to hold the starting state of the lift
+	 * For each directory results are saved in, the simulation number to try next, so that the numbers already 
+	 * taken are not checked again every time results are saved.
 	 */
-	Lift initLift;
+	private static final ConcurrentHashMap<String, AtomicInteger> nextSimulationNum = new ConcurrentHashMap<String, AtomicInteger>();
+	/**
+	 * The route of the first run of the mechanical system, whose combined wait time the optimum search starts
+	 * from, or null if the mechanical system has not been run yet.
+	 */
+	private Route mechanicalRoute = null;
+	/**
+	 * The wait time of each person in the first run of the mechanical system, or null if it has not been run yet.
+	 */
+	private long[] mechanicalWaitTimes = null;
+	/**
+	 * Whether the routes of the mechanical and advanced systems keep every floor the lift reached.
+	 */
+	private boolean keepPaths = true;
+	/**
+	 * Whether the wait times of each system run are saved to 'SimulationData'.
+	 */
+	private boolean saveResults = true;
 	
 	/**
 	 * Constructor for a simulation that initiates the lift, the building (floors), spawns the people, 
-	 * and places the people onto their starting floor. 
+	 * and places the people onto their starting floor. The people are generated from a new random seed.
 	 * 
 	 * @param noFloors		the amount of floors that the building should have
 	 * @param noPeople		the amount of people that should be spawned for the simulation
@@ -40,536 +61,479 @@ public class Simulation
 	 */
 	Simulation(int noFloors, int noPeople, DiscreteDistribution pDist)
 	{
-		initLift = new Lift(noFloors, 10);
-		initFloors = instantiateFloors(noFloors);
-		initPeople = generatePeople(noPeople, initFloors, pDist);
+		this(noFloors, noPeople, pDist, ThreadLocalRandom.current().nextLong());
+	}
+	
+	/**
+	 * Constructor for a simulation whose people are generated from the seed given, so that the same seed
+	 * and set up always gives the same simulation. The distribution is only read, so it can be shared by
+	 * simulations being set up on different threads.
+	 * 
+	 * @param noFloors		the amount of floors that the building should have
+	 * @param noPeople		the amount of people that should be spawned for the simulation
+	 * @param pDist			a probability distribution used to determine the likelihood of a person
+	 * 						spawning on each floor
+	 * @param seed			the seed used to generate the people
+	 */
+	Simulation(int noFloors, int noPeople, DiscreteDistribution pDist, long seed)
+	{
+		this(noFloors, noPeople, pDist, seed, DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructor for a simulation whose people are generated from the seed given, with a lift that holds
+	 * the number of people given.
+	 * 
+	 * @param noFloors		the amount of floors that the building should have
+	 * @param noPeople		the amount of people that should be spawned for the simulation
+	 * @param pDist			a probability distribution used to determine the likelihood of a person
+	 * 						spawning on each floor
+	 * @param seed			the seed used to generate the people
+	 * @param capacity		the maximum number of people in the lift
+	 */
+	Simulation(int noFloors, int noPeople, DiscreteDistribution pDist, long seed, int capacity)
+	{
+		this(SimulationSnapshot.generate(noFloors, noPeople, pDist, seed, capacity));
+	}
+	
+	/**
+	 * Constructor for a simulation that starts from the snapshot given. The snapshot is never changed, so it can
+	 * be shared by simulations running on different threads.
+	 * 
+	 * @param snapshot		the starting state of the simulation
+	 */
+	Simulation(SimulationSnapshot snapshot)
+	{
+		this.snapshot = snapshot;
+	}
+	
+	/**
+	 * Getter for the seed that the people of this simulation were generated from.
+	 * @return		The seed
+	 */
+	public long getSeed()
+	{
+		return snapshot.getSeed();
+	}
+	
+	/**
+	 * Getter for the starting state of the simulation.
+	 * @return		The snapshot
+	 */
+	public SimulationSnapshot getSnapshot()
+	{
+		return snapshot;
+	}
+	
+	/**
+	 * Setter for whether the routes of the mechanical and advanced systems keep every floor the lift reached.
+	 * In a large building the lift stops hundreds of millions of times, so only keeping the last floor (along
+	 * with the number of stops and the total wait time) keeps the memory used bounded.
+	 * @param keepPaths		True = keep every floor, False = only keep the last floor
+	 */
+	public void setKeepPaths(boolean keepPaths)
+	{
+		if (keepPaths != this.keepPaths)
+		{
+			// The mechanical route kept from an earlier run no longer keeps the right floors
+			mechanicalRoute = null;
+			mechanicalWaitTimes = null;
+		}
+		this.keepPaths = keepPaths;
+	}
+	
+	/**
+	 * Setter for whether the wait times of each system run are saved to 'SimulationData'.
+	 * @param saveResults	True = save the wait times, False = only return the route
+	 */
+	public void setSaveResults(boolean saveResults)
+	{
+		this.saveResults = saveResults;
 	}
 
 	/**
-	 * A private function that instantiates the floor array (building) and every floor it contains
+	 * A function that instantiates the floor array (building) and every floor it contains
 	 * @param noFloors		The number of floors the building should contain, and thus the size of
 	 * 						the floors array
 	 * @return the fully initiated array of floors (building)
 	 */
-	private Floor[] instantiateFloors(int noFloors) 
+	static Floor[] instantiateFloors(int noFloors) 
 	{
 		Floor[] floors = new Floor[noFloors];
+		CallRegister upCalls = new CallRegister(noFloors);
+		CallRegister downCalls = new CallRegister(noFloors);
 		for (int i = 0; i < noFloors; i ++)
 		{
-			floors[i] = new Floor(i);
+			floors[i] = new Floor(i, upCalls, downCalls);
 		}
 		return floors;
 	}
 	
+	/** Runs a simulation using mechanical lift control - the lift moves all the way up and down the building,
+	 * stopping to pick up/ drop off people and only changing direction if the lift reaches the top or 
+	 * bottom floor. The calculated wait times for each person in the simulation are then saved to file and the
+	 * route taken returned. See {@link MechanicalController}.
+	 * The system always takes the same route, so it is only run once, whether by this or by the optimum system
+	 * needing its wait time first, and the result of that run is reused.
+	 * 
+	 * @return		The Route that contains the path taken by the lift during the simulation
+	 */
+	public Route runMechanicalSystem()
+	{
+		Route route = getMechanicalRoute();
+		// Save to file
+		if (saveResults)
+		{
+			saveResults(snapshot.getNoFloors(), mechanicalWaitTimes, "mechanical", snapshot.getSeed());
+		}
+		return route.clone();
+	}
+	
 	/**
-	 * A private function that generates the an array of newly created people, using a probability
-	 * distribution to determine the start floor and a random generator to determine the destination 
-	 * floor. Each person is then placed on their respective floors for the beginning of a simulation.
+	 * Gets the route of the mechanical system, running it without saving its wait times if it has not been run yet.
 	 * 
-	 * @param noPeople		The number of people to be spawned into the building
-	 * @param floors		The Floor array that represents the building, where each person must be 
-	 * 						placed
-	 * @param pDist			The probability distribution that is used to specify the likelihood of 
-	 * 						each floor becoming the next person's start floor
-	 * @return people		The fully initiated array of people
-	 */
-	private Person[] generatePeople(int noPeople, Floor[] floors, DiscreteDistribution pDist)
-	{
-		Person[] people = new Person[noPeople];
-		Random r = new Random();
-		int id = 0;
-		for (int i = 0; i < noPeople; i++)
+	 * @return		The route, which must not be changed
+	 */
+	private Route getMechanicalRoute()
+	{
+		if (mechanicalRoute == null)
 		{
-			int startFloor = pDist.getNextValue();
-			int endFloor = startFloor;
-			while (endFloor == startFloor)
-			{
-				endFloor = r.nextInt(floors.length);
-			}
-			Person p = new Person(id, startFloor, endFloor);
-			id++;
-			people[i] = p;
-			floors[startFloor].addPerson(p);
+			Person[] people = snapshot.createPeople();
+			mechanicalRoute = runController(new MechanicalController(), people);
+			mechanicalWaitTimes = getWaitTimes(people);
 		}
-		return people;
+		return mechanicalRoute;
 	}
 	
-	/** Runs a simulation using mechanical lift control - the lift moves all the way up and down the building,
-	 * stopping to pick up/ drop off people and only changing direction if the lift reaches the top or 
-	 * bottom floor. The calculated wait times for each person in the simulation are then saved to file and the
-	 * route taken returned.
+	/**
+	 * Gets the combined wait time of the mechanical system, running it if it has not been run yet.
 	 * 
-	 * @return		The Route that contains the path taken by the lift during the simulation
+	 * @return		The combined wait time
 	 */
-	public Route runMechanicalSystem()
+	private long getMechanicalWaitTime()
+	{
+		return getMechanicalRoute().getTotalWaitTimes();
+	}
+	
+	/**
+	 * Runs a simulation with the lift controlled by the controller given, which decides every floor the lift
+	 * moves to (see {@link LiftController}). The calculated wait times for each person in the simulation are
+	 * then saved to file and the route taken returned.
+	 * 
+	 * @param controller		The controller, which has not been used by another simulation
+	 * @param systemUsed		A string used to describe the controller when saving the wait times
+	 * @return					The Route that contains the path taken by the lift during the simulation
+	 */
+	public Route runController(LiftController controller, String systemUsed)
 	{
-		Person[] people = deepcopyPeople(initPeople);
-		Floor[] floors = deepcopyFloors(initFloors, people);
-		Lift lift = deepcopyLift(initLift, people);
+		Person[] people = snapshot.createPeople();
+		Route route = runController(controller, people);
+		// Save to file
+		if (systemUsed != null)
+		{
+			saveResults(snapshot.getNoFloors(), people, systemUsed);
+		}
+		return route;
+	}
+	
+	/**
+	 * Runs a simulation with the lift controlled by the controller given, in the same way as 
+	 * {@link Simulation#runController(LiftController, String)}, without saving the wait times.
+	 * 
+	 * @param controller		The controller, which has not been used by another simulation
+	 * @param people			New people of the simulation, who are left holding their wait times
+	 * @return					The Route that contains the path taken by the lift during the simulation
+	 */
+	private Route runController(LiftController controller, Person[] people)
+	{
+		Floor[] floors = snapshot.createFloors(people);
+		Lift lift = snapshot.createLift();
 
-		Route route = new Route(LiftEntryDecision.DirectionDependent);
-		while (!isEveryoneDelivered(people))
+		BuildingView view = new FloorBuildingView(floors, lift);
+		Route route = new Route(LiftEntryDecision.DirectionDependent, keepPaths);
+		while (!isEveryoneDelivered(lift, people))
 		{
-			// Move people onto the lift
-			floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
-			
-			// Calculate which floor is next
-			int nextFloor;
-			if (lift.isGoingUp())
-			{
-				nextFloor = floors.length - 1;
-				for (int i = lift.getCurrentFloor(); i < floors.length; i ++)
-				{
-					if (floors[i].isCallingUp() || lift.isCallingFloor(i))
-					{
-						nextFloor = i;
-						break;
-					}
-				}
-			}
-			else
-			{
-				nextFloor = 0;
-				for (int i = lift.getCurrentFloor(); i >= 0; i --)
-				{
-					if (floors[i].isCallingDown() || lift.isCallingFloor(i))
-					{
-						nextFloor = i;
-						break;
-					}
-				}
-			}
-			
-			// Move lift
-			lift.move(floors[lift.getCurrentFloor()], nextFloor);
-			route.addToPath(nextFloor);
+			step(floors, lift, view, controller, route);
 		}
 		// Calculate route wait times
-		route.setTotalWaitTimes(people);
-		// Save to file
-		saveResults(floors.length, people, "mechanical");
+		route.setTotalWaitTimes(lift, people.length);
 		return route;
 	}
 	
+	/**
+	 * Makes one decision of a controlled lift - moves people onto the lift, asks the controller where the lift goes
+	 * next, and moves it there.
+	 * 
+	 * @param floors			The building
+	 * @param lift				The lift
+	 * @param view				The view of the building and lift given to the controller
+	 * @param controller		The controller
+	 * @param route				The route taken so far, which the floor moved to is added to
+	 */
+	static void step(Floor[] floors, Lift lift, BuildingView view, LiftController controller, Route route)
+	{
+		// Move people onto the lift
+		floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
+		
+		// Calculate which floor is next
+		int nextFloor = controller.nextFloor(view);
+		lift.setGoingUp(controller.isGoingUp());
+		
+		// Move lift, unless it has only turned around
+		if (nextFloor != -1)
+		{
+			lift.move(floors[lift.getCurrentFloor()], nextFloor);
+			route.addToPath(nextFloor);
+		}
+	}
+	
 	/** Runs the simulation using the Optimum lift control system. This is not applicable in the real world but
 	 * can be used to find the optimum route that the lift could have taken for the purposes of this simulation. 
 	 * The algorithm uses recursion to test every possible (sensible) path that the lift could take, and then 
-	 * picks the best option. The wait time of each person in the simulation are then saved to file.
+	 * picks the best option, skipping any branch that provably cannot beat the best route found so far (see
+	 * {@link OptimumSearch}). The wait time of each person in the simulation are then saved to file.
 	 * 
 	 * @return The best (optimum) route that the lift could take for this simulation
 	 */
 	public Route runOptimumSystem()
 	{
-		int maxTime = runMechanicalSystem().getTotalWaitTimes();
-		Person[] people = deepcopyPeople(initPeople);
-		Floor[] floors = deepcopyFloors(initFloors, people);
-		Lift lift = deepcopyLift(initLift, people);
+		return runOptimumSystem(1, 0);
+	}
+	
+	/** Runs the simulation using the Optimum lift control system, splitting the search across a fork/join pool.
+	 * Branches less than the split depth into the route are searched as separate tasks that share the best route
+	 * found so far. The route returned is the same as the one found by {@link Simulation#runOptimumSystem()}.
+	 * 
+	 * @param parallelism		The number of threads to search with, 1 runs the search on the calling thread
+	 * @param splitDepth		The number of moves into a route after which branches are no longer split into
+	 * 							new tasks
+	 * @return The best (optimum) route that the lift could take for this simulation
+	 */
+	public Route runOptimumSystem(int parallelism, int splitDepth)
+	{
+		return runOptimumSystem(parallelism, splitDepth, 0, 0).getRoute();
+	}
+	
+	/** Runs the simulation using the Optimum lift control system within a budget. Once the time or number of states
+	 * explored runs out, the best route found so far is used, along with a proven lower bound on the wait of any route
+	 * so it is known how far from the optimum the route can be. A search that finishes within its budget returns the
+	 * same route as {@link Simulation#runOptimumSystem()}.
+	 * 
+	 * @param parallelism		The number of threads to search with, 1 runs the search on the calling thread
+	 * @param splitDepth		The number of moves into a route after which branches are no longer split into
+	 * 							new tasks
+	 * @param timeLimit			The longest the search may run for in milliseconds, 0 for no limit
+	 * @param nodeLimit			The most states the search may explore, 0 for no limit
+	 * @return The best route found, with the lower bound and optimality gap of the search
+	 */
+	public OptimumResult runOptimumSystem(int parallelism, int splitDepth, long timeLimit, long nodeLimit)
+	{
+		return runOptimumSystem(parallelism, splitDepth, timeLimit, nodeLimit, null, 0);
+	}
+	
+	/** Runs the simulation using the Optimum lift control system within a budget, reporting the stats of the search
+	 * every so often while it runs. The stats of the complete search are also held by the result.
+	 * 
+	 * @param parallelism		The number of threads to search with, 1 runs the search on the calling thread
+	 * @param splitDepth		The number of moves into a route after which branches are no longer split into
+	 * 							new tasks
+	 * @param timeLimit			The longest the search may run for in milliseconds, 0 for no limit
+	 * @param nodeLimit			The most states the search may explore, 0 for no limit
+	 * @param statsListener		Called with the stats of the search every report interval, null for no reports
+	 * @param reportInterval	The time in milliseconds between reports
+	 * @return The best route found, with the lower bound, optimality gap and stats of the search
+	 */
+	public OptimumResult runOptimumSystem(int parallelism, int splitDepth, long timeLimit, long nodeLimit,
+			Consumer<SearchStats> statsListener, long reportInterval)
+	{
+		// Any route is a valid starting bound, so one too long for the search is capped
+		int maxTime = (int) Math.min(Integer.MAX_VALUE, getMechanicalWaitTime());
+		Person[] people = snapshot.createPeople();
+		Floor[] floors = snapshot.createFloors(people);
+		Lift lift = snapshot.createLift();
 		
 		floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionIndependent);
-		// Call recursive function
-		Route finalRoute = calculateOptimumRoute(floors, people, lift, new Route(LiftEntryDecision.DirectionIndependent), maxTime);
+		// Run the branch and bound search, using the mechanical result as the first bound
+		OptimumSearch search = new OptimumSearch(maxTime);
+		search.setBudget(timeLimit, nodeLimit);
+		if (statsListener != null)
+		{
+			search.setStatsListener(statsListener, reportInterval);
+		}
+		if (parallelism > 1)
+		{
+			search.searchParallel(floors, people, lift, parallelism, splitDepth);
+		}
+		else
+		{
+			search.search(floors, people, lift);
+		}
 		// Write results to file
 		saveResults(floors.length, people, "optimum");
+		return search.getResult();
+	}
+	
+	/** Runs the simulation using the Dynamic lift control system. Like the optimum system this is not applicable in
+	 * the real world, but finds the same optimum route exactly and far faster for small buildings, by solving each
+	 * state of the simulation once (see {@link DynamicSolver}). The wait time of each person in the simulation are then
+	 * saved to file.
+	 * 
+	 * @return The best (optimum) route that the lift could take for this simulation
+	 */
+	public Route runDynamicSystem()
+	{
+		Person[] people = snapshot.createPeople();
+		Floor[] floors = snapshot.createFloors(people);
+		Lift lift = snapshot.createLift();
+		
+		floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionIndependent);
+		Route finalRoute = new DynamicSolver(floors.length, lift.getCapacity(), people, lift.getCurrentFloor()).solve(people);
+		followRoute(finalRoute, floors, lift);
+		// Write results to file
+		saveResults(floors.length, people, "dynamic");
 		return finalRoute;
 	}
 	
+	/** Runs the simulation using the Beam lift control system, a faster approximation of the optimum system for
+	 * simulations with too many people for the optimum search (see {@link BeamSearch}). The wait time of each
+	 * person in the simulation are then saved to file.
+	 * 
+	 * @return The best route found by the beam search
+	 */
+	public Route runBeamSystem()
+	{
+		return runBeamSystem(BeamSearch.DEFAULT_BEAM_WIDTH, true);
+	}
+	
+	/** Runs the simulation using the Beam lift control system, keeping the given number of partial routes after each
+	 * move. The wait time of each person in the simulation are then saved to file.
+	 * 
+	 * @param beamWidth			The number of partial routes kept after each move
+	 * @param parallel			True = expand the partial routes in parallel
+	 * @return The best route found by the beam search
+	 */
+	public Route runBeamSystem(int beamWidth, boolean parallel)
+	{
+		Person[] people = snapshot.createPeople();
+		Floor[] floors = snapshot.createFloors(people);
+		Lift lift = snapshot.createLift();
+		
+		floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionIndependent);
+		Route finalRoute = new BeamSearch(beamWidth, parallel).search(snapshot, floors, lift);
+		// Write results to file
+		saveResults(floors.length, people, "beam");
+		return finalRoute;
+	}
+	
+	/** Runs the simulation with a bank of lift cars instead of a single lift. Every call made on a floor is given
+	 * to one car by the dispatcher, and each car answers its own calls using collective control (see {@link LiftBank}). The wait time of each
+	 * person in the simulation are then saved to file.
+	 * 
+	 * @param noCars			The number of cars in the bank, each the same size as the single lift
+	 * @param dispatcher		The dispatcher giving calls to the cars
+	 * @return The route of each car, with the wait times per car and for the whole bank
+	 */
+	public BankResult runBankSystem(int noCars, Dispatcher dispatcher)
+	{
+		return runBankSystem(noCars, dispatcher, CollectiveController::new);
+	}
+	
+	/** Runs the simulation with a bank of lift cars in the same way as {@link Simulation#runBankSystem(int, Dispatcher)},
+	 * with each car driven by its own controller, which only sees the calls given to its car.
+	 * 
+	 * @param noCars			The number of cars in the bank, each the same size as the single lift
+	 * @param dispatcher		The dispatcher giving calls to the cars
+	 * @param controller		Creates the controller of each car
+	 * @return The route of each car, with the wait times per car and for the whole bank
+	 */
+	public BankResult runBankSystem(int noCars, Dispatcher dispatcher, Supplier<LiftController> controller)
+	{
+		Person[] people = snapshot.createPeople();
+		Floor[] floors = snapshot.createFloors(people);
+		
+		BankResult result = new LiftBank(floors, people, noCars, snapshot.getCapacity(), dispatcher, controller).run();
+		// Write results to file
+		saveResults(floors.length, people, "bank" + noCars);
+		return result;
+	}
+	
 	/**
-	 * Recursion algorithm that finds the best path (minimises combined wait time of the people) from the current route (passed
-	 * as a parameter) by comparing every option for the next floor to go to.
+	 * Runs the simulation using the lift control system given.
 	 * 
-	 * @param startFloors		The initial state of the building
-	 * @param startPeople		The initial state of the people
-	 * @param startLift			The initial state of the lift
-	 * @param startRoute		The initial state of the current route
-	 * @param mechTime			The combined total wait times of the mechanical system
-	 * @return			The Route that contains the best complete path from the initial route given as a parameter
-	 */
-	private Route calculateOptimumRoute(Floor[] startFloors, Person[] startPeople, Lift startLift, Route startRoute, int mechTime)
-	{
-		Route currentRoute = startRoute.clone();
-		Route bestRoute = startRoute.clone();
-		// If the path is abnormally long then something has gone wrong, so exit this recursion
-		if (startRoute.getPathSize() > startPeople.length * 2)
-		{
-			bestRoute.setCompleteRoute(false);
-			System.err.println("Incorrect route path created.");
-			return bestRoute;
-		}
-		for (int i = 0; i < startFloors.length; i++)
+	 * @param system		The lift control system to use
+	 * @return				The route that the lift took during this simulation
+	 */
+	public Route runSystem(LiftSystem system)
+	{
+		switch (system)
 		{
-			// Make copy of lift, floors and people so overall outcome is not affected
-			Person[] testPeople = deepcopyPeople(startPeople);
-			Lift testLift = deepcopyLift(startLift, testPeople);
-			Floor[] testFloors = deepcopyFloors(startFloors, testPeople);
-
-			// move people onto lift
-			testFloors[testLift.getCurrentFloor()].movePeopleOntoLift(testLift, LiftEntryDecision.DirectionIndependent);
-			// Check if this floor is being called
-			if ((testFloors[i].isCallingDown() || testFloors[i].isCallingUp() || testLift.isCallingFloor(i)) && testLift.getCurrentFloor() != i)
-			{
-				// Move lift
-				testLift.move(testFloors[testLift.getCurrentFloor()], i);
-				currentRoute.addToPath(i);
-				// Update route status
-				currentRoute.setTotalWaitTimes(testPeople);
-				if (currentRoute.getTotalWaitTimes() <= mechTime)	// If this route is less than the mechanical result
-				{
-					// check if the lift has finished, else get the rest of the optimum route for the current path (recursion)
-					if (!isEveryoneDelivered(testPeople))
-					{
-						currentRoute = calculateOptimumRoute(testFloors, testPeople, testLift, currentRoute, mechTime);
-					}
-					
-					// Update best route
-					if (currentRoute.isCompleteRoute())
-					{
-						if (bestRoute.isCompleteRoute())
-						{
-							if (currentRoute.getTotalWaitTimes() < bestRoute.getTotalWaitTimes())
-							{
-								bestRoute = currentRoute.clone();
-							}
-						}
-						else
-						{
-							bestRoute = currentRoute.clone();
-						}
-					}
-				}
-				// Reset current route
-				for (int j = currentRoute.getPathSize(); j > startRoute.getPathSize(); j --)
-				{
-					currentRoute.removeLastFloor();
-					currentRoute.setCompleteRoute(false);
-				}
-
-			}
+			case Mechanical:
+				return runMechanicalSystem();
+			case Advanced:
+				return runAdvancedSystem();
+			case Optimum:
+				return runOptimumSystem();
+			case Dynamic:
+				return runDynamicSystem();
+			case Beam:
+				return runBeamSystem();
+			default:
+				throw new IllegalArgumentException("Unknown lift system: " + system);
 		}
-		// Run best path found
-		for (int i = startRoute.getPathSize(); i < bestRoute.getPathSize(); i++)
-		{
-			if (bestRoute.getPathValue(i) > startLift.getCurrentFloor())
-			{
-				startLift.setGoingUp(true);
-			}
-			else
-			{
-				startLift.setGoingUp(false);
-			}
-			startFloors[startLift.getCurrentFloor()].movePeopleOntoLift(startLift, LiftEntryDecision.DirectionIndependent);
-			startLift.move(startFloors[startLift.getCurrentFloor()], bestRoute.getPathValue(i));
-		}
-		return bestRoute;
 	}
+	
 	/**
 	 * Advanced lift movement algorithm - divides the building into 3 section; top, middle and bottom. When the lift is in either
 	 * top/bottom and capacity is not reached, everyone who can be delivered in the section is delivered before the lift moves on.
 	 * In the middle section, the lift will move in the direction it is already travelling unless there is no one to pick up or
 	 * drop off in that direction. If the capacity is likely to be full, the lift will only travel somewhere it can drop someone
-	 * off.
+	 * off. See {@link AdvancedController}.
 	 * 
 	 * @return		The route that the lift took during this simulation
 	 */
 	public Route runAdvancedSystem() 
 	{
-		Person[] people = deepcopyPeople(initPeople);
-		Floor[] floors = deepcopyFloors(initFloors, people);
-		Lift lift = deepcopyLift(initLift, people);
-		
-		// The percentage of building that counts as 'bottom' or 'top' section.
-		int floorPercentile = 20;
-		int floorBounds = (int) floors.length * floorPercentile/ 100;
-		
-		floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
-		Route route = new Route(LiftEntryDecision.DirectionDependent);
-		while (!isEveryoneDelivered(people))
-		{
-			int nextFloor = -1;
-			if (lift.getCurrentFloor() <= floorBounds) // If lift is in bottom section
-			{
-				// Find highest floor (in bottom section) that someone is requesting to move down/drop off
-				for (int i = floorBounds; i >= 0; i--)
-				{
-					if (floors[i].isCallingDown())
-					{
-						lift.setGoingUp(false);
-						nextFloor = i;
-						break;
-					}
-				}
-				// If nobody in the bottom section is going down
-				if (nextFloor == -1)
-				{
-					// Find lowest floor with a request to move upwards/drop off
-					for (int i = 0; i < floors.length; i++)
-					{
-						if (floors[i].isCallingUp() || lift.isCallingFloor(i))
-						{
-							lift.setGoingUp(true);
-							nextFloor = i;
-							break;
-						}
-					}
-				}
-				// If nobody needs to move upwards
-				if (nextFloor == -1)
-				{
-					// Find highest floor with someone requesting to move downwards
-					for (int i = floors.length - 1; i >= 0; i--)
-					{
-						if (floors[i].isCallingDown() || lift.isCallingFloor(i))
-						{
-							lift.setGoingUp(false);
-							nextFloor = i;
-							break;
-						}
-					}
-				}
-				// Next floor now is selected
-				if (lift.getNumDifferentCalls() >= lift.getCapacity() - 2 && !lift.isCallingFloor(nextFloor)) // If lift capacity is likely to have been reached.
-				{
-					if (!lift.isGoingUp())
-					{
-						// Find highest drop off location in bottom section of the building
-						for (int i = floorBounds; i >= 0; i--)
-						{
-							if (lift.isCallingFloor(i))
-							{
-								nextFloor = i;
-								break;
-							}
-						}
-					}
-					if (nextFloor == -1) // If lift is going upwards or there is nobody to drop off in the bottom section
-					{
-						// Find lowest drop off location for whole building
-						for (int i = 0; i < floors.length; i++)
-						{
-							if (lift.isCallingFloor(i))
-							{
-								lift.setGoingUp(true);
-								nextFloor = i;
-								break;
-							}
-						}
-					}
-				}
-				// Move lift
-				lift.move(floors[lift.getCurrentFloor()], nextFloor);
-				route.addToPath(nextFloor);
-				floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
-			}
-			else if(lift.getCurrentFloor() >= floors.length - floorBounds - 1)	// If lift is in top section
-			{
-				// Find lowest floors with a request to move upwards/drop off in top section
-				for (int i = floors.length - floorBounds - 1; i < floors.length; i++)
-				{
-					if (floors[i].isCallingUp())
-					{
-						lift.setGoingUp(true);
-						nextFloor = i;
-						break;
-					}
-				}
-				
-				if (nextFloor == -1) // If nobody is moving upwards
-				{
-					// Find highest floor with somebody moving downwards
-					for (int i = floors.length - 1; i >= 0; i--)
-					{
-						if (floors[i].isCallingDown() || lift.isCallingFloor(i))
-						{
-							lift.setGoingUp(false);
-							nextFloor = i;
-							break;
-						}
-						
-					}
-				}
-				if (nextFloor == -1) // If nobody is moving downwards
-				{
-					// Find lowest floor that has somebody moving upwards/drop off
-					for (int i = 0; i < floors.length; i++)
-					{
-						if (floors[i].isCallingUp() || lift.isCallingFloor(i))
-						{
-							lift.setGoingUp(true);
-							nextFloor = i;
-							break;
-						}
-					}
-				}
-				// Next floors is definitely selected now
-				if (lift.getNumDifferentCalls() >= lift.getCapacity() - 2 && !lift.isCallingFloor(nextFloor)) // If lift capacity is likely to have been reached.
-				{
-					if (lift.isGoingUp())
-					{
-						// Find lowest drop off location in top section of the building
-						for (int i = floors.length - floorBounds - 1; i < floors.length; i++)
-						{
-							if (lift.isCallingFloor(i))
-							{
-								nextFloor = i;
-								break;
-							}
-						}
-					}
-					if (nextFloor == -1) // If lift is going downwards or there is nobody to drop off in the top section
-					{
-						// Find highest drop off location for whole building
-						for (int i = floors.length - 1; i >= 0; i--)
-						{
-							if (lift.isCallingFloor(i))
-							{
-								lift.setGoingUp(false);
-								nextFloor = i;
-								break;
-							}
-						}
-					}
-				}
-				lift.move(floors[lift.getCurrentFloor()], nextFloor);
-				route.addToPath(nextFloor);
-				floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
-			}
-			else // Lift is in the middle
-			{
-				if (lift.isGoingUp())
-				{
-					// If lift capacity is likely to have been reached
-					if (!(lift.getNumDifferentCalls() >= lift.getCapacity() - 2))
-					{
-						//Check that no floors just below have people wanting to go upwards
-						for (int i = lift.getCurrentFloor() - floorBounds; i < lift.getCurrentFloor(); i++)
-						{
-							if (floors[i].isCallingUp())
-							{
-								nextFloor = i;
-								break;
-							}
-						}
-					}
-					if (nextFloor == -1) // If no floors just below have someone waiting to go upwards
-					{
-						// Find closest floor above with a request for upwards movement/drop off
-						for (int i = lift.getCurrentFloor(); i < floors.length; i++)
-						{
-							if (floors[i].isCallingUp() || lift.isCallingFloor(i))
-							{
-								nextFloor = i;
-								break;
-							}
-						}
-					
-						if (nextFloor == -1) // If no floors above want to move upwards
-						{
-							// Find highest floor with a request to move downwards
-							for (int i = floors.length - 1; i >= 0; i--)
-							{
-								if (floors[i].isCallingDown() || lift.isCallingFloor(i))
-								{
-									lift.setGoingUp(false);
-									nextFloor = i;
-									break;
-								}
-							}
-						}
-					}
-					if (nextFloor == -1)	// If no floors above want to move downwards/upwards
-					{
-						// Run algorithm again with the lift starting off moving downwards.
-						lift.setGoingUp(false);
-					}
-					else
-					{
-						// Move lift
-						lift.move(floors[lift.getCurrentFloor()], nextFloor);
-						route.addToPath(nextFloor);
-						floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
-					}
-				}
-				else 
-				{
-					// If lift capacity is likely to have been reached
-					if (!(lift.getNumDifferentCalls() >= lift.getCapacity() - 2))
-					{
-						//Check that no floors just below have people wanting to go upwards
-						for (int i = lift.getCurrentFloor() + floorBounds; i > lift.getCurrentFloor(); i--)
-						{
-							if (floors[i].isCallingDown())
-							{
-								nextFloor = i;
-								break;
-							}
-						}
-					}
-					if (nextFloor == -1) // If no floors just below have someone waiting to go downwards
-					{
-						// Find closest floor below with a request for downwards movement/drop off
-						for (int i = lift.getCurrentFloor(); i >=0; i--)
-						{
-							if (floors[i].isCallingDown() || lift.isCallingFloor(i))
-							{
-								nextFloor = i;
-								break;
-							}
-						}
-					
-						if (nextFloor == -1) // If no floors above want to move downwards
-						{
-							// Find lowest floor with a request to move upwards
-							for (int i = floors.length - 1; i >= 0; i--)
-							{
-								if (floors[i].isCallingUp() || lift.isCallingFloor(i))
-								{
-									lift.setGoingUp(true);
-									nextFloor = i;
-									break;
-								}
-							}
-						}
-					}
-					if (nextFloor == -1)	// If no floors below want to move downwards/upwards
-					{
-						// Run algorithm again with the lift starting off moving upwards.
-						lift.setGoingUp(true);
-					}
-					else
-					{
-						// Move lift
-						lift.move(floors[lift.getCurrentFloor()], nextFloor);
-						route.addToPath(nextFloor);
-						floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, LiftEntryDecision.DirectionDependent);
-
-					}
-				}
-			}
-		
-		}
-		route.setTotalWaitTimes(people);
-		saveResults(floors.length, people, "advanced");
-		return route;
+		return runController(new AdvancedController(), "advanced");
 	}
 	
 	/**
-	 * A private function to test if every person in the simulation is delivered
+	 * A function to test if every person in the simulation is delivered, using the number of people the lift
+	 * has delivered so that nobody needs to be checked
+	 * @param lift			The lift of the simulation
 	 * @param people		The people to test
 	 * @return				True = everyone has been delivered,
 	 * 						False = at least one person has not been delivered
 	 */
-	private boolean isEveryoneDelivered(Person[] people)
+	static boolean isEveryoneDelivered(Lift lift, Person[] people)
 	{
-		boolean allDelivered = true;
-		for (Person p : people)
+		return lift.getNoDelivered() == people.length;
+	}
+	/**
+	 * Moves people, floors and lift along a route found by a search, so the state is left as it would be at
+	 * the end of the simulation. Before each move, people board the lift in the way the route was found
+	 * with, travelling towards the next floor.
+	 * 
+	 * @param route			The route to follow
+	 * @param floors		The building, in the state the route starts from
+	 * @param lift			The lift, in the state the route starts from
+	 */
+	static void followRoute(Route route, Floor[] floors, Lift lift)
+	{
+		for (int i = 1; i < route.getPathSize(); i++)
 		{
-			if (!p.isDelivered())
+			if (route.getPathValue(i) > lift.getCurrentFloor())
 			{
-				allDelivered = false;
-				break;
+				lift.setGoingUp(true);
 			}
+			else
+			{
+				lift.setGoingUp(false);
+			}
+			floors[lift.getCurrentFloor()].movePeopleOntoLift(lift, route.getPickUpType());
+			lift.move(floors[lift.getCurrentFloor()], route.getPathValue(i));
 		}
-		return allDelivered;
 	}
+	
 	/**
 	 * Debugging function that prints every person in the list given's start and end floor.
 	 * @param people		The list of people
@@ -592,12 +556,22 @@ public class Simulation
 	 * @param people			The already cloned people to be put into new floors
 	 * @return		The new instance of floor array
 	 */
-	private Floor[] deepcopyFloors(Floor[] orgFloors, Person[] people)
+	static Floor[] deepcopyFloors(Floor[] orgFloors, Person[] people)
 	{
 		Floor[] copiedFloors = new Floor[orgFloors.length];
+		CallRegister upCalls = new CallRegister(orgFloors.length);
+		CallRegister downCalls = new CallRegister(orgFloors.length);
 		for (int i = 0; i < orgFloors.length; i++)
 		{
-			copiedFloors[i] = orgFloors[i].clone(people);
+			copiedFloors[i] = orgFloors[i].cloneButtons(upCalls, downCalls);
+		}
+		// Everyone still waiting goes back on their start floor, in the same order as copying each floor would
+		for (Person p : people)
+		{
+			if (!p.isOnLift() && !p.isDelivered())
+			{
+				copiedFloors[p.getStartFloor()].addPerson(p);
+			}
 		}
 		return copiedFloors;
 	}
@@ -608,7 +582,7 @@ public class Simulation
 	 * @param orgPeople			The people array state to be copied
 	 * @return		The new instance of people array
 	 */
-	private Person[] deepcopyPeople(Person[] orgPeople)
+	static Person[] deepcopyPeople(Person[] orgPeople)
 	{
 		Person[] clonedPeople = new Person[orgPeople.length];
 		
@@ -628,7 +602,7 @@ public class Simulation
 	 * 							original lift)
 	 * @return		The new instance of lift
 	 */
-	private Lift deepcopyLift(Lift lift, Person[] people)
+	static Lift deepcopyLift(Lift lift, Person[] people)
 	{
 		Lift clonedLift = lift.clone();
 		for (Person p : people)
@@ -644,7 +618,8 @@ public class Simulation
 	
 	/**
 	 * Writes all wait times of the simulation into a new file stored in a directory based upon
-	 * 'SimulationData/noFloors/noPeople/liftContolSystemUsed/simulationNumber.txt'.
+	 * 'SimulationData/noFloors/noPeople/liftContolSystemUsed/simulationNumber.txt', unless saving has been
+	 * turned off with {@link Simulation#setSaveResults(boolean)}.
 	 * 
 	 * @param noFloors			The amount of floors in the simulation
 	 * @param people			The people used in the simulation
@@ -653,34 +628,71 @@ public class Simulation
 	 */
 	private void saveResults(int noFloors, Person[] people, String systemUsed)
 	{
-		// create string
-		String writeStr = "";
-		for (Person p : people)
-        {
-            writeStr +=  p.getWaitTime() + "\n";
-        }
-		
+		if (!saveResults)
+		{
+			return;
+		}
+		saveResults(noFloors, getWaitTimes(people), systemUsed, snapshot.getSeed());
+	}
+	
+	/**
+	 * Copies the wait time of each person into an array.
+	 * 
+	 * @param people			The people
+	 * @return					The wait times, in the same order
+	 */
+	private static long[] getWaitTimes(Person[] people)
+	{
+		long[] waitTimes = new long[people.length];
+		for (int i = 0; i < people.length; i++)
+		{
+			waitTimes[i] = people[i].getWaitTime();
+		}
+		return waitTimes;
+	}
+	
+	/**
+	 * Writes the wait times given into a new file, in the same way as {@link Simulation#saveResults(int, Person[], String)}.
+	 * If the seed of the simulation is known, it is added to 'seeds.txt' in the same directory next to the name of 
+	 * the file, so that the simulation can be run again exactly. This can be called by many simulations at once.
+	 * 
+	 * @param noFloors			The amount of floors in the simulation
+	 * @param waitTimes			The wait time of each person in the simulation
+	 * @param systemUsed		A string used to describe the lift control system
+	 * @param seed				The seed the simulation was generated from, null if it is not known
+	 */
+	static void saveResults(int noFloors, long[] waitTimes, String systemUsed, Long seed)
+	{
 		try  
         {
-            String fileName = "SimulationData/" + noFloors + "/" + people.length + "/" + systemUsed; 
-            File f = new File(fileName);
+            String dirName = "SimulationData/" + noFloors + "/" + waitTimes.length + "/" + systemUsed; 
+            File f = new File(dirName);
             f.mkdirs();
-            // find correct simulation number
-            Integer simulationNum = 1;
-            fileName += "/simulation" + simulationNum + ".txt";
-            f = new File(fileName);
-            while (f.exists()) 
+            // find correct simulation number, claiming the file so that no other thread can take it
+            AtomicInteger simulationNum = nextSimulationNum.computeIfAbsent(dirName, d -> new AtomicInteger(1));
+            String fileName;
+            do
             {
-            	fileName = fileName.substring(0, fileName.length() - (4 + Integer.toString(simulationNum).length()));
-            	simulationNum ++;
-            	fileName += simulationNum + ".txt";
+            	fileName = dirName + "/simulation" + simulationNum.getAndIncrement() + ".txt";
             	f = new File(fileName);
             }
+            while (!f.createNewFile());
             
-            f.createNewFile(); // if file already exists will do nothing 
             BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true));
-            writer.append(writeStr);
+            for (long waitTime : waitTimes)
+            {
+            	writer.append(Long.toString(waitTime)).append('\n');
+            }
             writer.close();
+            if (seed != null)
+            {
+            	synchronized (simulationNum)
+            	{
+            		writer = new BufferedWriter(new FileWriter(dirName + "/seeds.txt", true));
+            		writer.append(f.getName() + " " + seed + "\n");
+            		writer.close();
+            	}
+            }
         }
         catch(IOException e)  
         {  
@@ -0,0 +1,185 @@
+import java.util.SplittableRandom;
+
+/**
+ * SimulationSnapshot object - The starting state of a simulation, held as the start and destination floor of
+ * each person instead of a graph of {@link Person}, {@link Floor} and {@link Lift} objects. Everyone starts on
+ * their start floor, waiting in order of their ID, with an empty lift on the ground floor going up. A snapshot
+ * never changes once made, so any number of runs, on any number of threads, can start from the same snapshot
+ * without copying it or each other's state - each run creates its own people, floors and lift from it.
+ *
+ * @author Annie Talbot
+ */
+public final class SimulationSnapshot
+{
+	/**
+	 * The number of floors in the building.
+	 */
+	private final int noFloors;
+	/**
+	 * The maximum number of people in the lift.
+	 */
+	private final int capacity;
+	/**
+	 * For each person, the floor they start at.
+	 */
+	private final int[] startFloors;
+	/**
+	 * For each person, the floor they want to go to.
+	 */
+	private final int[] endFloors;
+	/**
+	 * The seed the people were generated from.
+	 */
+	private final long seed;
+
+	/**
+	 * Constructor for the snapshot of a simulation with the people given.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param startFloors	For each person, the floor they start at
+	 * @param endFloors		For each person, the floor they want to go to
+	 * @param seed			The seed the people were generated from
+	 */
+	SimulationSnapshot(int noFloors, int capacity, int[] startFloors, int[] endFloors, long seed)
+	{
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("The lift must be able to hold at least one person.");
+		}
+		if (startFloors.length != endFloors.length)
+		{
+			throw new IllegalArgumentException("Every person must have a start and a destination floor.");
+		}
+		this.noFloors = noFloors;
+		this.capacity = capacity;
+		this.startFloors = startFloors.clone();
+		this.endFloors = endFloors.clone();
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates the people of a simulation, using a probability distribution to determine each start floor and
+	 * the random stream to determine each destination floor from every other floor.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param noPeople		The number of people to be spawned into the building
+	 * @param pDist			The probability distribution that is used to specify the likelihood of each floor
+	 * 						becoming the next person's start floor
+	 * @param seed			The seed of the random stream used to select every start and destination floor
+	 * @param capacity		The maximum number of people in the lift
+	 * @return				The snapshot
+	 */
+	static SimulationSnapshot generate(int noFloors, int noPeople, DiscreteDistribution pDist, long seed, int capacity)
+	{
+		SplittableRandom r = new SplittableRandom(seed);
+		int[] startFloors = new int[noPeople];
+		int[] endFloors = new int[noPeople];
+		pDist.fill(startFloors, r);
+		for (int i = 0; i < noPeople; i++)
+		{
+			// Select from every other floor
+			int endFloor = r.nextInt(noFloors - 1);
+			if (endFloor >= startFloors[i])
+			{
+				endFloor++;
+			}
+			endFloors[i] = endFloor;
+		}
+		return new SimulationSnapshot(noFloors, capacity, startFloors, endFloors, seed);
+	}
+
+	/**
+	 * Getter for the number of floors in the building.
+	 * @return			The number of floors
+	 */
+	public int getNoFloors()
+	{
+		return noFloors;
+	}
+
+	/**
+	 * Getter for the number of people in the simulation.
+	 * @return			The number of people
+	 */
+	public int getNoPeople()
+	{
+		return startFloors.length;
+	}
+
+	/**
+	 * Getter for the maximum number of people in the lift.
+	 * @return			The capacity
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Getter for the floor a person starts at.
+	 * @param personId		The ID of the person
+	 * @return				The floor
+	 */
+	public int getStartFloor(int personId)
+	{
+		return startFloors[personId];
+	}
+
+	/**
+	 * Getter for the floor a person wants to go to.
+	 * @param personId		The ID of the person
+	 * @return				The floor
+	 */
+	public int getEndFloor(int personId)
+	{
+		return endFloors[personId];
+	}
+
+	/**
+	 * Getter for the seed the people were generated from.
+	 * @return			The seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Creates the people of the simulation, none of whom have moved yet.
+	 * @return			The people, with IDs matching their place in the array
+	 */
+	public Person[] createPeople()
+	{
+		Person[] people = new Person[startFloors.length];
+		for (int i = 0; i < people.length; i++)
+		{
+			people[i] = new Person(i, startFloors[i], endFloors[i]);
+		}
+		return people;
+	}
+
+	/**
+	 * Creates the building, with everyone given waiting on their start floor.
+	 * @param people		The people created by {@link SimulationSnapshot#createPeople()}
+	 * @return				The floors
+	 */
+	public Floor[] createFloors(Person[] people)
+	{
+		Floor[] floors = Simulation.instantiateFloors(noFloors);
+		for (Person p : people)
+		{
+			floors[p.getStartFloor()].addPerson(p);
+		}
+		return floors;
+	}
+
+	/**
+	 * Creates an empty lift on the ground floor.
+	 * @return			The lift
+	 */
+	public Lift createLift()
+	{
+		return new Lift(noFloors, capacity);
+	}
+}
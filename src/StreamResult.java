@@ -0,0 +1,112 @@
+/**
+ * StreamResult object - The outcome of running a {@link StreamingSimulation}. Only totals are kept, as the
+ * people themselves are let go once they are delivered.
+ *
+ * @author Annie Talbot
+ */
+public class StreamResult
+{
+	/**
+	 * The number of people delivered.
+	 */
+	private final int noDelivered;
+	/**
+	 * The combined wait time of everyone delivered.
+	 */
+	private final long totalWaitTimes;
+	/**
+	 * The number of times the lift stopped.
+	 */
+	private final int noStops;
+	/**
+	 * The time (in lift movements) the last person was delivered.
+	 */
+	private final long endTime;
+	/**
+	 * The most people that were in the building (waiting or on the lift) at once.
+	 */
+	private final int peakInBuilding;
+
+	/**
+	 * Constructor for the result of a streaming simulation.
+	 *
+	 * @param noDelivered		The number of people delivered
+	 * @param totalWaitTimes	The combined wait time of everyone delivered
+	 * @param noStops			The number of times the lift stopped
+	 * @param endTime			The time the last person was delivered
+	 * @param peakInBuilding	The most people that were in the building at once
+	 */
+	StreamResult(int noDelivered, long totalWaitTimes, int noStops, long endTime, int peakInBuilding)
+	{
+		this.noDelivered = noDelivered;
+		this.totalWaitTimes = totalWaitTimes;
+		this.noStops = noStops;
+		this.endTime = endTime;
+		this.peakInBuilding = peakInBuilding;
+	}
+
+	/**
+	 * Getter for the number of people delivered.
+	 * @return		The number of people
+	 */
+	public int getNoDelivered()
+	{
+		return noDelivered;
+	}
+
+	/**
+	 * Getter for the combined wait time of everyone delivered.
+	 * @return		The combined wait time
+	 */
+	public long getTotalWaitTimes()
+	{
+		return totalWaitTimes;
+	}
+
+	/**
+	 * Gets the average wait time of everyone delivered.
+	 * @return		The average wait time, 0 if nobody was delivered
+	 */
+	public double getAverageWaitTime()
+	{
+		return noDelivered == 0 ? 0 : (double) totalWaitTimes / noDelivered;
+	}
+
+	/**
+	 * Getter for the number of times the lift stopped.
+	 * @return		The number of stops
+	 */
+	public int getNoStops()
+	{
+		return noStops;
+	}
+
+	/**
+	 * Getter for the time the last person was delivered.
+	 * @return		The time in lift movements
+	 */
+	public long getEndTime()
+	{
+		return endTime;
+	}
+
+	/**
+	 * Getter for the most people that were in the building at once.
+	 * @return		The number of people
+	 */
+	public int getPeakInBuilding()
+	{
+		return peakInBuilding;
+	}
+
+	/**
+	 * Creates a string describing the result.
+	 * @return		The description
+	 */
+	public String print()
+	{
+		return "Delivered: " + noDelivered + ", Total wait time: " + totalWaitTimes + ", Average: "
+				+ String.format("%.2f", getAverageWaitTime()) + ", Stops: " + noStops + ", End time: " + endTime
+				+ ", Most in building: " + peakInBuilding;
+	}
+}
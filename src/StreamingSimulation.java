@@ -0,0 +1,129 @@
+/**
+ * StreamingSimulation object - Runs the mechanical or advanced lift control system on people taken from a
+ * {@link PersonStream} as they arrive, instead of on people all generated before the simulation starts. Each
+ * person joins their start floor once the lift has made as many movements as their arrival time, and is let go
+ * as soon as they are delivered, with only the number delivered and their combined wait time kept by the lift.
+ * The memory used therefore depends on the most people in the building at once, not on how many pass through
+ * it. When the building is empty the lift waits where it is for the next person to arrive. Any
+ * {@link LiftController} can be run this way, but the optimum, dynamic and beam systems need to know everyone in
+ * advance, so they cannot.
+ *
+ * @author Annie Talbot
+ */
+public class StreamingSimulation
+{
+	/**
+	 * The building, holding only the people who have arrived and not yet boarded.
+	 */
+	private final Floor[] floors;
+	/**
+	 * The lift.
+	 */
+	private final Lift lift;
+	/**
+	 * The people still to arrive.
+	 */
+	private final PersonStream arrivals;
+	/**
+	 * The number of people who have arrived so far.
+	 */
+	private int noArrived = 0;
+	/**
+	 * The most people that have been in the building at once.
+	 */
+	private int peakInBuilding = 0;
+
+	/**
+	 * Constructor for a simulation of the people given arriving at an empty building.
+	 *
+	 * @param noFloors		The number of floors in the building
+	 * @param capacity		The maximum number of people in the lift
+	 * @param arrivals		The people to arrive, which have not been taken from yet
+	 */
+	StreamingSimulation(int noFloors, int capacity, PersonStream arrivals)
+	{
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("The lift must be able to hold at least one person.");
+		}
+		this.floors = Simulation.instantiateFloors(noFloors);
+		this.lift = new Lift(noFloors, capacity);
+		this.arrivals = arrivals;
+	}
+
+	/**
+	 * Runs the simulation with the mechanical or advanced lift control system until everyone has arrived and been
+	 * delivered. A simulation can only be run once, as the people are not kept.
+	 *
+	 * @param system		The lift control system to use, either mechanical or advanced
+	 * @return				The totals of the run
+	 */
+	public StreamResult run(LiftSystem system)
+	{
+		switch (system)
+		{
+			case Mechanical:
+				return run(new MechanicalController());
+			case Advanced:
+				return run(new AdvancedController());
+			default:
+				throw new IllegalArgumentException("Only the mechanical and advanced systems can be run on people as they arrive.");
+		}
+	}
+
+	/**
+	 * Runs the simulation with the lift controlled by the controller given until everyone has arrived and been
+	 * delivered. A simulation can only be run once, as the people are not kept.
+	 *
+	 * @param controller	The controller, which has not been used by another simulation
+	 * @return				The totals of the run
+	 */
+	public StreamResult run(LiftController controller)
+	{
+		if (arrivals.getNoGenerated() > 0)
+		{
+			throw new IllegalStateException("The people of this simulation have already been used.");
+		}
+		BuildingView view = new FloorBuildingView(floors, lift);
+		// Only the number of stops is needed, so the route keeps none of the floors
+		Route route = new Route(LiftEntryDecision.DirectionDependent, false);
+		admitArrivals();
+		while (arrivals.hasNext() || getNoInBuilding() > 0)
+		{
+			if (getNoInBuilding() == 0)
+			{
+				// Nobody is in the building, so wait for the next person
+				lift.setNoMovements(Math.max(lift.getNoMovements(), arrivals.getNextArrivalTime()));
+				admitArrivals();
+			}
+			// Anyone who arrived where the lift is standing gets straight on
+			Simulation.step(floors, lift, view, controller, route);
+			admitArrivals();
+		}
+		return new StreamResult(lift.getNoDelivered(), lift.getTotalWaitTimes(), route.getPathSize() - 1,
+				lift.getNoMovements(), peakInBuilding);
+	}
+
+	/**
+	 * Puts everyone who has arrived by the lift's current time onto their start floor.
+	 */
+	private void admitArrivals()
+	{
+		while (arrivals.hasNext() && arrivals.getNextArrivalTime() <= lift.getNoMovements())
+		{
+			Person p = arrivals.next();
+			floors[p.getStartFloor()].addPerson(p);
+			noArrived++;
+		}
+		peakInBuilding = Math.max(peakInBuilding, getNoInBuilding());
+	}
+
+	/**
+	 * Gets the number of people who have arrived and not yet been delivered.
+	 * @return			The number of people
+	 */
+	public int getNoInBuilding()
+	{
+		return noArrived - lift.getNoDelivered();
+	}
+}
@@ -0,0 +1,88 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TranspositionTable object - Remembers the states that the optimum search has already explored so that
+ * the same state, reached again through a different order of moves, is not explored a second time
+ * unless the new route to it is better. The table holds a fixed maximum number of states and forgets
+ * the least recently used state when it is full, so the memory used stays capped.
+ *
+ * @author Annie Talbot
+ */
+public class TranspositionTable
+{
+	/**
+	 * The default maximum number of states remembered.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 18;
+	/**
+	 * Holds every explored state, each of which records the route it was explored with. Kept in access
+	 * order so the eldest entry is the least recently used.
+	 */
+	private final LinkedHashMap<SearchState, SearchState> entries;
+
+	/**
+	 * Constructor for the table that sets the maximum number of states it will remember.
+	 *
+	 * @param capacity		The maximum number of states held before the least recently used is evicted
+	 */
+	TranspositionTable(final int capacity)
+	{
+		entries = new LinkedHashMap<SearchState, SearchState>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<SearchState, SearchState> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Checks whether a state has already been explored with a route at least as good as the current one.
+	 * A route is at least as good if it reached the state with no more timed cost and no longer path,
+	 * because every completion of the current route is then also a completion of the earlier route with
+	 * no greater wait. If the current route is not covered, it is remembered for the state instead.
+	 * A strict check only treats the state as covered by a route with less timed cost, so a route that
+	 * ties is still explored.
+	 *
+	 * @param state			The state reached
+	 * @param waitSoFar		The combined wait time of the people delivered by the current route
+	 * @param pathSize		The size of the current route's path
+	 * @param strict		True = only a strictly better route covers the state
+	 * @return				True = the state has been explored with a route at least as good,
+	 * 						False = the state should be explored
+	 */
+	public boolean isCovered(SearchState state, int waitSoFar, int pathSize, boolean strict)
+	{
+		int cost = state.getTimedCost(waitSoFar);
+		SearchState entry = entries.get(state);
+		if (entry == null)
+		{
+			// The state given may be reused by the search, so a copy is stored
+			entry = state.copy();
+			entries.put(entry, entry);
+		}
+		else
+		{
+			int coveringCost = strict ? cost - 1 : cost;
+			if (entry.getExploredCost() <= coveringCost && entry.getExploredPathSize() <= pathSize)
+			{
+				return true;
+			}
+		}
+		entry.setExplored(cost, pathSize);
+		return false;
+	}
+
+	/**
+	 * Getter for the number of states currently remembered.
+	 * @return		The number of states
+	 */
+	public int size()
+	{
+		return entries.size();
+	}
+}
@@ -40,10 +40,12 @@ public class VisualFloor extends Floor {
 	 * to be used for the people waiting for the lift.
 	 * 
 	 * @param floorNum			Identifies which floor in the building this is
+	 * @param upCalls			The up buttons of the building, shared by every floor
+	 * @param downCalls			The down buttons of the building, shared by every floor
 	 * @param renderDistance	The distance between each floor on the window
 	 */
-	VisualFloor(int floorNum, int renderDistance) {
-		super(floorNum);
+	VisualFloor(int floorNum, CallRegister upCalls, CallRegister downCalls, int renderDistance) {
+		super(floorNum, upCalls, downCalls);
 		this.renderDistance = renderDistance;
 		setCallingUp(false);
 		setCallingDown(false);